@@ -0,0 +1,89 @@
+package com.example.javabot.benchmark;
+
+import com.example.javabot.command.BotCommand;
+import com.example.javabot.command.CommandRouter;
+import com.example.javabot.random.RandomMode;
+import com.example.javabot.random.RandomSource;
+import com.example.javabot.service.BusinessDataGeneratorService;
+import com.example.javabot.service.CommandHandlerService;
+import com.example.javabot.service.GuidUuidGeneratorService;
+import com.example.javabot.service.PersonDataGeneratorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пропускная способность генераторов по каждой команде бота.
+ * Параметр command без явного списка значений перебирает все константы BotCommand.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    @Param
+    public BotCommand command;
+
+    /**
+     * Источник случайных чисел; другие режимы: -p randomMode=SPLITTABLE,SECURE,SEEDED
+     */
+    @Param("THREAD_LOCAL")
+    public RandomMode randomMode;
+
+    private CommandHandlerService commandHandlerService;
+    private CommandRouter commandRouter;
+    private String displayName;
+
+    @Setup
+    public void setUp() {
+        RandomSource randomSource = RandomSource.create(randomMode, 42);
+        commandHandlerService = new CommandHandlerService(
+                new BusinessDataGeneratorService(randomSource),
+                new PersonDataGeneratorService(randomSource),
+                new GuidUuidGeneratorService(randomSource)
+        );
+        commandRouter = new CommandRouter();
+        displayName = command.getDisplayName();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String generate() {
+        return commandHandlerService.handle(command);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String generateConcurrent() {
+        return commandHandlerService.handle(command);
+    }
+
+    /**
+     * Полный путь обработки текста кнопки: поиск команды и генерация значения
+     */
+    @Benchmark
+    @Threads(1)
+    public String dispatch() {
+        return commandHandlerService.handle(commandRouter.route(displayName).command());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String dispatchConcurrent() {
+        return commandHandlerService.handle(commandRouter.route(displayName).command());
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.javabot.benchmark;
+
+import com.example.javabot.LocalBotApi;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Время до первого ответа собранного профилем fast-start приложения: jar из target/app
+ * запускается отдельным процессом с архивом CDS application.jsa и без него, замер идет
+ * от запуска java до получения клавиатуры в локальной заглушке Bot API.
+ * Архив годится только для того classpath, на котором снят, поэтому CDS измеряется здесь,
+ * а не в {@link StartupBenchmark}:
+ * ./mvnw -Pbenchmark,fast-start -DskipTests verify -Djmh.args="PackagedStartupBenchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PackagedStartupBenchmark {
+
+    private static final String TOKEN = "startup-benchmark";
+    private static final long CHAT_ID = 1;
+
+    @Param({"true", "false"})
+    public boolean cds;
+
+    private Path appDir;
+    private Path jar;
+    private LocalBotApi api;
+    private CountDownLatch replied;
+    private Process process;
+
+    @Setup(Level.Trial)
+    public void findApplication() {
+        appDir = Path.of(System.getProperty("startup.app-dir", "target/app"));
+        try (Stream<Path> files = Files.list(appDir)) {
+            jar = files.filter(file -> file.getFileName().toString().endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No application jar in " + appDir));
+        } catch (IOException e) {
+            throw new IllegalStateException("Build the application with -Pfast-start first: " + appDir, e);
+        }
+        if (cds && !Files.isRegularFile(appDir.resolve("application.jsa"))) {
+            throw new IllegalStateException("No CDS archive in " + appDir + ", build with -Pfast-start");
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        replied = new CountDownLatch(1);
+        api = new LocalBotApi(TOKEN, (chatId, method, receivedAt) -> replied.countDown());
+        api.pushText(CHAT_ID, "/start");
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            process.waitFor(30, TimeUnit.SECONDS);
+        }
+        api.close();
+    }
+
+    @Benchmark
+    public boolean timeToFirstReply() throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (cds) {
+            // -Xshare:on: без подходящего архива запуск падает, а не меряет холодный старт
+            command.add("-XX:SharedArchiveFile=" + appDir.resolve("application.jsa"));
+            command.add("-Xshare:on");
+        }
+        command.addAll(List.of("-Dspring.aot.enabled=true", "-jar", jar.toString(),
+                "--telegram.bot.token=" + TOKEN,
+                "--telegram.bot.api-url=" + api.url(),
+                "--telegram.bot.updates.offset-file=",
+                "--server.port=0",
+                "--spring.main.banner-mode=off"));
+        process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        return replied.await(1, TimeUnit.MINUTES);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.javabot.benchmark;
+
+import com.example.javabot.LocalBotApi;
+import com.example.javabot.TestDataJavaBotApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Время до первого ответа после запуска: /start уже ждет в локальной заглушке
+ * Bot API, замер идет от запуска контекста Spring до получения клавиатуры.
+ * Каждый замер - отдельная холодная JVM; с AOT:
+ * -Djmh.args="StartupBenchmark -jvmArgsAppend -Dspring.aot.enabled=true" (вместе с профилем fast-start).
+ * Контекст поднимается с classpath бенчмарков, к которому архив CDS не подходит, поэтому
+ * здесь видны только AOT и ленивые бины; CDS - в {@link PackagedStartupBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class StartupBenchmark {
+
+    private static final String TOKEN = "startup-benchmark";
+    private static final long CHAT_ID = 1;
+
+    private LocalBotApi api;
+    private CountDownLatch replied;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        replied = new CountDownLatch(1);
+        api = new LocalBotApi(TOKEN, (chatId, method, receivedAt) -> replied.countDown());
+        api.pushText(CHAT_ID, "/start");
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+        api.close();
+    }
+
+    @Benchmark
+    public boolean timeToFirstReply() throws InterruptedException {
+        context = SpringApplication.run(TestDataJavaBotApplication.class,
+                "--telegram.bot.token=" + TOKEN,
+                "--telegram.bot.api-url=" + api.url(),
+                "--telegram.bot.updates.offset-file=",
+                "--server.port=0",
+                "--spring.main.banner-mode=off");
+        return replied.await(1, TimeUnit.MINUTES);
+    }
+}
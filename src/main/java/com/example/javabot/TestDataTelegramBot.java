@@ -1,26 +1,99 @@
 package com.example.javabot;
 
 import com.example.javabot.config.TelegramBotConfig;
+import com.example.javabot.dispatch.UpdateDeduplicator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.stereotype.Component;
-import org.telegram.telegrambots.longpolling.interfaces.LongPollingUpdateConsumer;
-import org.telegram.telegrambots.longpolling.starter.SpringLongPollingBot;
+import org.telegram.telegrambots.longpolling.TelegramBotsLongPollingApplication;
+import org.telegram.telegrambots.meta.api.methods.updates.GetUpdates;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+
+/**
+ * Получение обновлений long polling; в режиме webhook не создается.
+ * Бот регистрируется сам, а не через SpringLongPollingBot: стартер опрашивает
+ * только api.telegram.org, а адрес Bot API задается telegram.bot.api-url.
+ * Опрос после перезапуска продолжается с сохраненного update_id.
+ */
+@Slf4j
 @Component
-public class TestDataTelegramBot implements SpringLongPollingBot {
+@ConditionalOnProperty(name = "telegram.bot.mode", havingValue = "long-polling", matchIfMissing = true)
+public class TestDataTelegramBot implements SmartLifecycle {
+    private static final int UPDATES_LIMIT = 100;
+    private static final int POLL_TIMEOUT_SECONDS = 50;
+
     private final UpdateConsumer updateConsumer;
     private final TelegramBotConfig telegramBotConfig;
+    private final UpdateDeduplicator updateDeduplicator;
+    private final ObjectProvider<TelegramBotsLongPollingApplication> applicationProvider;
+    private TelegramBotsLongPollingApplication application;
+    private boolean ownsApplication;
+    private volatile boolean running;
 
-    public TestDataTelegramBot(UpdateConsumer updateConsumer, TelegramBotConfig telegramBotConfig) {
+    public TestDataTelegramBot(UpdateConsumer updateConsumer, TelegramBotConfig telegramBotConfig,
+                               UpdateDeduplicator updateDeduplicator,
+                               ObjectProvider<TelegramBotsLongPollingApplication> applicationProvider) {
         this.updateConsumer = updateConsumer;
         this.telegramBotConfig = telegramBotConfig;
+        this.updateDeduplicator = updateDeduplicator;
+        this.applicationProvider = applicationProvider;
     }
 
     @Override
-    public String getBotToken() {
-        return telegramBotConfig.getToken();
+    public void start() {
+        String token = telegramBotConfig.getToken();
+        if (token == null || token.isBlank()) {
+            log.warn("Bot token is not configured, long polling is disabled");
+            return;
+        }
+        application = applicationProvider.getIfAvailable();
+        ownsApplication = application == null;
+        if (ownsApplication) {
+            application = new TelegramBotsLongPollingApplication();
+        }
+        try {
+            application.registerBot(token, telegramBotConfig::telegramUrl, this::getUpdates, updateConsumer);
+        } catch (TelegramApiException e) {
+            throw new IllegalStateException("Failed to start long polling", e);
+        }
+        running = true;
+        log.info("Polling updates from {}", telegramBotConfig.getApiUrl());
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            application.unregisterBot(telegramBotConfig.getToken());
+            if (ownsApplication) {
+                application.close();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to stop long polling: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Запрос обновлений после последнего полученного в этой сессии, а в начале сессии -
+     * после последнего обработанного до перезапуска. Максимум из двух не берется:
+     * после сброса нумерации update_id новой сессии меньше сохраненного
+     */
+    private GetUpdates getUpdates(Integer lastReceived) {
+        int offset = lastReceived != null && lastReceived > 0 ? lastReceived : updateDeduplicator.processedUpdateId();
+        return GetUpdates.builder()
+                .offset(offset + 1)
+                .limit(UPDATES_LIMIT)
+                .timeout(POLL_TIMEOUT_SECONDS)
+                .build();
     }
 
     @Override
-    public LongPollingUpdateConsumer getUpdatesConsumer() {
-        return updateConsumer;
+    public boolean isRunning() {
+        return running;
     }
 }
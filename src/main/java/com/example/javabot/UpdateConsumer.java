@@ -1,26 +1,83 @@
 package com.example.javabot;
 
-import com.example.javabot.command.BotCommand;
-import com.example.javabot.service.CommandHandlerService;
+import com.example.javabot.command.CommandRequest;
+import com.example.javabot.command.CommandRouter;
+import com.example.javabot.dispatch.ChatOrderedExecutor;
+import com.example.javabot.dispatch.ChatRateLimiter;
+import com.example.javabot.dispatch.UpdateDeduplicator;
+import com.example.javabot.metrics.BotMetrics;
+import com.example.javabot.service.BatchReplyService;
+import com.example.javabot.service.KeyboardService;
 import com.example.javabot.service.MessageService;
+import com.example.javabot.service.PooledCommandHandlerService;
+import com.example.javabot.service.ValidationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
-import org.telegram.telegrambots.longpolling.util.LongPollingSingleThreadUpdateConsumer;
+import org.telegram.telegrambots.longpolling.interfaces.LongPollingUpdateConsumer;
 import org.telegram.telegrambots.meta.api.objects.Update;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.ReplyKeyboardMarkup;
+
+import java.util.List;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class UpdateConsumer implements LongPollingSingleThreadUpdateConsumer {
+public class UpdateConsumer implements LongPollingUpdateConsumer {
 
     private static final String START_COMMAND = "/start";
     private static final String UNKNOWN_COMMAND_MESSAGE = "Я вас не понимаю";
+    private static final List<String> CHECK_PREFIXES = List.of("/check", "проверить");
+    private static final String CHECK_USAGE_MESSAGE = "Укажите значение: /check 7707083893";
+    private static final String CHECK_UNKNOWN_TYPE_MESSAGE =
+            "Не удалось определить реквизит: ожидается ИНН, ОГРН, ОГРН ИП, ОКПО, СНИЛС или ЕНП ОМС";
 
-    private final CommandHandlerService commandHandlerService;
+    private final CommandRouter commandRouter;
+    private final PooledCommandHandlerService pooledCommandHandlerService;
+    private final BatchReplyService batchReplyService;
     private final MessageService messageService;
+    private final KeyboardService keyboardService;
+    private final ChatOrderedExecutor chatOrderedExecutor;
+    /**
+     * Нужен только для /check: создается при первой проверке, а не при старте
+     */
+    @Lazy
+    private final ValidationService validationService;
+    private final BotMetrics metrics;
+    private final ChatRateLimiter chatRateLimiter;
+    private final UpdateDeduplicator updateDeduplicator;
 
     @Override
+    public void consume(List<Update> updates) {
+        long receivedAt = System.nanoTime();
+        for (Update update : updates) {
+            long chatId = chatIdOf(update);
+            if (isNew(update) && withinQuota(update, chatId)) {
+                chatOrderedExecutor.execute(chatId, costOf(update), timed(update, receivedAt));
+            }
+        }
+    }
+
+    /**
+     * Асинхронная обработка обновления из webhook; false, если очередь чата заполнена.
+     * Повторная доставка и обновление сверх квоты чата отбрасываются и считаются принятыми.
+     */
+    public boolean tryConsume(Update update) {
+        long chatId = chatIdOf(update);
+        if (!isNew(update) || !withinQuota(update, chatId)) {
+            return true;
+        }
+        if (chatOrderedExecutor.tryExecute(chatId, costOf(update), timed(update, System.nanoTime()))) {
+            return true;
+        }
+        // Telegram доставит обновление снова, и его нельзя принять за повтор
+        if (update.getUpdateId() != null) {
+            updateDeduplicator.forget(update.getUpdateId());
+        }
+        return false;
+    }
+
     public void consume(Update update) {
         if (!update.hasMessage() || !update.getMessage().hasText()) {
             return;
@@ -35,12 +92,102 @@ public class UpdateConsumer implements LongPollingSingleThreadUpdateConsumer {
             return;
         }
 
-        BotCommand command = BotCommand.fromDisplayName(text);
-        if (command != null) {
-            String result = commandHandlerService.handle(command);
-            messageService.sendMessage(chatId, result);
-        } else {
+        String checkValue = checkArgument(text);
+        if (checkValue != null) {
+            messageService.sendMessage(chatId, checkReply(checkValue));
+            return;
+        }
+
+        ReplyKeyboardMarkup page = keyboardService.findPage(text);
+        if (page != null) {
+            messageService.sendKeyboard(chatId, page);
+            return;
+        }
+
+        CommandRequest request = commandRouter.route(text);
+        if (request == null) {
+            metrics.recordUnknownCommand();
             messageService.sendMessage(chatId, UNKNOWN_COMMAND_MESSAGE);
+        } else if (request.isSingleValue()) {
+            messageService.sendMessage(chatId, pooledCommandHandlerService.handle(request.command()));
+        } else {
+            batchReplyService.reply(chatId, request);
         }
     }
+
+    /**
+     * Значение после "/check" или "проверить"; null, если это не команда проверки
+     */
+    private static String checkArgument(String text) {
+        for (String prefix : CHECK_PREFIXES) {
+            if (text.regionMatches(true, 0, prefix, 0, prefix.length())
+                    && (text.length() == prefix.length() || Character.isWhitespace(text.charAt(prefix.length())))) {
+                return text.substring(prefix.length()).trim();
+            }
+        }
+        return null;
+    }
+
+    private String checkReply(String value) {
+        if (value.isEmpty()) {
+            return CHECK_USAGE_MESSAGE;
+        }
+        ValidationService.ValidationResult result = validationService.validateValue(value, null);
+        if (result == null) {
+            return CHECK_UNKNOWN_TYPE_MESSAGE;
+        }
+        return result.type().getDisplayName() + " " + value + ": контрольная сумма "
+                + (result.valid() ? "верна" : "неверна");
+    }
+
+    private boolean isNew(Update update) {
+        if (update.getUpdateId() == null || updateDeduplicator.markNew(update.getUpdateId())) {
+            return true;
+        }
+        metrics.recordDuplicate();
+        log.debug("Skipping redelivered update {}", update.getUpdateId());
+        return false;
+    }
+
+    private boolean withinQuota(Update update, long chatId) {
+        if (chatRateLimiter.tryAcquire(chatId)) {
+            return true;
+        }
+        markProcessed(update);
+        metrics.recordThrottled();
+        log.debug("Chat {} exceeded its request quota, dropping update", chatId);
+        return false;
+    }
+
+    /**
+     * Стоимость обновления для справедливой очереди - число запрошенных значений
+     */
+    private long costOf(Update update) {
+        if (!update.hasMessage() || !update.getMessage().hasText()) {
+            return 1;
+        }
+        CommandRequest request = commandRouter.route(update.getMessage().getText());
+        return request == null ? 1 : Math.max(1, request.count());
+    }
+
+    private Runnable timed(Update update, long receivedAt) {
+        return () -> {
+            try {
+                consume(update);
+            } finally {
+                markProcessed(update);
+                metrics.recordUpdate(receivedAt);
+            }
+        };
+    }
+
+    private void markProcessed(Update update) {
+        if (update.getUpdateId() != null) {
+            updateDeduplicator.markProcessed(update.getUpdateId());
+        }
+    }
+
+    private static long chatIdOf(Update update) {
+        return update.hasMessage() ? update.getMessage().getChatId() : 0L;
+    }
 }
@@ -3,37 +3,59 @@ package com.example.javabot.command;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Getter
 @RequiredArgsConstructor
 public enum BotCommand {
-    INN("ИНН", "inn"),
-    INN_FL("ИНН ФЛ", "inn_fl"),
-    OGRN("ОГРН", "ogrn"),
-    OGRN_IP("ОГРН ИП", "ogrn_ip"),
-    OKPO("ОКПО", "okpo"),
-    OKPO_IP("ОКПО ИП", "okpo_ip"),
-    SNILS("СНИЛС", "snils"),
-    SNILS_GOSKEY("СНИЛС ГОСКЛЮЧ", "snils_goskey"),
-    ENP_OMS("ЕНП ОМС", "enp_oms"),
-    PASSPORT("Серия и номер паспорта РФ", "passport"),
-    FULL_NAME("ФИО", "full_name"),
-    BIRTH_DATE("Дата рождения", "birth_date"),
-    LOGIN("Логин", "login"),
-    EMAIL("E-mail", "email"),
-    PHONE("Телефон", "phone"),
-    GUID("GUID", "guid"),
-    GUID_LOWER("GUID LOWER", "guid_lower"),
-    UUID("UUID", "uuid");
+    INN("ИНН", "inn", CommandCategory.ORGANIZATION),
+    INN_FL("ИНН ФЛ", "inn_fl", CommandCategory.DOCUMENTS),
+    OGRN("ОГРН", "ogrn", CommandCategory.ORGANIZATION),
+    OGRN_IP("ОГРН ИП", "ogrn_ip", CommandCategory.ORGANIZATION),
+    OKPO("ОКПО", "okpo", CommandCategory.ORGANIZATION),
+    OKPO_IP("ОКПО ИП", "okpo_ip", CommandCategory.ORGANIZATION),
+    SNILS("СНИЛС", "snils", CommandCategory.DOCUMENTS),
+    SNILS_GOSKEY("СНИЛС ГОСКЛЮЧ", "snils_goskey", CommandCategory.DOCUMENTS),
+    ENP_OMS("ЕНП ОМС", "enp_oms", CommandCategory.DOCUMENTS),
+    PASSPORT("Серия и номер паспорта РФ", "passport", CommandCategory.DOCUMENTS),
+    FULL_NAME("ФИО", "full_name", CommandCategory.PERSON),
+    BIRTH_DATE("Дата рождения", "birth_date", CommandCategory.PERSON),
+    LOGIN("Логин", "login", CommandCategory.PERSON),
+    EMAIL("E-mail", "email", CommandCategory.PERSON),
+    PHONE("Телефон", "phone", CommandCategory.PERSON),
+    PERSON_RECORD("Персона", "person", CommandCategory.PERSON),
+    GUID("GUID", "guid", CommandCategory.IDENTIFIERS),
+    GUID_LOWER("GUID LOWER", "guid_lower", CommandCategory.IDENTIFIERS),
+    UUID("UUID", "uuid", CommandCategory.IDENTIFIERS),
+    UUID_V7("UUID v7", "uuid_v7", CommandCategory.IDENTIFIERS);
 
     private final String displayName;
     private final String commandCode;
+    private final CommandCategory category;
 
-    public static BotCommand fromDisplayName(String displayName) {
+    private static final Map<String, BotCommand> BY_DISPLAY_NAME = new HashMap<>();
+    private static final Map<String, BotCommand> BY_COMMAND_CODE = new HashMap<>();
+
+    static {
         for (BotCommand command : values()) {
-            if (command.getDisplayName().equals(displayName)) {
-                return command;
-            }
+            BY_DISPLAY_NAME.put(command.displayName, command);
+            BY_COMMAND_CODE.put(command.commandCode, command);
         }
-        return null;
+    }
+
+    /**
+     * Команда выдает запись из нескольких колонок, а не одно значение
+     */
+    public boolean isComposite() {
+        return this == PERSON_RECORD;
+    }
+
+    public static BotCommand fromDisplayName(String displayName) {
+        return displayName == null ? null : BY_DISPLAY_NAME.get(displayName);
+    }
+
+    public static BotCommand fromCommandCode(String commandCode) {
+        return commandCode == null ? null : BY_COMMAND_CODE.get(commandCode);
     }
 }
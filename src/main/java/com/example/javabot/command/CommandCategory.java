@@ -0,0 +1,15 @@
+package com.example.javabot.command;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum CommandCategory {
+    ORGANIZATION("Организации"),
+    DOCUMENTS("Документы"),
+    PERSON("Личные данные"),
+    IDENTIFIERS("Идентификаторы");
+
+    private final String displayName;
+}
@@ -2,4 +2,18 @@ package com.example.javabot.command;
 
 public interface CommandHandler {
     String handle(BotCommand command);
+
+    /**
+     * Колонки выгрузки команды; у обычной команды одна колонка с ее кодом
+     */
+    default String[] columns(BotCommand command) {
+        return new String[]{command.getCommandCode()};
+    }
+
+    /**
+     * Заполнение строки выгрузки длиной columns(command).length
+     */
+    default void handleRow(BotCommand command, String[] row) {
+        row[0] = handle(command);
+    }
 }
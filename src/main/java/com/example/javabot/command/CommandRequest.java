@@ -0,0 +1,18 @@
+package com.example.javabot.command;
+
+import com.example.javabot.output.OutputFormat;
+
+/**
+ * Разобранный запрос пользователя: команда, количество значений, формат ответа
+ * и требование уникальности значений в пакете
+ */
+public record CommandRequest(BotCommand command, int count, OutputFormat format, boolean unique) {
+
+    public CommandRequest(BotCommand command, int count, OutputFormat format) {
+        this(command, count, format, false);
+    }
+
+    public boolean isSingleValue() {
+        return count == 1 && format == OutputFormat.TEXT;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.javabot.command;
+
+import com.example.javabot.output.OutputFormat;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Разбор текста сообщения в команду. Понимает текст кнопки, код команды
+ * со слешем или без и синонимы, после которых могут идти количество, формат
+ * и признак уникальности: "ИНН", "ИНН 500", "/inn 500 csv", "снилс 20 уник".
+ * Таблица поиска строится один раз, регистр не учитывается.
+ */
+@Component
+public class CommandRouter {
+
+    private static final int MAX_ARGUMENTS = 3;
+    private static final Set<String> UNIQUE_FLAGS = Set.of("unique", "uniq", "уник", "уникальные");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Map<String, BotCommand> ALIASES = Map.of(
+            "инн юл", BotCommand.INN,
+            "паспорт", BotCommand.PASSPORT,
+            "почта", BotCommand.EMAIL,
+            "др", BotCommand.BIRTH_DATE
+    );
+
+    private final Map<String, BotCommand> lookup = new HashMap<>();
+
+    public CommandRouter() {
+        for (BotCommand command : BotCommand.values()) {
+            lookup.put(normalize(command.getDisplayName()), command);
+            lookup.put(command.getCommandCode(), command);
+            lookup.put("/" + command.getCommandCode(), command);
+        }
+        ALIASES.forEach((alias, command) -> lookup.putIfAbsent(alias, command));
+    }
+
+    /**
+     * Разбор сообщения; null, если команда не распознана
+     */
+    public CommandRequest route(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+
+        // Быстрый путь: нажатие кнопки без аргументов
+        BotCommand exact = BotCommand.fromDisplayName(text);
+        if (exact != null) {
+            return new CommandRequest(exact, 1, OutputFormat.TEXT);
+        }
+
+        String[] tokens = normalize(text).split(" ");
+        int end = tokens.length;
+        Integer count = null;
+        OutputFormat format = null;
+        boolean unique = false;
+
+        while (end > 1 && tokens.length - end < MAX_ARGUMENTS) {
+            String token = tokens[end - 1];
+            if (count == null && isNumber(token)) {
+                count = Integer.parseInt(token);
+            } else if (format == null && OutputFormat.fromCode(token) != null) {
+                format = OutputFormat.fromCode(token);
+            } else if (!unique && UNIQUE_FLAGS.contains(token)) {
+                unique = true;
+            } else {
+                break;
+            }
+            end--;
+        }
+
+        BotCommand command = lookup.get(String.join(" ", Arrays.copyOf(tokens, end)));
+        if (command == null) {
+            return null;
+        }
+        return new CommandRequest(command,
+                count != null ? count : 1,
+                format != null ? format : OutputFormat.TEXT,
+                unique);
+    }
+
+    private static String normalize(String text) {
+        return WHITESPACE.matcher(text.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isNumber(String token) {
+        if (token.isEmpty() || token.length() > 9) {
+            return false;
+        }
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.javabot.config;
+
+import com.example.javabot.dictionary.DictionaryStore;
+import com.example.javabot.dictionary.NameDictionary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Slf4j
+@Configuration
+public class DictionaryConfiguration {
+
+    @Bean
+    public NameDictionary nameDictionary(GeneratorConfig config) {
+        if (config.getNamesPath() == null || config.getNamesPath().isBlank()) {
+            log.info("Using built-in name dictionary");
+            return NameDictionary.builtin();
+        }
+        Path directory = Path.of(config.getNamesPath());
+        try {
+            NameDictionary dictionary = NameDictionary.load(directory);
+            log.info("Loaded name dictionary from {}: {} surnames", directory, dictionary.surnameCount());
+            return dictionary;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load name dictionary from " + directory, e);
+        }
+    }
+
+    @Bean
+    public DictionaryStore dictionaryStore(GeneratorConfig config) {
+        if (config.getDictionaryPath() == null || config.getDictionaryPath().isBlank()) {
+            log.info("Using built-in dictionaries");
+            return new DictionaryStore(null, null);
+        }
+        Path directory = Path.of(config.getDictionaryPath());
+        log.info("Using packed dictionaries from {}", directory);
+        return new DictionaryStore(directory, Duration.ofSeconds(config.getDictionaryReloadSeconds()));
+    }
+}
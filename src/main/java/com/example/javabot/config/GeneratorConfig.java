@@ -0,0 +1,45 @@
+package com.example.javabot.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import lombok.Data;
+
+@Data
+@Component
+public class GeneratorConfig {
+    @Value("${generator.api.max-count:10000000}")
+    private long apiMaxCount;
+
+    @Value("${generator.random.mode:thread-local}")
+    private String randomMode;
+
+    @Value("${generator.random.seed:0}")
+    private long randomSeed;
+
+    @Value("${generator.pool.enabled:false}")
+    private boolean poolEnabled;
+
+    @Value("${generator.pool.high-watermark:1024}")
+    private int poolHighWatermark;
+
+    @Value("${generator.pool.low-watermark:256}")
+    private int poolLowWatermark;
+
+    @Value("${generator.range.threads:0}")
+    private int rangeThreads;
+
+    @Value("${generator.validation.threads:0}")
+    private int validationThreads;
+
+    @Value("${generator.names.path:}")
+    private String namesPath;
+
+    @Value("${generator.dictionary.path:}")
+    private String dictionaryPath;
+
+    @Value("${generator.dictionary.reload-seconds:30}")
+    private long dictionaryReloadSeconds;
+
+    @Value("${generator.dates.age-ranges:18-100}")
+    private String dateAgeRanges;
+}
@@ -0,0 +1,33 @@
+package com.example.javabot.config;
+
+import com.example.javabot.service.BusinessDataGeneratorService;
+import com.example.javabot.service.GeneratorFactory;
+import com.example.javabot.service.GuidUuidGeneratorService;
+import com.example.javabot.service.PersonDataGeneratorService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Генераторы бота поверх общего источника случайных чисел; собираются той же
+ * фабрикой, что и генераторы /api/generate
+ */
+@Configuration
+public class GeneratorConfiguration {
+
+    @Bean
+    public BusinessDataGeneratorService businessDataGeneratorService(GeneratorFactory factory, RandomGenerator random) {
+        return factory.business(random);
+    }
+
+    @Bean
+    public PersonDataGeneratorService personDataGeneratorService(GeneratorFactory factory, RandomGenerator random) {
+        return factory.person(random);
+    }
+
+    @Bean
+    public GuidUuidGeneratorService guidUuidGeneratorService(GeneratorFactory factory, RandomGenerator random) {
+        return factory.guid(random);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.javabot.config;
+
+import com.example.javabot.random.RandomMode;
+import com.example.javabot.random.RandomSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+public class RandomSourceConfiguration {
+
+    @Bean
+    public RandomSource randomSource(GeneratorConfig config) {
+        RandomMode mode = RandomMode.fromProperty(config.getRandomMode());
+        log.info("Using {} random source", mode);
+        return RandomSource.create(mode, config.getRandomSeed());
+    }
+}
@@ -3,10 +3,133 @@ package com.example.javabot.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import lombok.Data;
+import org.telegram.telegrambots.meta.TelegramUrl;
+
+import java.net.URI;
 
 @Data
 @Component
 public class TelegramBotConfig {
     @Value("${telegram.bot.token}")
     private String token;
+
+    /**
+     * Адрес Bot API; для нагрузочных тестов - локальная заглушка
+     */
+    @Value("${telegram.bot.api-url:https://api.telegram.org}")
+    private String apiUrl;
+
+    /**
+     * long-polling или webhook
+     */
+    @Value("${telegram.bot.mode:long-polling}")
+    private String mode;
+
+    @Value("${telegram.bot.webhook.url:}")
+    private String webhookUrl;
+
+    @Value("${telegram.bot.webhook.secret-token:}")
+    private String webhookSecretToken;
+
+    @Value("${telegram.bot.webhook.register:true}")
+    private boolean webhookRegister;
+
+    @Value("${telegram.bot.batch.max-size:100}")
+    private int maxBatchSize;
+
+    @Value("${telegram.bot.batch.text-max-count:100}")
+    private int batchTextMaxCount;
+
+    @Value("${telegram.bot.batch.memory-max-count:10000}")
+    private int batchMemoryMaxCount;
+
+    /**
+     * Потоки генерации пакетов-файлов, чтобы крупный пакет не занимал воркер обновлений
+     */
+    @Value("${telegram.bot.batch.threads:2}")
+    private int batchThreads;
+
+    @Value("${telegram.bot.batch.queue-capacity:16}")
+    private int batchQueueCapacity;
+
+    /**
+     * Каталог временных файлов крупных пакетов; пусто - системный
+     */
+    @Value("${telegram.bot.batch.temp-dir:}")
+    private String batchTempDir;
+
+    @Value("${telegram.bot.keyboard.layout:grid}")
+    private String keyboardLayout;
+
+    @Value("${telegram.bot.updates.workers:1}")
+    private int updateWorkers;
+
+    @Value("${telegram.bot.updates.queue-capacity:1000}")
+    private int updateQueueCapacity;
+
+    @Value("${telegram.bot.updates.virtual-threads:false}")
+    private boolean updateVirtualThreads;
+
+    /**
+     * Сколько значений чат получает за один круг справедливой очереди
+     */
+    @Value("${telegram.bot.updates.fair-quantum:100}")
+    private int updateFairQuantum;
+
+    /**
+     * Сколько последних update_id помнится для отсева повторных доставок
+     */
+    @Value("${telegram.bot.updates.dedup-window:4096}")
+    private int updateDedupWindow;
+
+    /**
+     * Файл с последним обработанным update_id (только long polling); пусто - не сохранять
+     */
+    @Value("${telegram.bot.updates.offset-file:}")
+    private String updateOffsetFile;
+
+    @Value("${telegram.bot.quota.enabled:true}")
+    private boolean quotaEnabled;
+
+    /**
+     * Запросов в секунду на чат
+     */
+    @Value("${telegram.bot.quota.rate:2.0}")
+    private double quotaRate;
+
+    @Value("${telegram.bot.quota.burst:20}")
+    private int quotaBurst;
+
+    @Value("${telegram.bot.outbound.enabled:false}")
+    private boolean outboundQueueEnabled;
+
+    @Value("${telegram.bot.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
+    @Value("${telegram.bot.outbound.global-rate:30}")
+    private int outboundGlobalRate;
+
+    @Value("${telegram.bot.outbound.per-chat-rate:1.0}")
+    private double outboundPerChatRate;
+
+    @Value("${telegram.bot.outbound.max-retries:5}")
+    private int outboundMaxRetries;
+
+    public boolean isLongPolling() {
+        return !"webhook".equals(mode);
+    }
+
+    /**
+     * Адрес Bot API для клиента и long polling; порт по умолчанию берется по схеме
+     */
+    public TelegramUrl telegramUrl() {
+        URI uri = URI.create(apiUrl);
+        String schema = uri.getScheme() == null ? "https" : uri.getScheme();
+        int port = uri.getPort() > 0 ? uri.getPort() : "http".equals(schema) ? 80 : 443;
+        return TelegramUrl.builder()
+                .schema(schema)
+                .host(uri.getHost())
+                .port(port)
+                .build();
+    }
 }
@@ -0,0 +1,46 @@
+package com.example.javabot.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.telegram.telegrambots.client.okhttp.OkHttpTelegramClient;
+import org.telegram.telegrambots.meta.api.methods.updates.SetWebhook;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+
+import java.util.List;
+
+/**
+ * Регистрация webhook в Telegram при старте. Повторная регистрация того же
+ * адреса с каждой реплики безопасна; при telegram.bot.webhook.register=false
+ * адрес настраивается вручную.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "telegram.bot.mode", havingValue = "webhook")
+public class WebhookRegistration {
+
+    private final TelegramBotConfig config;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void register() {
+        if (!config.isWebhookRegister() || config.getWebhookUrl() == null || config.getWebhookUrl().isBlank()) {
+            log.info("Webhook registration is disabled, expecting updates at the configured path");
+            return;
+        }
+        SetWebhook setWebhook = SetWebhook.builder()
+                .url(config.getWebhookUrl())
+                .secretToken(config.getWebhookSecretToken())
+                .allowedUpdates(List.of("message"))
+                .build();
+        try {
+            new OkHttpTelegramClient(config.getToken(), config.telegramUrl()).execute(setWebhook);
+            log.info("Registered webhook {}", config.getWebhookUrl());
+        } catch (TelegramApiException e) {
+            log.error("Failed to register webhook {}: {}", config.getWebhookUrl(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.javabot.controller;
+
+import com.example.javabot.command.BotCommand;
+import com.example.javabot.config.GeneratorConfig;
+import com.example.javabot.output.OutputFormat;
+import com.example.javabot.output.SqlOptions;
+import com.example.javabot.service.BulkGenerationService;
+import com.example.javabot.service.GenerationToken;
+import com.example.javabot.service.RangeGenerationService;
+import com.example.javabot.unique.UniqueValues;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+@Lazy
+@RestController
+@RequestMapping("/api/generate")
+@RequiredArgsConstructor
+public class GenerationController {
+
+    /**
+     * Доля занятого пространства значений для unique=true
+     */
+    private static final String UNIQUE_UTILIZATION_HEADER = "X-Unique-Space-Utilization";
+
+    private static final String REPRODUCIBILITY_TOKEN_HEADER = "X-Reproducibility-Token";
+
+    private final RangeGenerationService rangeGenerationService;
+    private final BulkGenerationService bulkGenerationService;
+    private final GeneratorConfig generatorConfig;
+
+    /**
+     * Потоковая выдача значений: GET /api/generate/inn?count=1000000&format=csv.
+     * Длина ответа заранее неизвестна, поэтому он отдается chunked.
+     * С unique=true значения не повторяются.
+     * <p>
+     * Генерация детерминирована: значения с номерами from..from+count-1 для seed
+     * одинаковы при любом числе потоков и на любом узле. Без seed он выбирается
+     * случайно. Токен для повтора выгрузки приходит в X-Reproducibility-Token
+     * и принимается параметром token вместо seed/from/count/unique. В токен входит
+     * дата выгрузки, поэтому возраст и даты документов по нему повторяются и в другой день.
+     * UUID v7 содержит время генерации, поэтому для него seed и token не принимаются
+     * и токен не выдается.
+     * <p>
+     * Форматы sql (многострочные INSERT по batch строк), copy и copy_csv
+     * (PostgreSQL COPY FROM STDIN) пишут в таблицу table.
+     */
+    @GetMapping("/{commandCode}")
+    public ResponseEntity<StreamingResponseBody> generate(@PathVariable String commandCode,
+                                                          @RequestParam(defaultValue = "1") long count,
+                                                          @RequestParam(defaultValue = "text") String format,
+                                                          @RequestParam(defaultValue = "false") boolean unique,
+                                                          @RequestParam(required = false) Long seed,
+                                                          @RequestParam(defaultValue = "0") long from,
+                                                          @RequestParam(required = false) String token,
+                                                          @RequestParam(required = false) String table,
+                                                          @RequestParam(required = false) Integer batch) {
+        BotCommand command = BotCommand.fromCommandCode(commandCode);
+        if (command == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown command: " + commandCode);
+        }
+        boolean reproducible = command != BotCommand.UUID_V7;
+        if (!reproducible && (seed != null || token != null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    command.getCommandCode() + " embeds the generation time and cannot be reproduced by seed or token");
+        }
+        OutputFormat outputFormat = requireFormat(format);
+        SqlOptions sqlOptions = sqlOptions(table, batch);
+        GenerationToken generation = token != null
+                ? requireToken(token, command)
+                : new GenerationToken(command, seed != null ? seed : ThreadLocalRandom.current().nextLong(),
+                        from, count, unique, LocalDate.now().toEpochDay());
+        requireCount(generation.count());
+        requireRange(generation);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(outputFormat.getContentType()));
+        if (reproducible) {
+            response.header(REPRODUCIBILITY_TOKEN_HEADER, generation.encode());
+        }
+        if (generation.unique()) {
+            double utilization = requireUniqueSpace(command, generation.count());
+            response.header(UNIQUE_UTILIZATION_HEADER, String.format(Locale.ROOT, "%.4f", utilization));
+        }
+
+        StreamingResponseBody body = out -> rangeGenerationService.write(generation, outputFormat, sqlOptions, out);
+        return response.body(body);
+    }
+
+    /**
+     * Таблица из нескольких команд: GET /api/generate?columns=inn,ogrn,full_name&count=1000000&format=copy.
+     * Персона (person) дает все свои колонки. Строки генерируются и пишутся потоком.
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> generateTable(@RequestParam String columns,
+                                                               @RequestParam(defaultValue = "1") long count,
+                                                               @RequestParam(defaultValue = "csv") String format,
+                                                               @RequestParam(required = false) String table,
+                                                               @RequestParam(required = false) Integer batch) {
+        List<BotCommand> commands = new ArrayList<>();
+        for (String code : columns.split(",")) {
+            BotCommand command = BotCommand.fromCommandCode(code.trim());
+            if (command == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown column: " + code.trim());
+            }
+            commands.add(command);
+        }
+        requireDistinctColumns(commands);
+        OutputFormat outputFormat = requireFormat(format);
+        SqlOptions sqlOptions = sqlOptions(table, batch);
+        requireCount(count);
+
+        StreamingResponseBody body = out -> bulkGenerationService.writeTable(commands, count, outputFormat,
+                sqlOptions, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(outputFormat.getContentType()))
+                .body(body);
+    }
+
+    private static SqlOptions sqlOptions(String table, Integer batch) {
+        try {
+            return new SqlOptions(table != null ? table : SqlOptions.DEFAULT.table(),
+                    batch != null ? batch : SqlOptions.DEFAULT.batchSize());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Повторяющиеся колонки проверяются до начала потоковой выдачи, пока еще можно ответить 400
+     */
+    private void requireDistinctColumns(List<BotCommand> commands) {
+        try {
+            bulkGenerationService.tableColumns(commands);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private GenerationToken requireToken(String token, BotCommand command) {
+        GenerationToken generation;
+        try {
+            generation = GenerationToken.parse(token);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        if (generation.command() != command) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Token was issued for " + generation.command().getCommandCode());
+        }
+        return generation;
+    }
+
+    private void requireRange(GenerationToken generation) {
+        if (generation.from() < 0 || generation.from() > Long.MAX_VALUE - generation.count()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be between 0 and "
+                    + (Long.MAX_VALUE - generation.count()));
+        }
+    }
+
+    private OutputFormat requireFormat(String format) {
+        OutputFormat outputFormat = OutputFormat.fromCode(format);
+        if (outputFormat == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown format: " + format);
+        }
+        return outputFormat;
+    }
+
+    private double requireUniqueSpace(BotCommand command, long count) {
+        if (command.isComposite()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "unique is not supported for " + command.getCommandCode());
+        }
+        long space = UniqueValues.spaceSize(command);
+        if (count > space) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Only " + space + " unique values exist for " + command.getCommandCode());
+        }
+        double utilization = UniqueValues.utilization(command, count);
+        if (utilization >= UniqueValues.NEAR_CAPACITY_RATIO) {
+            log.warn("Unique batch of {} {} uses {}% of the value space",
+                    count, command.getCommandCode(), Math.round(utilization * 100));
+        }
+        return utilization;
+    }
+
+    private void requireCount(long count) {
+        if (count < 1 || count > generatorConfig.getApiMaxCount()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "count must be between 1 and " + generatorConfig.getApiMaxCount());
+        }
+    }
+}
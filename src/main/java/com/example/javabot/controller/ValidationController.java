@@ -0,0 +1,60 @@
+package com.example.javabot.controller;
+
+import com.example.javabot.service.ValidationService;
+import com.example.javabot.validation.ValidationReport;
+import com.example.javabot.validation.ValueType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Lazy
+@RestController
+@RequestMapping("/api/validate")
+@RequiredArgsConstructor
+public class ValidationController {
+
+    private final ValidationService validationService;
+
+    /**
+     * Проверка выгрузки, по одному значению в строке:
+     * curl --data-binary @inn.txt -H "Content-Type: text/plain" /api/validate?type=inn.
+     * Тело читается потоком и целиком в память не загружается.
+     */
+    @PostMapping
+    public Map<String, Object> validate(InputStream body,
+                                        @RequestParam(defaultValue = "auto") String type) throws IOException {
+        ValueType valueType;
+        try {
+            valueType = ValueType.fromCode(type);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return toResponse(validationService.validate(body, valueType));
+    }
+
+    private static Map<String, Object> toResponse(ValidationReport report) {
+        Map<String, Object> types = new LinkedHashMap<>();
+        for (ValueType valueType : ValueType.values()) {
+            long passed = report.passed(valueType);
+            long failed = report.failed(valueType);
+            if (passed + failed > 0) {
+                types.put(valueType.getCode(), Map.of("passed", passed, "failed", failed));
+            }
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("total", report.total());
+        response.put("unrecognized", report.unrecognized());
+        response.put("types", types);
+        return response;
+    }
+}
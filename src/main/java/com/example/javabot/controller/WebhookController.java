@@ -0,0 +1,56 @@
+package com.example.javabot.controller;
+
+import com.example.javabot.UpdateConsumer;
+import com.example.javabot.config.TelegramBotConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Прием обновлений через webhook. Обновление ставится в ту же очередь чата,
+ * что и при long polling, и ответ уходит сразу, не дожидаясь обработки.
+ * Если очередь заполнена, Telegram получает 503 и повторит доставку позже.
+ * Состояния между запросами нет, поэтому за балансировщиком может стоять
+ * несколько экземпляров бота.
+ */
+@Slf4j
+@RestController
+@ConditionalOnProperty(name = "telegram.bot.mode", havingValue = "webhook")
+public class WebhookController {
+
+    static final String SECRET_TOKEN_HEADER = "X-Telegram-Bot-Api-Secret-Token";
+
+    private final UpdateConsumer updateConsumer;
+    private final byte[] secretToken;
+
+    public WebhookController(UpdateConsumer updateConsumer, TelegramBotConfig config) {
+        if (config.getWebhookSecretToken() == null || config.getWebhookSecretToken().isBlank()) {
+            throw new IllegalStateException("telegram.bot.webhook.secret-token is required in webhook mode");
+        }
+        this.updateConsumer = updateConsumer;
+        this.secretToken = config.getWebhookSecretToken().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @PostMapping("${telegram.bot.webhook.path:/telegram/webhook}")
+    public ResponseEntity<Void> receive(@RequestHeader(name = SECRET_TOKEN_HEADER, required = false) String token,
+                                        @RequestBody Update update) {
+        // Сравнение за постоянное время: по задержке ответа токен не подобрать
+        if (token == null || !MessageDigest.isEqual(secretToken, token.getBytes(StandardCharsets.UTF_8))) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!updateConsumer.tryConsume(update)) {
+            log.warn("Update queue is full, rejecting update {}", update.getUpdateId());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok().build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.javabot.date;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Возрастной диапазон для дат рождения: полных лет от fromAge включительно до toAge,
+ * не включая, т.е. дата рождения в (сегодня - toAge лет, сегодня - fromAge лет].
+ * Соседние диапазоны 18-30 и 30-50 стыкуются без пропусков и пересечений.
+ *
+ * @param weight доля диапазона среди остальных
+ */
+public record AgeBand(int fromAge, int toAge, double weight) {
+
+    private static final int MAX_AGE = 150;
+
+    public AgeBand {
+        if (fromAge < 0 || toAge <= fromAge || toAge > MAX_AGE) {
+            throw new IllegalArgumentException("Invalid age range " + fromAge + "-" + toAge);
+        }
+        if (!(weight > 0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("Age range weight must be positive: " + weight);
+        }
+    }
+
+    /**
+     * Разбор списка вида "18-30:25,30-50:45,50-100:30". Без веса доля диапазона
+     * пропорциональна его длине, т.е. даты равномерны по дням, как в одном общем диапазоне
+     */
+    public static List<AgeBand> parse(String spec) {
+        List<AgeBand> bands = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String band = part.strip();
+            if (band.isEmpty()) {
+                continue;
+            }
+            try {
+                int colon = band.indexOf(':');
+                String range = colon < 0 ? band : band.substring(0, colon);
+                int dash = range.indexOf('-');
+                int from = Integer.parseInt(range.substring(0, dash).strip());
+                int to = Integer.parseInt(range.substring(dash + 1).strip());
+                double weight = colon < 0 ? to - from : Double.parseDouble(band.substring(colon + 1).strip());
+                bands.add(new AgeBand(from, to, weight));
+            } catch (IndexOutOfBoundsException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid age range '" + band + "', expected from-to[:weight]", e);
+            }
+        }
+        if (bands.isEmpty()) {
+            throw new IllegalArgumentException("No age ranges in '" + spec + "'");
+        }
+        return List.copyOf(bands);
+    }
+
+    @Override
+    public String toString() {
+        return fromAge + "-" + toAge + ":" + weight;
+    }
+}
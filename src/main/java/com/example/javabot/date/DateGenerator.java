@@ -0,0 +1,143 @@
+package com.example.javabot.date;
+
+import com.example.javabot.dictionary.AliasTable;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Генерация дат как номеров дней (см. {@link EpochDays}). Границы, зависящие от
+ * сегодняшней даты, считаются один раз и живут до полуночи по часам clock;
+ * на каждый вызов остается сверка с System.currentTimeMillis, выбор диапазона
+ * по таблице псевдонимов и одно случайное число.
+ */
+public class DateGenerator {
+
+    /**
+     * ОГРН присваивается с 1 июля 2002 года
+     */
+    public static final long OGRN_START = EpochDays.of(2002, 7, 1);
+
+    /**
+     * Возраст от 18 до 100 лет, равномерно по дням
+     */
+    public static final List<AgeBand> DEFAULT_AGE_BANDS = List.of(new AgeBand(18, 100, 1));
+
+    /**
+     * Возраст получения первого паспорта
+     */
+    public static final int PASSPORT_AGE = 14;
+
+    private static final long NEW_PASSPORTS_START = EpochDays.of(1997, 10, 1);
+    private static final long EXCHANGE_END = EpochDays.of(2004, 6, 30);
+
+    /**
+     * Срок оформления паспорта после наступления возраста замены, дней
+     */
+    private static final int ISSUE_DELAY_DAYS = 60;
+
+    private final RandomGenerator random;
+    private final List<AgeBand> bands;
+    private final AliasTable bandTable;
+    private final Clock clock;
+    private volatile Bounds bounds;
+
+    public DateGenerator(RandomGenerator random) {
+        this(random, DEFAULT_AGE_BANDS, Clock.systemDefaultZone());
+    }
+
+    public DateGenerator(RandomGenerator random, List<AgeBand> bands, Clock clock) {
+        if (bands.isEmpty()) {
+            throw new IllegalArgumentException("At least one age range is required");
+        }
+        this.random = random;
+        this.bands = List.copyOf(bands);
+        this.clock = clock;
+        double[] weights = new double[bands.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = bands.get(i).weight();
+        }
+        // С одним диапазоном выбирать нечего: одно случайное число на дату
+        this.bandTable = weights.length == 1 ? null : new AliasTable(weights);
+        this.bounds = computeBounds();
+    }
+
+    public List<AgeBand> bands() {
+        return bands;
+    }
+
+    public long today() {
+        return bounds().today;
+    }
+
+    /**
+     * Дата рождения в одном из возрастных диапазонов с учетом их весов
+     */
+    public long birthDay() {
+        Bounds current = bounds();
+        int band = bandTable == null ? 0 : bandTable.sample(random);
+        return random.nextLong(current.birthFrom[band], current.birthTo[band]);
+    }
+
+    /**
+     * Дата выдачи паспорта: в 14, 20 или 45 лет (последний возраст замены, которого
+     * человек достиг) плюс срок оформления; если это раньше 1 октября 1997 года -
+     * при обмене на паспорт нового образца в 1997-2004 годах. Не позже сегодня;
+     * до 14 лет паспорта нет
+     */
+    public long passportIssueDay(long birthDay) {
+        long today = today();
+        int age = EpochDays.yearsBetween(birthDay, today);
+        if (age < PASSPORT_AGE) {
+            throw new IllegalArgumentException("No passport before age " + PASSPORT_AGE + ", got " + age);
+        }
+        int issueAge = age >= 45 ? 45 : age >= 20 ? 20 : PASSPORT_AGE;
+        long issueDay = EpochDays.plusYears(birthDay, issueAge) + random.nextInt(ISSUE_DELAY_DAYS);
+        if (issueDay < NEW_PASSPORTS_START) {
+            issueDay = random.nextLong(NEW_PASSPORTS_START, EXCHANGE_END + 1);
+        }
+        return Math.min(issueDay, today);
+    }
+
+    /**
+     * Дата регистрации юридического лица или ИП с ОГРН: с 1 июля 2002 года по сегодня
+     */
+    public long registrationDay() {
+        return random.nextLong(OGRN_START, today() + 1);
+    }
+
+    /**
+     * Дата рождения в формате dd.MM.yyyy
+     */
+    public String birthDate() {
+        return EpochDays.formatRu(birthDay());
+    }
+
+    private Bounds bounds() {
+        Bounds current = bounds;
+        if (clock.millis() >= current.expiresAtMillis) {
+            // Гонка безобидна: несколько потоков посчитают одни и те же границы
+            current = computeBounds();
+            bounds = current;
+        }
+        return current;
+    }
+
+    private Bounds computeBounds() {
+        LocalDate today = LocalDate.now(clock);
+        long[] birthFrom = new long[bands.size()];
+        long[] birthTo = new long[bands.size()];
+        for (int i = 0; i < birthFrom.length; i++) {
+            // Родившийся ровно toAge лет назад уже вышел из диапазона, ровно fromAge лет назад - вошел
+            birthFrom[i] = today.minusYears(bands.get(i).toAge()).toEpochDay() + 1;
+            birthTo[i] = today.minusYears(bands.get(i).fromAge()).toEpochDay() + 1;
+        }
+        long expiresAtMillis = today.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+        return new Bounds(today.toEpochDay(), birthFrom, birthTo, expiresAtMillis);
+    }
+
+    private record Bounds(long today, long[] birthFrom, long[] birthTo, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.javabot.date;
+
+/**
+ * Даты как номер дня от 1970-01-01 (как {@link java.time.LocalDate#toEpochDay()}):
+ * перевод в год/месяц/день и обратно чистой арифметикой, без объектов, и запись
+ * dd.MM.yyyy или yyyy-MM-dd прямо в char[]. Годы 0000-9999.
+ */
+public final class EpochDays {
+
+    /**
+     * Длина даты в любом из двух форматов
+     */
+    public static final int LENGTH = 10;
+
+    /**
+     * Дней от 0000-03-01 до 1970-01-01
+     */
+    private static final long DAYS_0000_TO_1970 = 719_468;
+    private static final int DAYS_PER_ERA = 146_097;
+
+    private EpochDays() {
+    }
+
+    public static long of(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        int yearOfEra = (int) (y - era * 400);
+        int monthFromMarch = month > 2 ? month - 3 : month + 9;
+        int dayOfYear = (153 * monthFromMarch + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_ERA + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    public static int year(long epochDay) {
+        return civil(epochDay) >> 9;
+    }
+
+    /**
+     * Сдвиг на целое число лет; 29 февраля в невисокосный год становится 28-м, как в LocalDate
+     */
+    public static long plusYears(long epochDay, int years) {
+        int civil = civil(epochDay);
+        int year = (civil >> 9) + years;
+        int month = (civil >> 5) & 15;
+        int day = civil & 31;
+        if (month == 2 && day == 29 && !leap(year)) {
+            day = 28;
+        }
+        return of(year, month, day);
+    }
+
+    /**
+     * Полных лет от from до to
+     */
+    public static int yearsBetween(long from, long to) {
+        int start = civil(from);
+        int end = civil(to);
+        int years = (end >> 9) - (start >> 9);
+        // Месяц и день в младших битах: сравнение одним числом
+        return (end & 511) < (start & 511) ? years - 1 : years;
+    }
+
+    /**
+     * Запись dd.MM.yyyy с позиции offset
+     */
+    public static void writeRu(char[] chars, int offset, long epochDay) {
+        int civil = civil(epochDay);
+        write2(chars, offset, civil & 31);
+        chars[offset + 2] = '.';
+        write2(chars, offset + 3, (civil >> 5) & 15);
+        chars[offset + 5] = '.';
+        write4(chars, offset + 6, civil >> 9);
+    }
+
+    /**
+     * Запись yyyy-MM-dd с позиции offset
+     */
+    public static void writeIso(char[] chars, int offset, long epochDay) {
+        int civil = civil(epochDay);
+        write4(chars, offset, civil >> 9);
+        chars[offset + 4] = '-';
+        write2(chars, offset + 5, (civil >> 5) & 15);
+        chars[offset + 7] = '-';
+        write2(chars, offset + 8, civil & 31);
+    }
+
+    public static String formatRu(long epochDay) {
+        char[] chars = new char[LENGTH];
+        writeRu(chars, 0, epochDay);
+        return new String(chars);
+    }
+
+    public static String formatIso(long epochDay) {
+        char[] chars = new char[LENGTH];
+        writeIso(chars, 0, epochDay);
+        return new String(chars);
+    }
+
+    /**
+     * Год, месяц и день одним числом: year << 9 | month << 5 | day. Счет идет
+     * от 1 марта, чтобы 29 февраля было последним днем года
+     */
+    private static int civil(long epochDay) {
+        long shifted = epochDay + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(shifted, DAYS_PER_ERA);
+        int dayOfEra = (int) (shifted - era * DAYS_PER_ERA);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int monthFromMarch = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * monthFromMarch + 2) / 5 + 1;
+        int month = monthFromMarch < 10 ? monthFromMarch + 3 : monthFromMarch - 9;
+        int year = (int) (era * 400) + yearOfEra + (month <= 2 ? 1 : 0);
+        return year << 9 | month << 5 | day;
+    }
+
+    private static boolean leap(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static void write2(char[] chars, int offset, int value) {
+        chars[offset] = (char) ('0' + value / 10);
+        chars[offset + 1] = (char) ('0' + value % 10);
+    }
+
+    private static void write4(char[] chars, int offset, int value) {
+        write2(chars, offset, value / 100);
+        write2(chars, offset + 2, value % 100);
+    }
+}
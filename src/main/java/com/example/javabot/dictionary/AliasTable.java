@@ -0,0 +1,95 @@
+package com.example.javabot.dictionary;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Выбор индекса с заданными весами за O(1) (метод псевдонимов Уокера, построение
+ * по Воузу). Таблица строится один раз за O(n); выбор - одно случайное число:
+ * старшие 32 бита выбирают столбец, младшие решают, взять столбец или его псевдоним.
+ */
+public final class AliasTable {
+
+    private static final double SCALE = 0x1p32;
+
+    /**
+     * Порог столбца в единицах 2^-32: младшие биты меньше порога - берется сам столбец
+     */
+    private final long[] thresholds;
+    private final int[] aliases;
+
+    public AliasTable(double[] weights) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("Weights must not be empty");
+        }
+        double total = 0;
+        for (double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Weight must be a finite non-negative number: " + weight);
+            }
+            total += weight;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+
+        this.thresholds = new long[n];
+        this.aliases = new int[n];
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            thresholds[less] = (long) (scaled[less] * SCALE);
+            aliases[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1;
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // Оставшиеся столбцы заполнены целиком (с точностью до округления)
+        while (largeCount > 0) {
+            int column = large[--largeCount];
+            thresholds[column] = 1L << 32;
+            aliases[column] = column;
+        }
+        while (smallCount > 0) {
+            int column = small[--smallCount];
+            thresholds[column] = 1L << 32;
+            aliases[column] = column;
+        }
+    }
+
+    /**
+     * Таблица с равными весами
+     */
+    public static AliasTable uniform(int size) {
+        double[] weights = new double[size];
+        Arrays.fill(weights, 1);
+        return new AliasTable(weights);
+    }
+
+    public int size() {
+        return thresholds.length;
+    }
+
+    public int sample(RandomGenerator random) {
+        long bits = random.nextLong();
+        int column = (int) (((bits >>> 32) * thresholds.length) >>> 32);
+        return (bits & 0xFFFFFFFFL) < thresholds[column] ? column : aliases[column];
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.javabot.dictionary;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Список значений с доступом по индексу
+ */
+public interface Dictionary {
+
+    int size();
+
+    String get(int index);
+
+    /**
+     * Случайное значение с равными шансами
+     */
+    default String random(RandomGenerator random) {
+        return get(random.nextInt(size()));
+    }
+
+    /**
+     * Словарь из массива в памяти
+     */
+    static Dictionary of(String... values) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException("Dictionary must not be empty");
+        }
+        String[] copy = values.clone();
+        return new Dictionary() {
+            @Override
+            public int size() {
+                return copy.length;
+            }
+
+            @Override
+            public String get(int index) {
+                return copy[index];
+            }
+        };
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.javabot.dictionary;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+/**
+ * Каталог упакованных словарей: категория name хранится в файле name.dict.
+ * Файл отображается в память при первом обращении к категории; если файла нет,
+ * используется встроенный словарь. Фоновая проверка подхватывает новую версию
+ * файла без перезапуска: новая версия открывается целиком и подменяет старую
+ * одной записью volatile-ссылки.
+ */
+@Slf4j
+public final class DictionaryStore implements AutoCloseable {
+
+    public static final String FILE_EXTENSION = ".dict";
+
+    private final Path directory;
+    private final Map<String, Category> categories = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService reloader;
+
+    /**
+     * directory = null - только встроенные словари; reloadInterval = null или 0 - без проверки обновлений
+     */
+    public DictionaryStore(Path directory, Duration reloadInterval) {
+        this.directory = directory;
+        if (directory == null || reloadInterval == null || reloadInterval.isZero()) {
+            this.reloader = null;
+            return;
+        }
+        this.reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dictionary-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = reloadInterval.toMillis();
+        reloader.scheduleWithFixedDelay(this::reload, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Хранилище только со встроенными словарями
+     */
+    public static DictionaryStore builtin() {
+        return Builtin.INSTANCE;
+    }
+
+    /**
+     * Категория словаря; пока файла категории нет, используется fallback,
+     * переданный при первом обращении к ней
+     */
+    public Dictionary category(String name, Dictionary fallback) {
+        return categories.computeIfAbsent(name, key -> new Category(key, fallback));
+    }
+
+    /**
+     * Проверка файлов уже загруженных категорий и подмена изменившихся
+     */
+    public void reload() {
+        for (Category category : categories.values()) {
+            if (category.loaded) {
+                category.reloadIfChanged();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+
+    /**
+     * Категория с ленивой загрузкой; снимок (словарь и версия файла) меняется целиком
+     */
+    private final class Category implements Dictionary {
+        private final String name;
+        private final Dictionary fallback;
+        private volatile Snapshot snapshot;
+        private volatile boolean loaded;
+
+        private Category(String name, Dictionary fallback) {
+            this.name = name;
+            this.fallback = fallback;
+        }
+
+        @Override
+        public int size() {
+            return current().size();
+        }
+
+        @Override
+        public String get(int index) {
+            return current().get(index);
+        }
+
+        /**
+         * Размер и значение берутся из одного снимка, даже если словарь подменяется
+         */
+        @Override
+        public String random(RandomGenerator random) {
+            Dictionary dictionary = current();
+            return dictionary.get(random.nextInt(dictionary.size()));
+        }
+
+        private Dictionary current() {
+            if (!loaded) {
+                synchronized (this) {
+                    if (!loaded) {
+                        reloadIfChanged();
+                        loaded = true;
+                    }
+                }
+            }
+            return snapshot.dictionary;
+        }
+
+        private synchronized void reloadIfChanged() {
+            Snapshot current = snapshot;
+            Path file = directory == null ? null : directory.resolve(name + FILE_EXTENSION);
+            if (file == null || !Files.isRegularFile(file)) {
+                if (current == null) {
+                    snapshot = new Snapshot(fallback, null);
+                }
+                return;
+            }
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                String version = attributes.lastModifiedTime() + "/" + attributes.size() + "/" + attributes.fileKey();
+                if (current != null && version.equals(current.version)) {
+                    return;
+                }
+                PackedDictionary dictionary = PackedDictionary.open(file);
+                snapshot = new Snapshot(dictionary, version);
+                log.info("Loaded dictionary {} from {}: {} values", name, file, dictionary.size());
+            } catch (IOException | RuntimeException e) {
+                // Битый или недописанный файл: остается предыдущая версия,
+                // а задача перезагрузки продолжает проверять файлы
+                log.error("Failed to load dictionary {} from {}: {}", name, file, e.getMessage());
+                if (current == null) {
+                    snapshot = new Snapshot(fallback, null);
+                }
+            }
+        }
+    }
+
+    private record Snapshot(Dictionary dictionary, String version) {
+    }
+
+    private static final class Builtin {
+        private static final DictionaryStore INSTANCE = new DictionaryStore(null, null);
+    }
+}
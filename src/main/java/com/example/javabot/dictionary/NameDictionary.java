@@ -0,0 +1,217 @@
+package com.example.javabot.dictionary;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Словари фамилий, имен и отчеств с частотами. Выбор по весам идет через
+ * {@link AliasTable} за O(1), ФИО согласовано по полу: женщине достаются
+ * женское имя, отчество на -на и фамилия в женской форме.
+ * <p>
+ * Словари загружаются из каталога с файлами (UTF-8, разделитель ";",
+ * строки с "#" пропускаются):
+ * <ul>
+ *     <li>surnames.csv - фамилия;вес[;женская форма], без женской формы она строится по окончанию</li>
+ *     <li>male-names.csv - имя;вес[;отчество мужское;отчество женское]</li>
+ *     <li>female-names.csv - имя;вес, файл необязателен</li>
+ * </ul>
+ * Отчества выбираются по весам мужских имен (имя отца).
+ */
+public final class NameDictionary {
+
+    public static final String SURNAMES_FILE = "surnames.csv";
+    public static final String MALE_NAMES_FILE = "male-names.csv";
+    public static final String FEMALE_NAMES_FILE = "female-names.csv";
+
+    private final Weighted lastNames;
+    private final Weighted maleFirstNames;
+    private final Weighted femaleFirstNames;
+    private final Weighted patronymics;
+
+    private NameDictionary(Weighted lastNames, Weighted maleFirstNames,
+                           Weighted femaleFirstNames, Weighted patronymics) {
+        this.lastNames = lastNames;
+        this.maleFirstNames = maleFirstNames;
+        this.femaleFirstNames = femaleFirstNames;
+        this.patronymics = patronymics;
+    }
+
+    /**
+     * Встроенный словарь: по 15 мужских фамилий, имен и отчеств с равными весами
+     */
+    public static NameDictionary builtin() {
+        return Builtin.INSTANCE;
+    }
+
+    /**
+     * Загрузка словарей из каталога
+     */
+    public static NameDictionary load(Path directory) throws IOException {
+        List<String[]> surnames = read(directory.resolve(SURNAMES_FILE));
+        List<String[]> maleNames = read(directory.resolve(MALE_NAMES_FILE));
+        Path femaleFile = directory.resolve(FEMALE_NAMES_FILE);
+        List<String[]> femaleNames = Files.exists(femaleFile) ? read(femaleFile) : List.of();
+
+        List<String[]> fathers = new ArrayList<>();
+        for (String[] row : maleNames) {
+            if (row.length >= 4) {
+                fathers.add(new String[]{row[2], row[1], row[3]});
+            }
+        }
+        if (surnames.isEmpty() || maleNames.isEmpty() || fathers.isEmpty()) {
+            throw new IOException("Name dictionary in " + directory
+                    + " needs surnames, male names and at least one patronymic");
+        }
+
+        return new NameDictionary(
+                weighted(surnames, true),
+                weighted(maleNames, false),
+                femaleNames.isEmpty() ? null : weighted(femaleNames, false),
+                weighted(fathers, true));
+    }
+
+    /**
+     * Пол следующего человека; без женских имен в словаре - всегда мужской
+     */
+    public boolean nextFemale(RandomGenerator random) {
+        return femaleFirstNames != null && random.nextBoolean();
+    }
+
+    public String lastName(RandomGenerator random, boolean female) {
+        return lastNames.sample(random, female);
+    }
+
+    public String firstName(RandomGenerator random, boolean female) {
+        return female ? femaleFirstNames.sample(random, true) : maleFirstNames.sample(random, false);
+    }
+
+    public String patronymic(RandomGenerator random, boolean female) {
+        return patronymics.sample(random, female);
+    }
+
+    /**
+     * "Фамилия Имя Отчество" одного пола
+     */
+    public String fullName(RandomGenerator random) {
+        boolean female = nextFemale(random);
+        return lastName(random, female) + ' ' + firstName(random, female) + ' ' + patronymic(random, female);
+    }
+
+    public int surnameCount() {
+        return lastNames.male.length;
+    }
+
+    /**
+     * Женская форма фамилии по окончанию; несклоняемые фамилии не меняются
+     */
+    static String feminineSurname(String surname) {
+        if (surname.endsWith("ов") || surname.endsWith("ев") || surname.endsWith("ёв")
+                || surname.endsWith("ин") || surname.endsWith("ын")) {
+            return surname + "а";
+        }
+        if (surname.endsWith("ский") || surname.endsWith("цкий")) {
+            return surname.substring(0, surname.length() - 2) + "ая";
+        }
+        if (surname.endsWith("ой") && surname.length() > 3) {
+            return surname.substring(0, surname.length() - 2) + "ая";
+        }
+        return surname;
+    }
+
+    /**
+     * Строки вида значение;вес[;женская форма]. Для gendered = false женская форма совпадает
+     * с основной, иначе берется из третьего столбца или строится как для фамилии
+     */
+    private static Weighted weighted(List<String[]> rows, boolean gendered) {
+        String[] male = new String[rows.size()];
+        String[] female = new String[rows.size()];
+        double[] weights = new double[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            String[] row = rows.get(i);
+            male[i] = row[0];
+            weights[i] = row.length > 1 ? parseWeight(row[1]) : 1;
+            if (!gendered) {
+                female[i] = row[0];
+            } else {
+                female[i] = row.length > 2 && !row[2].isEmpty() ? row[2] : feminineSurname(row[0]);
+            }
+        }
+        return new Weighted(male, female, new AliasTable(weights));
+    }
+
+    private static double parseWeight(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid weight: " + value, e);
+        }
+    }
+
+    private static List<String[]> read(Path file) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] row = line.split(";");
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = row[i].strip();
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Значения в мужской и женской форме с общей таблицей весов
+     */
+    private record Weighted(String[] male, String[] female, AliasTable table) {
+
+        private String sample(RandomGenerator random, boolean feminine) {
+            int index = table.sample(random);
+            return feminine ? female[index] : male[index];
+        }
+    }
+
+    private static final class Builtin {
+        private static final NameDictionary INSTANCE = create();
+
+        private static NameDictionary create() {
+            String[] lastNames = {
+                    "Иванов", "Петров", "Сидоров", "Смирнов", "Кузнецов",
+                    "Попов", "Лебедев", "Козлов", "Новиков", "Морозов",
+                    "Федоров", "Макаров", "Николаев", "Орлов", "Захаров"
+            };
+            String[] firstNames = {
+                    "Александр", "Дмитрий", "Михаил", "Сергей", "Андрей",
+                    "Алексей", "Артем", "Илья", "Кирилл", "Никита",
+                    "Евгений", "Максим", "Владимир", "Константин", "Павел"
+            };
+            String[] middleNames = {
+                    "Иванович", "Петрович", "Сергеевич", "Александрович", "Дмитриевич",
+                    "Андреевич", "Михайлович", "Артемович", "Никитич", "Кириллович",
+                    "Евгеньевич", "Максимович", "Владимирович", "Константинович", "Павлович"
+            };
+            String[] feminineLastNames = new String[lastNames.length];
+            for (int i = 0; i < lastNames.length; i++) {
+                feminineLastNames[i] = feminineSurname(lastNames[i]);
+            }
+            AliasTable uniform = AliasTable.uniform(lastNames.length);
+            return new NameDictionary(
+                    new Weighted(lastNames, feminineLastNames, uniform),
+                    new Weighted(firstNames, firstNames, uniform),
+                    null,
+                    new Weighted(middleNames, middleNames, uniform));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.javabot.dictionary;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Словарь в упакованном файле, отображенном в память. Значения не копируются
+ * в кучу при загрузке: строка декодируется из UTF-8 при обращении по индексу.
+ * <p>
+ * Формат: магическое число "TDD1", количество значений n, таблица из n + 1
+ * смещений (int, от начала блока данных) и блок данных в UTF-8.
+ * Все числа big-endian.
+ */
+public final class PackedDictionary implements Dictionary {
+
+    private static final int MAGIC = 0x54444431;
+    private static final int HEADER_SIZE = 8;
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int dataStart;
+
+    private PackedDictionary(ByteBuffer buffer, int size, int dataStart) {
+        this.buffer = buffer;
+        this.size = size;
+        this.dataStart = dataStart;
+    }
+
+    /**
+     * Отображение файла в память. Отображение остается действительным и после
+     * закрытия канала, поэтому файл нужно заменять переименованием, а не перезаписью
+     */
+    public static PackedDictionary open(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Dictionary file is larger than 2 GB: " + file);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a packed dictionary: " + file);
+        }
+        int size = buffer.getInt(4);
+        if (size <= 0 || size >= (buffer.limit() - HEADER_SIZE) / 4) {
+            throw new IOException("Corrupted packed dictionary: " + file);
+        }
+        int dataStart = HEADER_SIZE + 4 * (size + 1);
+        if (!validOffsets(buffer, size, buffer.limit() - dataStart)) {
+            throw new IOException("Corrupted packed dictionary: " + file);
+        }
+        return new PackedDictionary(buffer, size, dataStart);
+    }
+
+    /**
+     * Таблица смещений начинается с 0, не убывает и заканчивается длиной блока данных;
+     * после этой проверки get не выходит за пределы файла
+     */
+    private static boolean validOffsets(ByteBuffer buffer, int size, int dataLength) {
+        int previous = buffer.getInt(HEADER_SIZE);
+        if (previous != 0) {
+            return false;
+        }
+        for (int i = 1; i <= size; i++) {
+            int offset = buffer.getInt(HEADER_SIZE + 4 * i);
+            if (offset < previous || offset > dataLength) {
+                return false;
+            }
+            previous = offset;
+        }
+        return previous == dataLength;
+    }
+
+    /**
+     * Упаковка значений в файл
+     */
+    public static void write(Path file, List<String> values) throws IOException {
+        byte[][] encoded = new byte[values.size()][];
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = values.get(i).getBytes(StandardCharsets.UTF_8);
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(encoded.length);
+            int offset = 0;
+            out.writeInt(offset);
+            for (byte[] value : encoded) {
+                offset = Math.addExact(offset, value.length);
+                out.writeInt(offset);
+            }
+            for (byte[] value : encoded) {
+                out.write(value);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        int offsetPosition = HEADER_SIZE + 4 * index;
+        int start = buffer.getInt(offsetPosition);
+        int end = buffer.getInt(offsetPosition + 4);
+        byte[] bytes = new byte[end - start];
+        buffer.get(dataStart + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.javabot.dispatch;
+
+import com.example.javabot.config.TelegramBotConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Обработка обновлений пулом воркеров с сохранением порядка внутри чата.
+ * Чат закрепляется за одной полосой (lane) по хешу chatId, у каждой полосы
+ * свой поток и своя ограниченная очередь. При переполнении очереди отправитель
+ * блокируется, и long polling естественно притормаживает; webhook вместо
+ * ожидания получает отказ и просит Telegram повторить доставку позже.
+ * <p>
+ * Внутри полосы у каждого чата своя очередь, чаты обслуживаются по кругу
+ * (deficit round-robin): за круг чат получает квант стоимости, а стоимость
+ * задачи - число запрошенных значений. Пакет на миллион значений ждет, пока
+ * накопится его квота, и не задерживает одиночные запросы других чатов.
+ */
+@Slf4j
+@Component
+public class ChatOrderedExecutor {
+
+    private static final int DEFAULT_QUANTUM = 100;
+
+    private final Lane[] lanes;
+
+    public ChatOrderedExecutor(TelegramBotConfig config, MeterRegistry meterRegistry) {
+        int workers = Math.max(1, config.getUpdateWorkers());
+        int laneCapacity = Math.max(1, config.getUpdateQueueCapacity() / workers);
+        int quantum = config.getUpdateFairQuantum() > 0 ? config.getUpdateFairQuantum() : DEFAULT_QUANTUM;
+        ThreadFactory threadFactory = config.isUpdateVirtualThreads()
+                ? virtualThreadFactory()
+                : runnable -> new Thread(runnable);
+
+        this.lanes = new Lane[workers];
+        for (int i = 0; i < workers; i++) {
+            lanes[i] = new Lane(laneCapacity, quantum);
+            Thread thread = threadFactory.newThread(lanes[i]);
+            thread.setName("update-worker-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        Gauge.builder("bot.updates.queue.depth", this, ChatOrderedExecutor::queueDepth)
+                .description("Updates waiting for a worker")
+                .register(meterRegistry);
+        log.info("Processing updates with {} workers, queue capacity {} per worker", workers, laneCapacity);
+    }
+
+    /**
+     * Постановка задачи в очередь полосы чата; блокируется, если очередь заполнена
+     */
+    public void execute(long chatId, Runnable task) {
+        execute(chatId, 1, task);
+    }
+
+    /**
+     * То же с учетом стоимости задачи для справедливой очереди
+     */
+    public void execute(long chatId, long cost, Runnable task) {
+        try {
+            laneOf(chatId).put(chatId, cost, task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while queueing update for chat {}", chatId);
+        }
+    }
+
+    /**
+     * Постановка задачи без ожидания; false, если очередь полосы заполнена
+     */
+    public boolean tryExecute(long chatId, Runnable task) {
+        return tryExecute(chatId, 1, task);
+    }
+
+    public boolean tryExecute(long chatId, long cost, Runnable task) {
+        return laneOf(chatId).offer(chatId, cost, task);
+    }
+
+    public int queueDepth() {
+        int depth = 0;
+        for (Lane lane : lanes) {
+            depth += lane.size();
+        }
+        return depth;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Lane lane : lanes) {
+            lane.stop();
+        }
+    }
+
+    private Lane laneOf(long chatId) {
+        return lanes[Math.floorMod(Long.hashCode(chatId), lanes.length)];
+    }
+
+    private static ThreadFactory virtualThreadFactory() {
+        // Виртуальные потоки появились в Java 21; проект собирается под 17, поэтому через рефлексию
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            log.warn("Virtual threads are not available on this runtime, using platform threads");
+            return runnable -> new Thread(runnable);
+        }
+    }
+
+    private record Task(long cost, Runnable runnable) {
+    }
+
+    /**
+     * Очередь чата и его накопленный за круги дефицит
+     */
+    private static final class ChatQueue {
+        private final long chatId;
+        private final ArrayDeque<Task> tasks = new ArrayDeque<>();
+        private long deficit;
+
+        private ChatQueue(long chatId, long deficit) {
+            this.chatId = chatId;
+            this.deficit = deficit;
+        }
+    }
+
+    private static final class Lane implements Runnable {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final Condition notFull = lock.newCondition();
+        private final Map<Long, ChatQueue> chats = new HashMap<>();
+        private final ArrayDeque<ChatQueue> round = new ArrayDeque<>();
+        private final int capacity;
+        private final long quantum;
+        private int size;
+        private volatile boolean running = true;
+
+        private Lane(int capacity, long quantum) {
+            this.capacity = capacity;
+            this.quantum = quantum;
+        }
+
+        private void put(long chatId, long cost, Runnable runnable) throws InterruptedException {
+            lock.lockInterruptibly();
+            try {
+                while (size >= capacity && running) {
+                    notFull.await();
+                }
+                enqueue(chatId, cost, runnable);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean offer(long chatId, long cost, Runnable runnable) {
+            lock.lock();
+            try {
+                if (size >= capacity) {
+                    return false;
+                }
+                enqueue(chatId, cost, runnable);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int size() {
+            lock.lock();
+            try {
+                return size;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void stop() {
+            lock.lock();
+            try {
+                running = false;
+                notEmpty.signalAll();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                try {
+                    Runnable task = take();
+                    if (task != null) {
+                        task.run();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (RuntimeException e) {
+                    log.error("Failed to process update: {}", e.getMessage(), e);
+                }
+            }
+        }
+
+        private void enqueue(long chatId, long cost, Runnable runnable) {
+            ChatQueue chat = chats.get(chatId);
+            if (chat == null) {
+                chat = new ChatQueue(chatId, quantum);
+                chats.put(chatId, chat);
+                round.add(chat);
+            }
+            chat.tasks.add(new Task(Math.max(1, cost), runnable));
+            size++;
+            notEmpty.signal();
+        }
+
+        /**
+         * Следующая задача по кругу; null при остановке
+         */
+        private Runnable take() throws InterruptedException {
+            lock.lockInterruptibly();
+            try {
+                while (round.isEmpty()) {
+                    if (!running) {
+                        return null;
+                    }
+                    notEmpty.await();
+                }
+                int skipped = 0;
+                while (true) {
+                    ChatQueue chat = round.peek();
+                    Task task = chat.tasks.peek();
+                    if (chat.deficit >= task.cost() || round.size() == 1) {
+                        chat.tasks.poll();
+                        chat.deficit = Math.max(0, chat.deficit - task.cost());
+                        if (chat.tasks.isEmpty()) {
+                            // Опустевший чат выходит из круга вместе с дефицитом
+                            round.poll();
+                            chats.remove(chat.chatId);
+                        }
+                        size--;
+                        notFull.signal();
+                        return task.runnable();
+                    }
+                    chat.deficit += quantum;
+                    round.add(round.poll());
+                    if (++skipped == round.size()) {
+                        // Целый круг без выдачи: сразу добавляем кванты, которых не хватает ближайшему
+                        addRounds();
+                        skipped = 0;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void addRounds() {
+            long rounds = Long.MAX_VALUE;
+            for (ChatQueue chat : round) {
+                long missing = Math.max(0, chat.tasks.peek().cost() - chat.deficit);
+                rounds = Math.min(rounds, (missing + quantum - 1) / quantum);
+            }
+            for (ChatQueue chat : round) {
+                chat.deficit += rounds * quantum;
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.javabot.dispatch;
+
+import com.example.javabot.config.TelegramBotConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Квоты входящих запросов по чатам: GCRA, как в {@link TokenBucket}, но без
+ * объекта на чат. Таблица разбита на полосы (stripes) по хешу chatId; полоса -
+ * открытая адресация на двух массивах long (chatId и теоретическое время
+ * прибытия) под собственной блокировкой. Чат с полной корзиной ничего не
+ * помнит, поэтому при росте полосы такие записи просто выбрасываются, и
+ * таблица занимает память только под недавно активные чаты.
+ */
+@Component
+public class ChatRateLimiter {
+
+    private static final int STRIPES = 64;
+    private static final int MIN_STRIPE_CAPACITY = 16;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final boolean enabled;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public ChatRateLimiter(TelegramBotConfig config, MeterRegistry meterRegistry) {
+        this.enabled = config.isQuotaEnabled() && config.getQuotaRate() > 0;
+        this.emissionIntervalNanos = enabled ? (long) (1_000_000_000L / config.getQuotaRate()) : 0;
+        this.burstToleranceNanos = emissionIntervalNanos * (Math.max(1, config.getQuotaBurst()) - 1);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+        Gauge.builder("bot.quota.chats", this, ChatRateLimiter::trackedChats)
+                .description("Chats with a partially drained request quota")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Запрос чата укладывается в квоту; при отказе квота не расходуется
+     */
+    public boolean tryAcquire(long chatId) {
+        return tryAcquire(chatId, System.nanoTime());
+    }
+
+    public boolean tryAcquire(long chatId, long nowNanos) {
+        if (!enabled) {
+            return true;
+        }
+        long hash = chatId * 0x9E3779B97F4A7C15L;
+        Stripe stripe = stripes[(int) (hash >>> 58)];
+        synchronized (stripe) {
+            return stripe.tryAcquire(chatId, hash, nowNanos);
+        }
+    }
+
+    /**
+     * Количество чатов в таблице, включая еще не выброшенные простаивающие
+     */
+    public int trackedChats() {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                total += stripe.size;
+            }
+        }
+        return total;
+    }
+
+    private final class Stripe {
+        private long[] chatIds = emptyKeys(MIN_STRIPE_CAPACITY);
+        private long[] arrivals = new long[MIN_STRIPE_CAPACITY];
+        private int size;
+
+        private boolean tryAcquire(long chatId, long hash, long now) {
+            int mask = chatIds.length - 1;
+            int index = (int) hash & mask;
+            while (chatIds[index] != EMPTY && chatIds[index] != chatId) {
+                index = (index + 1) & mask;
+            }
+            if (chatIds[index] == EMPTY) {
+                // Новый чат начинает с полной корзиной
+                chatIds[index] = chatId;
+                arrivals[index] = now + emissionIntervalNanos;
+                if (++size > chatIds.length * 3 / 4) {
+                    rebuild(now);
+                }
+                return true;
+            }
+            long start = Math.max(arrivals[index], now);
+            if (start - burstToleranceNanos > now) {
+                return false;
+            }
+            arrivals[index] = start + emissionIntervalNanos;
+            return true;
+        }
+
+        /**
+         * Перестроение без простаивающих чатов; емкость подбирается так,
+         * чтобы таблица была заполнена не больше чем наполовину
+         */
+        private void rebuild(long now) {
+            int live = 0;
+            for (int i = 0; i < chatIds.length; i++) {
+                if (chatIds[i] != EMPTY && arrivals[i] - now > 0) {
+                    live++;
+                }
+            }
+            int capacity = Math.max(MIN_STRIPE_CAPACITY, Integer.highestOneBit(Math.max(1, live)) << 2);
+            long[] oldChatIds = chatIds;
+            long[] oldArrivals = arrivals;
+            chatIds = emptyKeys(capacity);
+            arrivals = new long[capacity];
+            size = 0;
+            int mask = capacity - 1;
+            for (int i = 0; i < oldChatIds.length; i++) {
+                if (oldChatIds[i] == EMPTY || oldArrivals[i] - now <= 0) {
+                    continue;
+                }
+                int index = (int) (oldChatIds[i] * 0x9E3779B97F4A7C15L) & mask;
+                while (chatIds[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                chatIds[index] = oldChatIds[i];
+                arrivals[index] = oldArrivals[i];
+                size++;
+            }
+        }
+    }
+
+    private static long[] emptyKeys(int capacity) {
+        long[] keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        return keys;
+    }
+}
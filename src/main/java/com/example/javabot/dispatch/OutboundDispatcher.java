@@ -0,0 +1,324 @@
+package com.example.javabot.dispatch;
+
+import com.example.javabot.config.TelegramBotConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Очередь исходящих вызовов Telegram API с учетом лимитов.
+ * <p>
+ * У каждого чата своя очередь (FIFO) и своя корзина токенов. В общую очередь с
+ * задержкой попадает только голова очереди чата, когда корзина чата выдала ей
+ * токен, поэтому сообщения одного чата уходят строго по порядку и не чаще лимита,
+ * не задерживая другие чаты. Следующее сообщение чата планируется, только когда
+ * голова доставлена или окончательно отброшена. Единственный поток-диспетчер
+ * забирает готовые вызовы, ждет токен глобальной корзины и отправляет их
+ * асинхронно. Ответ 429 блокирует корзину чата на retry_after, сетевые ошибки и
+ * 5xx повторяются с экспоненциальной задержкой; повтор идет той же головой, и
+ * остальные сообщения чата ждут за ней.
+ */
+@Slf4j
+public class OutboundDispatcher {
+
+    private static final long INITIAL_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long IDLE_SWEEP_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final DelayQueue<ChatQueue> ready = new DelayQueue<>();
+    private final Map<Long, ChatQueue> chats = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final TokenBucket globalBucket;
+    private final double perChatRate;
+    private final int capacity;
+    private final int maxRetries;
+    private final Thread dispatcherThread;
+    private volatile boolean running = true;
+
+    private final Timer sendLatency;
+    private final Counter droppedQueueFull;
+    private final Counter droppedRejected;
+    private final Counter droppedRetriesExhausted;
+    private final Counter retries;
+
+    public OutboundDispatcher(TelegramBotConfig config, MeterRegistry meterRegistry) {
+        this.globalBucket = new TokenBucket(config.getOutboundGlobalRate(), config.getOutboundGlobalRate(), System.nanoTime());
+        this.perChatRate = config.getOutboundPerChatRate();
+        this.capacity = config.getOutboundQueueCapacity();
+        this.maxRetries = config.getOutboundMaxRetries();
+
+        Gauge.builder("bot.outbound.queue.depth", queued, AtomicInteger::get)
+                .description("Outbound Telegram calls waiting to be sent")
+                .register(meterRegistry);
+        this.sendLatency = Timer.builder("bot.outbound.send.latency")
+                .description("Time from queueing a call to its successful completion")
+                .register(meterRegistry);
+        this.droppedQueueFull = droppedCounter(meterRegistry, "queue_full");
+        this.droppedRejected = droppedCounter(meterRegistry, "rejected");
+        this.droppedRetriesExhausted = droppedCounter(meterRegistry, "retries_exhausted");
+        this.retries = Counter.builder("bot.outbound.retries").register(meterRegistry);
+
+        this.dispatcherThread = new Thread(this::dispatchLoop, "outbound-dispatcher");
+        dispatcherThread.setDaemon(true);
+        dispatcherThread.start();
+    }
+
+    /**
+     * Постановка вызова в очередь. Возвращает false, если очередь заполнена
+     */
+    public boolean submit(long chatId, TelegramCall call) {
+        return submit(chatId, call, null);
+    }
+
+    /**
+     * Постановка вызова в очередь с действием, которое выполнится после успешной
+     * отправки или окончательного отказа (например, удаление временного файла)
+     */
+    public boolean submit(long chatId, TelegramCall call, Runnable onComplete) {
+        if (queued.incrementAndGet() > capacity) {
+            queued.decrementAndGet();
+            droppedQueueFull.increment();
+            log.warn("Outbound queue is full, dropping message to chat {}", chatId);
+            complete(onComplete);
+            return false;
+        }
+        long now = System.nanoTime();
+        OutboundCall outboundCall = new OutboundCall(call, onComplete, now);
+        // Добавление под блокировкой корзины карты: очистка простаивающих чатов не удалит очередь между поиском и вставкой
+        chats.compute(chatId, (id, chat) -> {
+            ChatQueue target = chat != null ? chat : new ChatQueue(id, new TokenBucket(perChatRate, 1, now));
+            synchronized (target) {
+                target.pending.add(outboundCall);
+                if (!target.active) {
+                    target.active = true;
+                    schedule(target, target.bucket.reserve(now));
+                }
+            }
+            return target;
+        });
+        return true;
+    }
+
+    public int queueDepth() {
+        return queued.get();
+    }
+
+    public void shutdown() {
+        running = false;
+        dispatcherThread.interrupt();
+    }
+
+    private void dispatchLoop() {
+        long nextSweep = System.nanoTime() + IDLE_SWEEP_INTERVAL_NANOS;
+        while (running) {
+            try {
+                ChatQueue chat = ready.poll(1, TimeUnit.SECONDS);
+                long now = System.nanoTime();
+                if (now - nextSweep > 0) {
+                    sweepIdleChats(now);
+                    nextSweep = now + IDLE_SWEEP_INTERVAL_NANOS;
+                }
+                if (chat == null) {
+                    continue;
+                }
+                long wait = globalBucket.reserve(now) - now;
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                send(chat);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Диспетчер один: ошибка не должна останавливать отправку остальным чатам
+                log.error("Outbound dispatcher failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void send(ChatQueue chat) {
+        OutboundCall call;
+        synchronized (chat) {
+            call = chat.pending.peek();
+        }
+        CompletableFuture<?> future;
+        try {
+            future = call.call.execute();
+        } catch (TelegramApiException | RuntimeException e) {
+            onFailure(chat, call, e);
+            return;
+        }
+        if (future == null) {
+            onFailure(chat, call, new IllegalStateException("Telegram call returned no future"));
+            return;
+        }
+        future.whenComplete((result, error) -> {
+            if (error == null) {
+                sendLatency.record(System.nanoTime() - call.enqueuedAt, TimeUnit.NANOSECONDS);
+                finish(chat, call);
+            } else {
+                onFailure(chat, call, error instanceof CompletionException ? error.getCause() : error);
+            }
+        });
+    }
+
+    private void onFailure(ChatQueue chat, OutboundCall call, Throwable error) {
+        long now = System.nanoTime();
+        Integer errorCode = null;
+        Integer retryAfter = null;
+        if (error instanceof TelegramApiRequestException requestException) {
+            errorCode = requestException.getErrorCode();
+            if (requestException.getParameters() != null) {
+                retryAfter = requestException.getParameters().getRetryAfter();
+            }
+        } else if (error instanceof RuntimeException) {
+            // Ошибка сборки или сериализации запроса: повтор даст то же самое
+            errorCode = 0;
+        }
+
+        boolean retryable = errorCode == null || errorCode == 429 || errorCode >= 500;
+        if (!retryable) {
+            drop(chat, call, droppedRejected, error);
+            return;
+        }
+        if (call.attempt >= maxRetries) {
+            drop(chat, call, droppedRetriesExhausted, error);
+            return;
+        }
+
+        long readyAt;
+        if (retryAfter != null) {
+            chat.bucket.blockUntil(now + TimeUnit.SECONDS.toNanos(retryAfter));
+            readyAt = chat.bucket.reserve(now);
+        } else {
+            readyAt = Math.max(chat.bucket.reserve(now), now + (INITIAL_BACKOFF_NANOS << call.attempt));
+        }
+        call.attempt++;
+        retries.increment();
+        log.debug("Retrying message to chat {} (attempt {}): {}", chat.chatId, call.attempt, error.getMessage());
+        synchronized (chat) {
+            schedule(chat, readyAt);
+        }
+    }
+
+    private void drop(ChatQueue chat, OutboundCall call, Counter counter, Throwable error) {
+        counter.increment();
+        log.error("Failed to send message to chat {}: {}", chat.chatId, error.getMessage());
+        finish(chat, call);
+    }
+
+    /**
+     * Голова доставлена или отброшена: планируется следующее сообщение чата
+     */
+    private void finish(ChatQueue chat, OutboundCall call) {
+        queued.decrementAndGet();
+        synchronized (chat) {
+            chat.pending.poll();
+            if (chat.pending.isEmpty()) {
+                chat.active = false;
+            } else {
+                schedule(chat, chat.bucket.reserve(System.nanoTime()));
+            }
+        }
+        complete(call.onComplete);
+    }
+
+    private void schedule(ChatQueue chat, long readyAt) {
+        chat.readyAt = readyAt;
+        chat.sequence = sequence.incrementAndGet();
+        ready.put(chat);
+    }
+
+    private void sweepIdleChats(long now) {
+        for (Long chatId : chats.keySet()) {
+            chats.computeIfPresent(chatId, (id, chat) -> {
+                synchronized (chat) {
+                    return !chat.active && chat.bucket.isIdle(now) ? null : chat;
+                }
+            });
+        }
+    }
+
+    private static void complete(Runnable onComplete) {
+        if (onComplete == null) {
+            return;
+        }
+        try {
+            onComplete.run();
+        } catch (RuntimeException e) {
+            log.warn("Outbound completion callback failed: {}", e.getMessage());
+        }
+    }
+
+    private static Counter droppedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("bot.outbound.dropped")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Асинхронный вызов Telegram API
+     */
+    @FunctionalInterface
+    public interface TelegramCall {
+        CompletableFuture<?> execute() throws TelegramApiException;
+    }
+
+    private static final class OutboundCall {
+        private final TelegramCall call;
+        private final Runnable onComplete;
+        private final long enqueuedAt;
+        private int attempt;
+
+        private OutboundCall(TelegramCall call, Runnable onComplete, long enqueuedAt) {
+            this.call = call;
+            this.onComplete = onComplete;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    /**
+     * Очередь чата. В общей очереди с задержкой находится, пока active и голова
+     * ждет отправки; readyAt и sequence меняются, только когда ее там нет
+     */
+    private static final class ChatQueue implements Delayed {
+        private final long chatId;
+        private final TokenBucket bucket;
+        private final ArrayDeque<OutboundCall> pending = new ArrayDeque<>();
+        private boolean active;
+        private long readyAt;
+        private long sequence;
+
+        private ChatQueue(long chatId, TokenBucket bucket) {
+            this.chatId = chatId;
+            this.bucket = bucket;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(readyAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            ChatQueue that = (ChatQueue) other;
+            int byTime = Long.compare(readyAt - that.readyAt, 0);
+            return byTime != 0 ? byTime : Long.compare(sequence, that.sequence);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.javabot.dispatch;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket в форме GCRA: все состояние — одно число, теоретическое время
+ * прибытия следующего запроса. Обновляется через CAS, без блокировок.
+ * Время передается снаружи в наносекундах, что упрощает тестирование.
+ */
+public final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param ratePerSecond скорость пополнения, токенов в секунду
+     * @param burst         емкость корзины (максимальный всплеск)
+     */
+    public TokenBucket(double ratePerSecond, int burst, long nowNanos) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * (Math.max(1, burst) - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Попытка взять токен сейчас; при неудаче состояние не меняется
+     */
+    public boolean tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long start = Math.max(tat, nowNanos);
+            if (start - burstToleranceNanos > nowNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(tat, start + emissionIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Резервирование токена: возвращает момент, начиная с которого его можно
+     * использовать. Последовательные резервирования выдают неубывающие моменты.
+     */
+    public long reserve(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long start = Math.max(tat, nowNanos);
+            if (theoreticalArrival.compareAndSet(tat, start + emissionIntervalNanos)) {
+                return Math.max(nowNanos, start - burstToleranceNanos);
+            }
+        }
+    }
+
+    /**
+     * Отложить выдачу токенов до указанного момента (например, по retry_after)
+     */
+    public void blockUntil(long untilNanos) {
+        theoreticalArrival.accumulateAndGet(untilNanos + burstToleranceNanos, Math::max);
+    }
+
+    /**
+     * Корзина полна и не хранит информации о прошлых запросах
+     */
+    public boolean isIdle(long nowNanos) {
+        return theoreticalArrival.get() <= nowNanos;
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.javabot.dispatch;
+
+import com.example.javabot.config.TelegramBotConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Защита от повторной доставки обновлений. update_id растут, поэтому хватает
+ * скользящего окна из последних N идентификаторов: кольцо битов над самым
+ * большим полученным id. Все, что старше окна, считается уже обработанным.
+ * Если после недели без обновлений Telegram начинает нумерацию заново со случайного
+ * значения, скачок назад больше {@link #RESET_DISTANCE} сбрасывает окно.
+ * <p>
+ * В режиме long polling update_id, до которого все принятые обновления обработаны,
+ * раз в секунду и при остановке сохраняется в файл (запись во временный файл
+ * и переименование). После перезапуска опрос продолжается с него: обработанный
+ * хвост не повторяется, а принятые, но не обработанные обновления приходят снова.
+ * Необработанные обновления отмечены во втором кольце над тем же окном; обновление,
+ * которое выпало из окна, не дождавшись обработки, больше не держит offset.
+ * Файл старше недели не используется - нумерация к этому времени уже сброшена.
+ */
+@Slf4j
+@Component
+public class UpdateDeduplicator {
+
+    private static final int DEFAULT_WINDOW = 4096;
+    private static final long FLUSH_INTERVAL_MILLIS = 1_000;
+
+    /**
+     * Скачок update_id назад, который считается новой нумерацией, а не запоздавшим повтором
+     */
+    public static final int RESET_DISTANCE = 1_000_000;
+
+    /**
+     * Через неделю без обновлений Telegram выбирает следующий update_id случайно
+     */
+    private static final Duration OFFSET_LIFETIME = Duration.ofDays(7);
+
+    private final long[] seen;
+    /**
+     * Принятые, но еще не обработанные обновления
+     */
+    private final long[] pending;
+    private final int mask;
+    private final Path offsetFile;
+    private final ScheduledExecutorService flusher;
+    private final Object flushLock = new Object();
+    private int highest;
+    /**
+     * update_id, до которого включительно все принятые обновления обработаны
+     */
+    private int processed;
+    private int flushed;
+
+    public UpdateDeduplicator(TelegramBotConfig config) {
+        int window = config.getUpdateDedupWindow() > 0 ? config.getUpdateDedupWindow() : DEFAULT_WINDOW;
+        int bits = Math.max(64, Integer.highestOneBit(window - 1) << 1);
+        this.seen = new long[bits / 64];
+        this.pending = new long[bits / 64];
+        this.mask = bits - 1;
+        String file = config.getUpdateOffsetFile();
+        // В режиме webhook Telegram сам хранит неподтвержденные обновления, offset не нужен
+        this.offsetFile = file == null || file.isBlank() || !config.isLongPolling() ? null : Path.of(file);
+
+        this.highest = readOffset();
+        this.processed = highest;
+        this.flushed = highest;
+        if (highest > 0) {
+            // Все, что было до сохраненного offset, уже обработано
+            Arrays.fill(seen, -1L);
+        }
+        if (offsetFile == null) {
+            this.flusher = null;
+            return;
+        }
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "update-offset-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Отметка обновления; false, если оно уже встречалось или старше окна.
+     * Принятое обновление считается необработанным до {@link #markProcessed}
+     */
+    public synchronized boolean markNew(int updateId) {
+        if ((long) highest - updateId > RESET_DISTANCE) {
+            log.info("Update ids restarted at {} after {}, resetting the window", updateId, highest);
+            Arrays.fill(seen, 0L);
+            Arrays.fill(pending, 0L);
+            highest = updateId - 1;
+            processed = highest;
+        }
+        if (updateId > highest) {
+            long distance = (long) updateId - highest;
+            if (distance > mask) {
+                Arrays.fill(seen, 0L);
+                Arrays.fill(pending, 0L);
+            } else {
+                for (int id = highest + 1; id < updateId; id++) {
+                    seen[(id & mask) >>> 6] &= ~(1L << id);
+                    pending[(id & mask) >>> 6] &= ~(1L << id);
+                }
+            }
+            highest = updateId;
+            int word = (updateId & mask) >>> 6;
+            seen[word] |= 1L << updateId;
+            pending[word] |= 1L << updateId;
+            // Кольцо помнит только окно: более старые обновления считаются обработанными
+            processed = Math.max(processed, updateId - mask - 1);
+            advanceProcessed();
+            return true;
+        }
+        if (highest - updateId > mask) {
+            return false;
+        }
+        int word = (updateId & mask) >>> 6;
+        long bit = 1L << updateId;
+        if ((seen[word] & bit) != 0) {
+            return false;
+        }
+        seen[word] |= bit;
+        pending[word] |= bit;
+        // Запоздавшее обновление из пропуска, который уже считался обработанным
+        processed = Math.min(processed, updateId - 1);
+        return true;
+    }
+
+    /**
+     * Обновление обработано (или отброшено по квоте) и после перезапуска не нужно
+     */
+    public synchronized void markProcessed(int updateId) {
+        if (highest - updateId <= mask) {
+            pending[(updateId & mask) >>> 6] &= ~(1L << updateId);
+            advanceProcessed();
+        }
+    }
+
+    /**
+     * Снятие отметки, если обновление не удалось принять и Telegram доставит его снова
+     */
+    public synchronized void forget(int updateId) {
+        if (highest - updateId <= mask) {
+            seen[(updateId & mask) >>> 6] &= ~(1L << updateId);
+            pending[(updateId & mask) >>> 6] &= ~(1L << updateId);
+            advanceProcessed();
+        }
+    }
+
+    /**
+     * Самый большой принятый update_id; 0, если обновлений еще не было
+     */
+    public synchronized int lastUpdateId() {
+        return highest;
+    }
+
+    /**
+     * update_id, до которого включительно все принятые обновления обработаны
+     */
+    public synchronized int processedUpdateId() {
+        return processed;
+    }
+
+    /**
+     * Сдвиг обработанного префикса до первого необработанного обновления
+     */
+    private void advanceProcessed() {
+        while (processed < highest) {
+            int next = processed + 1;
+            if ((pending[(next & mask) >>> 6] & (1L << next)) != 0) {
+                return;
+            }
+            processed = next;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+            flush();
+        }
+    }
+
+    void flush() {
+        int offset = processedUpdateId();
+        synchronized (flushLock) {
+            if (offset == flushed) {
+                return;
+            }
+            try {
+                Path temp = offsetFile.resolveSibling(offsetFile.getFileName() + ".tmp");
+                Files.writeString(temp, Integer.toString(offset), StandardCharsets.US_ASCII);
+                Files.move(temp, offsetFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                flushed = offset;
+            } catch (IOException e) {
+                log.warn("Failed to save update offset to {}: {}", offsetFile, e.getMessage());
+            }
+        }
+    }
+
+    private int readOffset() {
+        if (offsetFile == null || !Files.exists(offsetFile)) {
+            return 0;
+        }
+        try {
+            Instant savedAt = Files.getLastModifiedTime(offsetFile).toInstant();
+            if (savedAt.isBefore(Instant.now().minus(OFFSET_LIFETIME))) {
+                log.info("Ignoring update offset saved at {}: Telegram has restarted update ids since", savedAt);
+                return 0;
+            }
+            int offset = Integer.parseInt(Files.readString(offsetFile, StandardCharsets.US_ASCII).trim());
+            log.info("Resuming after update {} from {}", offset, offsetFile);
+            return offset;
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Ignoring unreadable update offset file {}: {}", offsetFile, e.getMessage());
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.javabot.metrics;
+
+import com.example.javabot.command.BotCommand;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Метрики пути "обновление - генерация - отправка". Счетчики и таймеры
+ * регистрируются заранее и хранятся в массивах по ordinal, чтобы на горячем
+ * пути не собирать теги и не искать метр в реестре.
+ */
+@Component
+public class BotMetrics {
+
+    private final Timer[] generateLatency;
+    private final Timer updateLatency;
+    private final Counter unknownCommands;
+    private final Counter throttledRequests;
+    private final Counter duplicateUpdates;
+    private final Timer[] apiLatency;
+    private final Map<String, Counter> apiErrors = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public BotMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+
+        this.generateLatency = new Timer[BotCommand.values().length];
+        for (BotCommand command : BotCommand.values()) {
+            // Генерация занимает доли микросекунды: стандартные корзины гистограммы начинаются с 1 мс
+            generateLatency[command.ordinal()] = Timer.builder("bot.generate.latency")
+                    .description("Time to generate a single value")
+                    .tag("command", command.getCommandCode())
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(100))
+                    .maximumExpectedValue(Duration.ofMillis(100))
+                    .register(meterRegistry);
+        }
+
+        this.updateLatency = Timer.builder("bot.update.latency")
+                .description("Time from receiving an update to the end of its handling, including the chat queue")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.unknownCommands = Counter.builder("bot.commands.unknown")
+                .description("Messages that matched no command")
+                .register(meterRegistry);
+        this.throttledRequests = Counter.builder("bot.requests.throttled")
+                .description("Updates dropped because the chat exceeded its request quota")
+                .register(meterRegistry);
+        this.duplicateUpdates = Counter.builder("bot.updates.duplicates")
+                .description("Redelivered updates that were already accepted")
+                .register(meterRegistry);
+
+        this.apiLatency = new Timer[ApiMethod.values().length];
+        for (ApiMethod method : ApiMethod.values()) {
+            apiLatency[method.ordinal()] = Timer.builder("bot.telegram.api.latency")
+                    .description("Telegram Bot API call latency, failed calls included")
+                    .tag("method", method.name)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+    }
+
+    public void recordGenerate(BotCommand command, long startNanos) {
+        generateLatency[command.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordUpdate(long receivedNanos) {
+        updateLatency.record(System.nanoTime() - receivedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordUnknownCommand() {
+        unknownCommands.increment();
+    }
+
+    public void recordThrottled() {
+        throttledRequests.increment();
+    }
+
+    public void recordDuplicate() {
+        duplicateUpdates.increment();
+    }
+
+    /**
+     * Вызов Telegram API; error = null - успешный вызов
+     */
+    public void recordApiCall(ApiMethod method, long startNanos, Throwable error) {
+        apiLatency[method.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (error != null) {
+            // Ошибки редки: счетчик по коду создается при первой ошибке и затем берется из карты
+            apiErrors.computeIfAbsent(errorCode(error), code -> Counter.builder("bot.telegram.api.errors")
+                    .description("Failed Telegram Bot API calls by error code")
+                    .tag("code", code)
+                    .register(meterRegistry)).increment();
+        }
+    }
+
+    /**
+     * Код ошибки Telegram API; "network", если ответ от Telegram не получен
+     */
+    static String errorCode(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TelegramApiRequestException requestException && requestException.getErrorCode() != null) {
+            return requestException.getErrorCode().toString();
+        }
+        return "network";
+    }
+
+    /**
+     * Методы Telegram API, которые вызывает бот
+     */
+    public enum ApiMethod {
+        SEND_MESSAGE("sendMessage"),
+        SEND_DOCUMENT("sendDocument");
+
+        private final String name;
+
+        ApiMethod(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.javabot.output;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Запись JSON-строк с экранированием без промежуточных объектов
+ */
+final class JsonStrings {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private JsonStrings() {
+    }
+
+    static void write(Writer writer, String value) throws IOException {
+        writer.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            writer.write(value, start, i - start);
+            writeEscaped(writer, c);
+            start = i + 1;
+        }
+        writer.write(value, start, value.length() - start);
+        writer.write('"');
+    }
+
+    static void append(StringBuilder builder, String value) {
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                builder.append(c);
+            } else if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else {
+                builder.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            }
+        }
+        builder.append('"');
+    }
+
+    private static void writeEscaped(Writer writer, char c) throws IOException {
+        switch (c) {
+            case '"' -> writer.write("\\\"");
+            case '\\' -> writer.write("\\\\");
+            case '\n' -> writer.write("\\n");
+            case '\r' -> writer.write("\\r");
+            case '\t' -> writer.write("\\t");
+            default -> {
+                writer.write("\\u00");
+                writer.write(HEX[c >> 4]);
+                writer.write(HEX[c & 0xF]);
+            }
+        }
+    }
+}
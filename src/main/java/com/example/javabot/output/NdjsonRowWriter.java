@@ -0,0 +1,40 @@
+package com.example.javabot.output;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Один JSON-объект на строку, ключи — коды колонок
+ */
+class NdjsonRowWriter implements RowWriter {
+
+    private final Writer writer;
+    private final String[] keys;
+
+    NdjsonRowWriter(Writer writer, String[] columns) {
+        this.writer = writer;
+        this.keys = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            // Ключи экранируются один раз, а не на каждой строке
+            StringBuilder key = new StringBuilder();
+            key.append(i == 0 ? "{" : ",");
+            JsonStrings.append(key, columns[i]);
+            key.append(':');
+            keys[i] = key.toString();
+        }
+    }
+
+    @Override
+    public void writeRow(String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            writer.write(keys[i]);
+            JsonStrings.write(writer, values[i]);
+        }
+        writer.write("}\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.javabot.output;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+@Getter
+@RequiredArgsConstructor
+public enum OutputFormat {
+    TEXT("text", "txt", "text/plain;charset=UTF-8"),
+    CSV("csv", "csv", "text/csv;charset=UTF-8"),
+    NDJSON("ndjson", "ndjson", "application/x-ndjson;charset=UTF-8"),
+    SQL("sql", "sql", "application/sql;charset=UTF-8"),
+    PG_COPY("copy", "sql", "application/sql;charset=UTF-8"),
+    PG_COPY_CSV("copy_csv", "sql", "application/sql;charset=UTF-8");
+
+    private final String code;
+    private final String fileExtension;
+    private final String contentType;
+
+    /**
+     * Открытие построчной записи в выбранном формате
+     */
+    public RowWriter open(Writer writer, String[] columns) throws IOException {
+        return open(writer, columns, SqlOptions.DEFAULT);
+    }
+
+    /**
+     * sqlOptions учитываются только форматами SQL и COPY
+     */
+    public RowWriter open(Writer writer, String[] columns, SqlOptions sqlOptions) throws IOException {
+        return switch (this) {
+            case TEXT -> new TextRowWriter(writer);
+            case CSV -> {
+                CsvRowWriter csv = new CsvRowWriter(writer);
+                csv.writeRow(columns);
+                yield csv;
+            }
+            case NDJSON -> new NdjsonRowWriter(writer, columns);
+            case SQL -> new SqlInsertRowWriter(writer, columns, sqlOptions);
+            case PG_COPY -> new PgCopyRowWriter(writer, columns, sqlOptions, false);
+            case PG_COPY_CSV -> new PgCopyRowWriter(writer, columns, sqlOptions, true);
+        };
+    }
+
+    public static OutputFormat fromCode(String code) {
+        if (code == null) {
+            return null;
+        }
+        String normalized = code.toLowerCase(Locale.ROOT);
+        for (OutputFormat format : values()) {
+            if (format.code.equals(normalized) || format.fileExtension.equals(normalized)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
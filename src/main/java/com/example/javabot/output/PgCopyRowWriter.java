@@ -0,0 +1,64 @@
+package com.example.javabot.output;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Команда PostgreSQL COPY ... FROM STDIN с данными в текстовом формате или CSV
+ * и завершающей строкой "\.". Файл выполняется через psql -f.
+ */
+class PgCopyRowWriter implements RowWriter {
+
+    private final Writer writer;
+    private final RowWriter csv;
+
+    PgCopyRowWriter(Writer writer, String[] columns, SqlOptions options, boolean csvFormat) throws IOException {
+        this.writer = writer;
+        this.csv = csvFormat ? new CsvRowWriter(writer) : null;
+        writer.write("COPY " + options.target(columns) + " FROM STDIN" + (csvFormat ? " WITH (FORMAT csv)" : "") + ";\n");
+    }
+
+    @Override
+    public void writeRow(String... values) throws IOException {
+        if (csv != null) {
+            csv.writeRow(values);
+            return;
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write('\t');
+            }
+            writeText(values[i]);
+        }
+        writer.write('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.write("\\.\n");
+        writer.flush();
+    }
+
+    /**
+     * Экранирование текстового формата COPY: обратная косая черта и управляющие символы
+     */
+    private void writeText(String value) throws IOException {
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String escape = switch (c) {
+                case '\\' -> "\\\\";
+                case '\t' -> "\\t";
+                case '\n' -> "\\n";
+                case '\r' -> "\\r";
+                default -> null;
+            };
+            if (escape != null) {
+                writer.write(value, start, i - start);
+                writer.write(escape);
+                start = i + 1;
+            }
+        }
+        writer.write(value, start, value.length() - start);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.javabot.output;
+
+import java.io.IOException;
+
+/**
+ * Построчная запись сгенерированных значений. Реализации ничего не накапливают:
+ * каждая строка сразу уходит в нижележащий Writer.
+ */
+public interface RowWriter {
+
+    void writeRow(String... values) throws IOException;
+
+    /**
+     * Запись завершающей части формата и сброс буфера
+     */
+    void finish() throws IOException;
+}
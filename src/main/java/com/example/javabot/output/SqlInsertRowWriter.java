@@ -0,0 +1,61 @@
+package com.example.javabot.output;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Многострочные INSERT по batchSize строк; значения - строковые литералы SQL
+ */
+class SqlInsertRowWriter implements RowWriter {
+
+    private final Writer writer;
+    private final String statementStart;
+    private final int batchSize;
+    private int rowsInStatement;
+
+    SqlInsertRowWriter(Writer writer, String[] columns, SqlOptions options) {
+        this.writer = writer;
+        this.statementStart = "INSERT INTO " + options.target(columns) + " VALUES\n";
+        this.batchSize = options.batchSize();
+    }
+
+    @Override
+    public void writeRow(String... values) throws IOException {
+        writer.write(rowsInStatement == 0 ? statementStart : ",\n");
+        writer.write('(');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(", ");
+            }
+            writeLiteral(values[i]);
+        }
+        writer.write(')');
+        if (++rowsInStatement == batchSize) {
+            writer.write(";\n");
+            rowsInStatement = 0;
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (rowsInStatement > 0) {
+            writer.write(";\n");
+            rowsInStatement = 0;
+        }
+        writer.flush();
+    }
+
+    private void writeLiteral(String value) throws IOException {
+        writer.write('\'');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '\'') {
+                writer.write(value, start, i + 1 - start);
+                writer.write('\'');
+                start = i + 1;
+            }
+        }
+        writer.write(value, start, value.length() - start);
+        writer.write('\'');
+    }
+}
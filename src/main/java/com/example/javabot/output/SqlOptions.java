@@ -0,0 +1,48 @@
+package com.example.javabot.output;
+
+/**
+ * Параметры SQL-выгрузки: таблица (можно со схемой: public.clients)
+ * и число строк в одном INSERT
+ */
+public record SqlOptions(String table, int batchSize) {
+
+    public static final int MAX_BATCH_SIZE = 100_000;
+
+    public static final SqlOptions DEFAULT = new SqlOptions("test_data", 1000);
+
+    public SqlOptions {
+        if (table == null || table.isBlank()) {
+            throw new IllegalArgumentException("Table name must not be empty");
+        }
+        if (batchSize < 1 || batchSize > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+    }
+
+    /**
+     * Имя таблицы и колонки в кавычках: "schema"."table" ("c1", "c2").
+     * Кавычки внутри имен удваиваются, поэтому имя не может выйти за пределы идентификатора
+     */
+    String target(String[] columns) {
+        StringBuilder target = new StringBuilder();
+        String[] parts = table.split("\\.", -1);
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                target.append('.');
+            }
+            appendIdentifier(target, parts[i]);
+        }
+        target.append(" (");
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                target.append(", ");
+            }
+            appendIdentifier(target, columns[i]);
+        }
+        return target.append(')').toString();
+    }
+
+    private static void appendIdentifier(StringBuilder target, String identifier) {
+        target.append('"').append(identifier.replace("\"", "\"\"")).append('"');
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.javabot.output;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Одно значение на строку, несколько колонок разделяются табуляцией
+ */
+class TextRowWriter implements RowWriter {
+
+    private final Writer writer;
+
+    TextRowWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void writeRow(String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write('\t');
+            }
+            writer.write(values[i]);
+        }
+        writer.write('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.javabot.random;
+
+/**
+ * Источник со счетчиком вместо состояния: каждое число - хеш SplitMix64 от
+ * (seed, номер значения, номер обращения внутри значения). Перед генерацией
+ * i-го значения поток вызывает {@link #position(long)}, и результат не зависит
+ * от того, какие значения и в каком порядке генерировались до этого.
+ * <p>
+ * Ограниченные диапазоны считаются без отбраковки (смещение пренебрежимо мало
+ * для диапазонов генераторов), поэтому результат не зависит от версии JDK.
+ */
+public final class CounterRandomSource implements RandomSource {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final long seed;
+    private final ThreadLocal<long[]> cursor = ThreadLocal.withInitial(() -> new long[2]);
+
+    public CounterRandomSource(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Переход к значению с номером index в текущем потоке
+     */
+    public void position(long index) {
+        long[] state = cursor.get();
+        state[0] = index;
+        state[1] = 0;
+    }
+
+    @Override
+    public long nextLong() {
+        long[] state = cursor.get();
+        return hash(seed, state[0], state[1]++);
+    }
+
+    @Override
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    @Override
+    public long nextLong(long origin, long bound) {
+        if (origin >= bound) {
+            throw new IllegalArgumentException("bound must be greater than origin");
+        }
+        long range = bound - origin;
+        if (range > 0) {
+            return origin + Math.floorMod(nextLong(), range);
+        }
+        // Диапазон шире Long.MAX_VALUE
+        long value;
+        do {
+            value = nextLong();
+        } while (value < origin || value >= bound);
+        return value;
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Число с номером draw для значения index; одинаково на любой машине
+     */
+    public static long hash(long seed, long index, long draw) {
+        long z = mix64(seed + mix64(index * GOLDEN_GAMMA + GOLDEN_GAMMA));
+        return mix64(z + (draw + 1) * GOLDEN_GAMMA);
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.javabot.random;
+
+import java.util.Locale;
+
+public enum RandomMode {
+    /** ThreadLocalRandom: без разделяемого состояния, режим по умолчанию */
+    THREAD_LOCAL,
+    /** Собственный SplittableRandom в каждом потоке, порожденный от общего seed */
+    SPLITTABLE,
+    /** SecureRandom в каждом потоке */
+    SECURE,
+    /** Один генератор с фиксированным seed: воспроизводимая последовательность в одном потоке */
+    SEEDED;
+
+    public static RandomMode fromProperty(String value) {
+        return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.javabot.random;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Источник случайных чисел для генераторов. Реализации потокобезопасны;
+ * режим выбирается настройкой generator.random.mode.
+ * Сервисы принимают любой RandomGenerator, поэтому в тестах можно подставить
+ * обычный java.util.Random.
+ */
+public interface RandomSource extends RandomGenerator {
+
+    static RandomSource threadLocal() {
+        return ThreadLocalRandomSource.INSTANCE;
+    }
+
+    static RandomSource create(RandomMode mode, long seed) {
+        return switch (mode) {
+            case THREAD_LOCAL -> ThreadLocalRandomSource.INSTANCE;
+            case SPLITTABLE -> new SplittableRandomSource(seed);
+            case SECURE -> new SecureRandomSource();
+            case SEEDED -> new SeededRandomSource(seed);
+        };
+    }
+}
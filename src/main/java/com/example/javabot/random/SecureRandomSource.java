@@ -0,0 +1,36 @@
+package com.example.javabot.random;
+
+import java.security.SecureRandom;
+
+/**
+ * SecureRandom в каждом потоке, чтобы потоки не конкурировали за общий экземпляр
+ */
+final class SecureRandomSource implements RandomSource {
+
+    private final ThreadLocal<SecureRandom> local = ThreadLocal.withInitial(SecureRandom::new);
+
+    @Override
+    public int nextInt() {
+        return local.get().nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return local.get().nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+        return local.get().nextLong();
+    }
+
+    @Override
+    public long nextLong(long origin, long bound) {
+        return local.get().nextLong(origin, bound);
+    }
+
+    @Override
+    public double nextDouble() {
+        return local.get().nextDouble();
+    }
+}
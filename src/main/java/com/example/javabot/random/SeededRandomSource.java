@@ -0,0 +1,41 @@
+package com.example.javabot.random;
+
+import java.util.SplittableRandom;
+
+/**
+ * Одна последовательность с фиксированным seed. Результат детерминирован,
+ * пока генерация идет из одного потока; вызовы сериализуются.
+ */
+final class SeededRandomSource implements RandomSource {
+
+    private final SplittableRandom random;
+
+    SeededRandomSource(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public synchronized int nextInt() {
+        return random.nextInt();
+    }
+
+    @Override
+    public synchronized int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    @Override
+    public synchronized long nextLong() {
+        return random.nextLong();
+    }
+
+    @Override
+    public synchronized long nextLong(long origin, long bound) {
+        return random.nextLong(origin, bound);
+    }
+
+    @Override
+    public synchronized double nextDouble() {
+        return random.nextDouble();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.javabot.random;
+
+import java.util.SplittableRandom;
+
+/**
+ * Каждый поток получает свой SplittableRandom, отщепленный от корневого.
+ * Блокировка берется только при первом обращении потока.
+ */
+final class SplittableRandomSource implements RandomSource {
+
+    private final SplittableRandom root;
+    private final ThreadLocal<SplittableRandom> local;
+
+    SplittableRandomSource(long seed) {
+        this.root = new SplittableRandom(seed);
+        this.local = ThreadLocal.withInitial(this::split);
+    }
+
+    private synchronized SplittableRandom split() {
+        return root.split();
+    }
+
+    @Override
+    public int nextInt() {
+        return local.get().nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return local.get().nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+        return local.get().nextLong();
+    }
+
+    @Override
+    public long nextLong(long origin, long bound) {
+        return local.get().nextLong(origin, bound);
+    }
+
+    @Override
+    public double nextDouble() {
+        return local.get().nextDouble();
+    }
+}
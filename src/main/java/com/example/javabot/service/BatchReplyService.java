@@ -0,0 +1,180 @@
+package com.example.javabot.service;
+
+import com.example.javabot.command.BotCommand;
+import com.example.javabot.command.CommandRequest;
+import com.example.javabot.config.TelegramBotConfig;
+import com.example.javabot.output.OutputFormat;
+import com.example.javabot.unique.UniqueValues;
+import com.example.javabot.unique.UniqueValuesExhaustedException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ответ на запрос нескольких значений. Небольшие пакеты уходят текстом,
+ * средние - файлом из памяти, крупные пишутся потоком во временный файл,
+ * который удаляется после загрузки. Весь результат одной строкой не собирается.
+ * <p>
+ * Файлы собираются в отдельном ограниченном пуле: пакет на миллион строк
+ * генерируется секунды, и воркер обновлений, за которым закреплены чаты, в это
+ * время свободен. Готовый файл уходит через очередь исходящих сообщений.
+ */
+@Slf4j
+@Service
+public class BatchReplyService {
+
+    /**
+     * Лимит длины текстового сообщения Telegram
+     */
+    private static final int MESSAGE_MAX_LENGTH = 4096;
+
+    private static final String LIMIT_MESSAGE = "Количество значений должно быть от 1 до %d";
+    private static final String UNIQUE_LIMIT_MESSAGE = "Уникальных значений этого типа всего %d";
+    private static final String UNIQUE_COMPOSITE_MESSAGE = "Режим без повторов доступен только для отдельных значений";
+    private static final String UNIQUE_EXHAUSTED_MESSAGE = "Не удалось набрать столько уникальных значений, уменьшите количество";
+    private static final String FAILURE_MESSAGE = "Не удалось подготовить файл, попробуйте позже";
+    private static final String BUSY_MESSAGE = "Сейчас готовится много файлов, попробуйте через минуту";
+
+    private final BulkGenerationService bulkGenerationService;
+    private final MessageService messageService;
+    private final TelegramBotConfig config;
+    private final ExecutorService executor;
+
+    public BatchReplyService(BulkGenerationService bulkGenerationService, MessageService messageService,
+                             TelegramBotConfig config) {
+        this.bulkGenerationService = bulkGenerationService;
+        this.messageService = messageService;
+        this.config = config;
+        int threads = Math.max(1, config.getBatchThreads());
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, config.getBatchQueueCapacity())), runnable -> {
+            Thread thread = new Thread(runnable, "batch-worker-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void reply(Long chatId, CommandRequest request) {
+        int count = request.count();
+        if (count < 1 || count > config.getMaxBatchSize()) {
+            messageService.sendMessage(chatId, String.format(LIMIT_MESSAGE, config.getMaxBatchSize()));
+            return;
+        }
+        if (request.unique() && request.command().isComposite()) {
+            messageService.sendMessage(chatId, UNIQUE_COMPOSITE_MESSAGE);
+            return;
+        }
+        if (request.unique() && count > UniqueValues.spaceSize(request.command())) {
+            messageService.sendMessage(chatId, String.format(UNIQUE_LIMIT_MESSAGE,
+                    UniqueValues.spaceSize(request.command())));
+            return;
+        }
+
+        if (request.format() == OutputFormat.TEXT && count <= config.getBatchTextMaxCount()) {
+            // Короткий текстовый ответ дешевле передачи в пул и сохраняет порядок ответов чата
+            generate(chatId, request);
+            return;
+        }
+        try {
+            executor.execute(() -> generate(chatId, request));
+        } catch (RejectedExecutionException e) {
+            log.warn("Batch queue is full, rejecting {} x{} for chat {}", request.command(), count, chatId);
+            messageService.sendMessage(chatId, BUSY_MESSAGE);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void generate(Long chatId, CommandRequest request) {
+        int count = request.count();
+        try {
+            if (request.format() == OutputFormat.TEXT && count <= config.getBatchTextMaxCount()) {
+                replyWithText(chatId, request);
+            } else if (count <= config.getBatchMemoryMaxCount()) {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                write(request, buffer);
+                messageService.sendDocument(chatId, fileName(request), buffer.toByteArray(), caption(request));
+            } else {
+                replyWithTempFile(chatId, request);
+            }
+        } catch (UniqueValuesExhaustedException e) {
+            // Пространство значений исчерпано раньше, чем набралось count уникальных
+            log.warn("Unique generation of {} x{} failed: {}", request.command(), count, e.getMessage());
+            messageService.sendMessage(chatId, UNIQUE_EXHAUSTED_MESSAGE);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to generate {} x{} for chat {}: {}",
+                    request.command(), count, chatId, e.getMessage(), e);
+            messageService.sendMessage(chatId, FAILURE_MESSAGE);
+        }
+    }
+
+    private void replyWithText(Long chatId, CommandRequest request) throws IOException {
+        StringWriter text = new StringWriter();
+        bulkGenerationService.write(request.command(), request.count(), request.format(), request.unique(), text);
+        if (text.getBuffer().length() <= MESSAGE_MAX_LENGTH) {
+            messageService.sendMessage(chatId, text.toString());
+        } else {
+            // Длинные значения (ФИО, email) не помещаются в одно сообщение
+            messageService.sendDocument(chatId, fileName(request),
+                    text.toString().getBytes(StandardCharsets.UTF_8), caption(request));
+        }
+    }
+
+    private void replyWithTempFile(Long chatId, CommandRequest request) throws IOException {
+        String prefix = "batch-" + request.command().getCommandCode() + "-";
+        String suffix = "." + request.format().getFileExtension();
+        String directory = config.getBatchTempDir();
+        Path file = directory == null || directory.isBlank()
+                ? Files.createTempFile(prefix, suffix)
+                : Files.createTempFile(Path.of(directory), prefix, suffix);
+        try {
+            try (OutputStream out = Files.newOutputStream(file)) {
+                write(request, out);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        // Удаление файла после загрузки выполняет MessageService
+        messageService.sendDocument(chatId, fileName(request), file, caption(request));
+    }
+
+    private void write(CommandRequest request, OutputStream out) throws IOException {
+        bulkGenerationService.write(request.command(), request.count(), request.format(), request.unique(), out);
+    }
+
+    private static String fileName(CommandRequest request) {
+        return request.command().getCommandCode() + "-" + request.count() + "." + request.format().getFileExtension();
+    }
+
+    private static String caption(CommandRequest request) {
+        BotCommand command = request.command();
+        String caption = command.getDisplayName() + ": " + request.count() + " шт.";
+        if (!request.unique()) {
+            return caption;
+        }
+        double utilization = UniqueValues.utilization(command, request.count());
+        if (utilization >= UniqueValues.NEAR_CAPACITY_RATIO) {
+            return caption + ", без повторов (занято " + Math.round(utilization * 100) + "% возможных значений)";
+        }
+        return caption + ", без повторов";
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.javabot.service;
+
+import com.example.javabot.command.BotCommand;
+import com.example.javabot.output.OutputFormat;
+import com.example.javabot.output.RowWriter;
+import com.example.javabot.output.SqlOptions;
+import com.example.javabot.random.RandomSource;
+import com.example.javabot.unique.UniqueValues;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+@Service
+@RequiredArgsConstructor
+public class BulkGenerationService {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final CommandHandlerService commandHandlerService;
+
+    /**
+     * Потоковая генерация count значений команды в выходной поток.
+     * Значения не накапливаются: память ограничена буфером записи.
+     */
+    public void write(BotCommand command, long count, OutputFormat format, OutputStream out) throws IOException {
+        write(command, count, format, false, out);
+    }
+
+    public void write(BotCommand command, long count, OutputFormat format, boolean unique,
+                      OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        write(command, count, format, unique, writer);
+    }
+
+    public void write(BotCommand command, long count, OutputFormat format, Writer writer) throws IOException {
+        write(command, count, format, false, writer);
+    }
+
+    /**
+     * При unique = true значения в пакете не повторяются (см. {@link UniqueValues});
+     * если пространство значений меньше count, бросается IllegalArgumentException.
+     * Составные команды (персона) пишутся по колонкам и без unique.
+     */
+    public void write(BotCommand command, long count, OutputFormat format, boolean unique,
+                      Writer writer) throws IOException {
+        if (command.isComposite()) {
+            if (unique) {
+                throw new IllegalArgumentException("Unique mode is not supported for " + command.getCommandCode());
+            }
+            writeRows(command, count, format, writer);
+            return;
+        }
+        Supplier<String> values = unique
+                ? UniqueValues.sequence(command, count, commandHandlerService, RandomSource.threadLocal())
+                : () -> commandHandlerService.handle(command);
+        RowWriter rows = format.open(writer, new String[]{command.getCommandCode()});
+        for (long i = 0; i < count; i++) {
+            rows.writeRow(values.get());
+        }
+        rows.finish();
+    }
+
+    /**
+     * Потоковая генерация таблицы: колонки - значения нескольких команд,
+     * составная команда дает все свои колонки
+     */
+    public void writeTable(List<BotCommand> commands, long count, OutputFormat format, SqlOptions sqlOptions,
+                           OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        writeTable(commands, count, format, sqlOptions, writer);
+    }
+
+    public void writeTable(List<BotCommand> commands, long count, OutputFormat format, SqlOptions sqlOptions,
+                           Writer writer) throws IOException {
+        String[][] parts = new String[commands.size()][];
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = commandHandlerService.columns(commands.get(i));
+        }
+        String[] columns = tableColumns(commands);
+        int width = columns.length;
+
+        RowWriter rows = format.open(writer, columns, sqlOptions);
+        String[] row = new String[width];
+        String[][] partRows = new String[parts.length][];
+        for (int i = 0; i < parts.length; i++) {
+            partRows[i] = new String[parts[i].length];
+        }
+        for (long r = 0; r < count; r++) {
+            for (int i = 0, offset = 0; i < parts.length; offset += parts[i].length, i++) {
+                commandHandlerService.handleRow(commands.get(i), partRows[i]);
+                System.arraycopy(partRows[i], 0, row, offset, partRows[i].length);
+            }
+            rows.writeRow(row);
+        }
+        rows.finish();
+    }
+
+    /**
+     * Заголовок таблицы из нескольких команд; IllegalArgumentException, если имена
+     * колонок повторяются (в том числе колонка команды и та же колонка персоны)
+     */
+    public String[] tableColumns(List<BotCommand> commands) {
+        List<String> columns = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (BotCommand command : commands) {
+            for (String column : commandHandlerService.columns(command)) {
+                if (!seen.add(column)) {
+                    throw new IllegalArgumentException("Duplicate column: " + column);
+                }
+                columns.add(column);
+            }
+        }
+        return columns.toArray(String[]::new);
+    }
+
+    private void writeRows(BotCommand command, long count, OutputFormat format, Writer writer) throws IOException {
+        String[] columns = commandHandlerService.columns(command);
+        RowWriter rows = format.open(writer, columns);
+        String[] row = new String[columns.length];
+        for (long i = 0; i < count; i++) {
+            commandHandlerService.handleRow(command, row);
+            rows.writeRow(row);
+        }
+        rows.finish();
+    }
+}
@@ -1,52 +1,97 @@
 package com.example.javabot.service;
 
-import org.springframework.stereotype.Service;
+import com.example.javabot.date.DateGenerator;
+import com.example.javabot.date.EpochDays;
+import com.example.javabot.random.RandomSource;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.random.RandomGenerator;
 
-@Service
 public class BusinessDataGeneratorService {
 
-    private final Random random = new Random();
+    private static final ThreadLocal<DigitBuffer> DIGIT_BUFFER = ThreadLocal.withInitial(DigitBuffer::new);
+
+    private final RandomGenerator random;
+    private final DateGenerator dates;
+
+    public BusinessDataGeneratorService() {
+        this(RandomSource.threadLocal());
+    }
+
+    public BusinessDataGeneratorService(RandomGenerator random) {
+        this(random, new DateGenerator(random));
+    }
+
+    /**
+     * dates задает дату регистрации, год которой входит в ОГРН
+     */
+    public BusinessDataGeneratorService(RandomGenerator random, DateGenerator dates) {
+        this.random = random;
+        this.dates = dates;
+    }
 
     /**
      * Генерация ИНН юридического лица (10 цифр)
      */
     public String generateJuridicalInn() {
-        List<Integer> digits = generateRandomDigits(9);
-        int checksum = calculateJuridicalInnChecksum(digits);
-        return digitsToString(digits) + checksum;
+        DigitBuffer buffer = DIGIT_BUFFER.get();
+        fillRandomDigits(buffer.digits, 0, 9);
+        buffer.digits[9] = DigitChecksums.juridicalInn(buffer.digits);
+        return buffer.toDigitString(10);
     }
 
     /**
      * Генерация ИНН физического лица (12 цифр)
      */
     public String generateIndividualInn() {
-        List<Integer> digits = generateRandomDigits(10);
-        int checksum1 = calculateIndividualInnChecksum(digits, 11);
-        digits.add(checksum1);
-        int checksum2 = calculateIndividualInnChecksum(digits, 12);
-        return digitsToString(digits) + checksum2;
+        DigitBuffer buffer = DIGIT_BUFFER.get();
+        fillRandomDigits(buffer.digits, 0, 10);
+        buffer.digits[10] = DigitChecksums.individualInn(buffer.digits, 11);
+        buffer.digits[11] = DigitChecksums.individualInn(buffer.digits, 12);
+        return buffer.toDigitString(12);
     }
 
     /**
-     * Генерация ОГРН (13 цифр)
+     * Генерация ОГРН (13 цифр) организации, зарегистрированной с 1 июля 2002 года по сегодня
      */
     public String generateOgrn() {
-        List<Integer> digits = generateRandomDigits(12);
-        int checksum = (int) (digitsToLong(digits) % 11 % 10);
-        return digitsToString(digits) + checksum;
+        return generateOgrn(EpochDays.year(dates.registrationDay()));
     }
 
     /**
-     * Генерация ОГРН ИП (15 цифр)
+     * Генерация ОГРН ИП (15 цифр) с годом регистрации с 2002 по текущий
      */
     public String generateOgrnIp() {
-        List<Integer> digits = generateRandomDigits(14);
-        int checksum = (int) (digitsToLong(digits) % 13 % 10);
-        return digitsToString(digits) + checksum;
+        return generateOgrnIp(EpochDays.year(dates.registrationDay()));
+    }
+
+    /**
+     * ОГРН юридического лица, зарегистрированного в registrationYear: признак 1,
+     * затем две последние цифры года регистрации
+     */
+    public String generateOgrn(int registrationYear) {
+        DigitBuffer buffer = DIGIT_BUFFER.get();
+        int prefix = 100 + registrationYear % 100;
+        buffer.digits[0] = 1;
+        buffer.digits[1] = prefix / 10 % 10;
+        buffer.digits[2] = prefix % 10;
+        long number = prefix * 1_000_000_000L + fillRandomDigits(buffer.digits, 3, 9);
+        buffer.digits[12] = DigitChecksums.ogrn(number);
+        return buffer.toDigitString(13);
+    }
+
+    /**
+     * ОГРН ИП, зарегистрированного в registrationYear: признак 3 и год регистрации
+     */
+    public String generateOgrnIp(int registrationYear) {
+        DigitBuffer buffer = DIGIT_BUFFER.get();
+        int prefix = 300 + registrationYear % 100;
+        buffer.digits[0] = 3;
+        buffer.digits[1] = prefix / 10 % 10;
+        buffer.digits[2] = prefix % 10;
+        long number = prefix * 100_000_000_000L + fillRandomDigits(buffer.digits, 3, 11);
+        buffer.digits[14] = DigitChecksums.ogrnIp(number);
+        return buffer.toDigitString(15);
     }
 
     /**
@@ -54,10 +99,15 @@ public class BusinessDataGeneratorService {
      */
     public String generatePassportNumber() {
         // Серия паспорта (4 цифры)
-        String series = String.format("%04d", 1000 + random.nextInt(9000));
+        int series = 1000 + random.nextInt(9000);
         // Номер паспорта (6 цифр)
-        String number = String.format("%06d", 100000 + random.nextInt(900000));
-        return series + " " + number;
+        int number = 100000 + random.nextInt(900000);
+
+        char[] chars = DIGIT_BUFFER.get().chars;
+        writeNumber(chars, 0, series, 4);
+        chars[4] = ' ';
+        writeNumber(chars, 5, number, 6);
+        return new String(chars, 0, 11);
     }
 
     /**
@@ -65,190 +115,182 @@ public class BusinessDataGeneratorService {
      */
     public String generateSnilsGosKey() {
         // Генерируем 9 цифр для основной части СНИЛС
-        StringBuilder snilsNumber = new StringBuilder();
-        for (int i = 0; i < 9; i++) {
-            snilsNumber.append(random.nextInt(10));
-        }
+        DigitBuffer buffer = DIGIT_BUFFER.get();
+        fillRandomDigits(buffer.digits, 0, 9);
 
-        // Рассчитываем контрольную сумму
-        int checksum = calculateSnilsChecksum(snilsNumber.toString());
-
-        // Форматируем СНИЛС
-        return String.format("%s-%s-%s %02d",
-                snilsNumber.substring(0, 3),
-                snilsNumber.substring(3, 6),
-                snilsNumber.substring(6, 9),
-                checksum
-        );
+        // Рассчитываем контрольную сумму и форматируем СНИЛС
+        return buffer.toSnilsString(DigitChecksums.snils(buffer.digits));
     }
 
     /**
      * Генерация СНИЛС (XXX-XXX-XXX YY)
      */
     public String generateSnils() {
-        List<Integer> digits = generateRandomDigits(9);
+        DigitBuffer buffer = DIGIT_BUFFER.get();
+        fillRandomDigits(buffer.digits, 0, 9);
         int checksum = random.nextInt(90) + 10; // от 10 до 99
-        return String.format("%s-%s-%s %02d",
-                digitsToString(digits.subList(0, 3)),
-                digitsToString(digits.subList(3, 6)),
-                digitsToString(digits.subList(6, 9)),
-                checksum
-        );
+        return buffer.toSnilsString(checksum);
     }
 
     /**
      * Генерация ЕНП ОМС (16 цифр)
      */
     public String generateEnpOms() {
-        List<Integer> digits = generateRandomDigits(15);
-        int checksum = calculateEnpOmsChecksum(digits);
-        return digitsToString(digits) + checksum;
+        DigitBuffer buffer = DIGIT_BUFFER.get();
+        fillRandomDigits(buffer.digits, 0, 15);
+        buffer.digits[15] = DigitChecksums.enpOms(buffer.digits, 15);
+        return buffer.toDigitString(16);
     }
 
     /**
      * Генерация ОКПО юридического лица (8 цифр)
      */
     public String generateOkpo() {
-        List<Integer> digits = generateRandomDigits(7);
-        int checksum = calculateOkpoChecksum(digits, 8);
-        return digitsToString(digits) + checksum;
+        DigitBuffer buffer = DIGIT_BUFFER.get();
+        fillRandomDigits(buffer.digits, 0, 7);
+        buffer.digits[7] = DigitChecksums.okpo(buffer.digits, 8);
+        return buffer.toDigitString(8);
     }
 
     /**
      * Генерация ОКПО ИП (10 цифр)
      */
     public String generateOkpoIp() {
-        List<Integer> digits = generateRandomDigits(9);
-        int checksum = calculateOkpoChecksum(digits, 10);
-        return digitsToString(digits) + checksum;
+        DigitBuffer buffer = DIGIT_BUFFER.get();
+        fillRandomDigits(buffer.digits, 0, 9);
+        buffer.digits[9] = DigitChecksums.okpo(buffer.digits, 10);
+        return buffer.toDigitString(10);
+    }
+
+    /**
+     * Заполнение буфера случайными цифрами; возвращает те же цифры в виде числа
+     */
+    private long fillRandomDigits(int[] digits, int offset, int count) {
+        long number = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = random.nextInt(10);
+            digits[i] = digit;
+            number = number * 10 + digit;
+        }
+        return number;
+    }
+
+    /**
+     * Запись числа value в chars с ведущими нулями до ширины width
+     */
+    private static void writeNumber(char[] chars, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
     }
 
     /**
      * Генерация списка случайных цифр указанной длины
      */
     public List<Integer> generateRandomDigits(int count) {
-        return IntStream.range(0, count)
-                .mapToObj(i -> random.nextInt(10))
-                .collect(Collectors.toList());
+        List<Integer> digits = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            digits.add(random.nextInt(10));
+        }
+        return digits;
     }
 
     /**
      * Преобразование списка цифр в строку
      */
     public String digitsToString(List<Integer> digits) {
-        return digits.stream()
-                .map(String::valueOf)
-                .collect(Collectors.joining());
+        char[] chars = new char[digits.size()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('0' + digits.get(i));
+        }
+        return new String(chars);
     }
 
     /**
      * Преобразование списка цифр в long число
      */
     public long digitsToLong(List<Integer> digits) {
-        return Long.parseLong(digitsToString(digits));
+        long number = 0;
+        for (Integer digit : digits) {
+            number = number * 10 + digit;
+        }
+        return number;
     }
 
     /**
      * Расчет контрольной цифры для ИНН юридического лица
      */
     public int calculateJuridicalInnChecksum(List<Integer> digits) {
-        int[] weights = {2, 4, 10, 3, 5, 9, 4, 6, 8};
-        int sum = IntStream.range(0, 9)
-                .map(i -> digits.get(i) * weights[i])
-                .sum();
-        return (sum % 11) % 10;
+        return DigitChecksums.juridicalInn(toArray(digits));
     }
 
     /**
      * Расчет контрольной цифры для ИНН физического лица
      */
     public int calculateIndividualInnChecksum(List<Integer> digits, int length) {
-        int[] weights = length == 11 ?
-                new int[]{7, 2, 4, 10, 3, 5, 9, 4, 6, 8} :
-                new int[]{3, 7, 2, 4, 10, 3, 5, 9, 4, 6, 8};
-
-        int sum = IntStream.range(0, weights.length)
-                .map(i -> digits.get(i) * weights[i])
-                .sum();
-        return (sum % 11) % 10;
+        return DigitChecksums.individualInn(toArray(digits), length);
     }
 
     /**
      * Расчет контрольной цифры для ЕНП ОМС (алгоритм Луна)
      */
     public int calculateEnpOmsChecksum(List<Integer> digits) {
-        int sum = 0;
-        for (int i = digits.size() - 1; i >= 0; i--) {
-            int digit = digits.get(i);
-            if ((digits.size() - i) % 2 == 0) {
-                digit *= 2;
-                if (digit > 9) {
-                    digit -= 9;
-                }
-            }
-            sum += digit;
-        }
-        return (10 - (sum % 10)) % 10;
+        return DigitChecksums.enpOms(toArray(digits), digits.size());
     }
 
     /**
      * Расчет контрольной цифры для ОКПО
      */
     public int calculateOkpoChecksum(List<Integer> digits, int length) {
-        int sum = 0;
+        return DigitChecksums.okpo(toArray(digits), length);
+    }
 
-        if (length == 8) {
-            // Для 8-значного ОКПО используем веса 1, 2, 3, 4, 5, 6, 7
-            for (int i = 0; i < 7; i++) {
-                sum += digits.get(i) * (i + 1);
-            }
-        } else {
-            // Для 10-значного ОКПО используем веса 1, 2, 3, 4, 5, 6, 7, 8, 9
-            for (int i = 0; i < 9; i++) {
-                sum += digits.get(i) * (i + 1);
-            }
+    /**
+     * Расчет контрольной суммы СНИЛС
+     */
+    public int calculateSnilsChecksum(String snilsNumber) {
+        int[] digits = new int[9];
+        for (int i = 0; i < 9; i++) {
+            digits[i] = Character.getNumericValue(snilsNumber.charAt(i));
         }
+        return DigitChecksums.snils(digits);
+    }
 
-        int remainder = sum % 11;
-
-        // Если остаток равен 10, применяем альтернативный алгоритм
-        if (remainder == 10) {
-            sum = 0;
-            if (length == 8) {
-                // Веса 3, 4, 5, 6, 7, 8, 9
-                for (int i = 0; i < 7; i++) {
-                    sum += digits.get(i) * (i + 3);
-                }
-            } else {
-                // Веса 3, 4, 5, 6, 7, 8, 9, 10, 11
-                for (int i = 0; i < 9; i++) {
-                    sum += digits.get(i) * (i + 3);
-                }
-            }
-            remainder = sum % 11;
-            if (remainder == 10) {
-                remainder = 0;
-            }
+    private static int[] toArray(List<Integer> digits) {
+        int[] array = new int[digits.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = digits.get(i);
         }
-
-        return remainder;
+        return array;
     }
 
     /**
-     * Расчет контрольной суммы СНИЛС
+     * Рабочие буферы потока: цифры реквизита и символы результата.
+     * Размер рассчитан на самый длинный реквизит (ЕНП ОМС, 16 цифр).
      */
-    public int calculateSnilsChecksum(String snilsNumber) {
-        int sum = 0;
-        for (int i = 0; i < 9; i++) {
-            sum += Character.getNumericValue(snilsNumber.charAt(i)) * (9 - i);
+    private static final class DigitBuffer {
+        private final int[] digits = new int[16];
+        private final char[] chars = new char[16];
+
+        private String toDigitString(int length) {
+            for (int i = 0; i < length; i++) {
+                chars[i] = (char) ('0' + digits[i]);
+            }
+            return new String(chars, 0, length);
         }
 
-        if (sum < 100) {
-            return sum;
-        } else if (sum == 100 || sum == 101) {
-            return 0;
-        } else {
-            return sum % 101;
+        private String toSnilsString(int checksum) {
+            int position = 0;
+            for (int i = 0; i < 9; i++) {
+                if (i == 3 || i == 6) {
+                    chars[position++] = '-';
+                }
+                chars[position++] = (char) ('0' + digits[i]);
+            }
+            chars[position++] = ' ';
+            writeNumber(chars, position, checksum, 2);
+            return new String(chars, 0, position + 2);
         }
     }
 }
@@ -2,38 +2,111 @@ package com.example.javabot.service;
 
 import com.example.javabot.command.BotCommand;
 import com.example.javabot.command.CommandHandler;
+import com.example.javabot.metrics.BotMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import lombok.RequiredArgsConstructor;
+
+import java.util.function.Supplier;
 
 @Service
-@RequiredArgsConstructor
 public class CommandHandlerService implements CommandHandler {
 
-    private final BusinessDataGeneratorService businessDataGeneratorService;
-    private final PersonDataGeneratorService personDataGeneratorService;
-    private final GuidUuidGeneratorService guidUuidGeneratorService;
+    /**
+     * Генераторы по ordinal команды: вызов без switch и поиска по карте
+     */
+    private final Supplier<String>[] generators;
+    private final PersonRecordService personRecordService;
+
+    /**
+     * null - замер времени генерации отключен (экземпляры вне контекста Spring)
+     */
+    private final BotMetrics metrics;
+
+    public CommandHandlerService(BusinessDataGeneratorService businessDataGeneratorService,
+                                 PersonDataGeneratorService personDataGeneratorService,
+                                 GuidUuidGeneratorService guidUuidGeneratorService) {
+        this(businessDataGeneratorService, personDataGeneratorService, guidUuidGeneratorService, null);
+    }
+
+    public CommandHandlerService(BusinessDataGeneratorService businessDataGeneratorService,
+                                 PersonDataGeneratorService personDataGeneratorService,
+                                 GuidUuidGeneratorService guidUuidGeneratorService,
+                                 BotMetrics metrics) {
+        this(businessDataGeneratorService, personDataGeneratorService, guidUuidGeneratorService,
+                new PersonRecordService(businessDataGeneratorService, personDataGeneratorService), metrics);
+    }
+
+    @Autowired
+    @SuppressWarnings("unchecked")
+    public CommandHandlerService(BusinessDataGeneratorService businessDataGeneratorService,
+                                 PersonDataGeneratorService personDataGeneratorService,
+                                 GuidUuidGeneratorService guidUuidGeneratorService,
+                                 PersonRecordService personRecordService,
+                                 BotMetrics metrics) {
+        this.metrics = metrics;
+        this.personRecordService = personRecordService;
+        this.generators = new Supplier[BotCommand.values().length];
+        register(BotCommand.INN, businessDataGeneratorService::generateJuridicalInn);
+        register(BotCommand.INN_FL, businessDataGeneratorService::generateIndividualInn);
+        register(BotCommand.OGRN, businessDataGeneratorService::generateOgrn);
+        register(BotCommand.OGRN_IP, businessDataGeneratorService::generateOgrnIp);
+        register(BotCommand.OKPO, businessDataGeneratorService::generateOkpo);
+        register(BotCommand.OKPO_IP, businessDataGeneratorService::generateOkpoIp);
+        register(BotCommand.ENP_OMS, businessDataGeneratorService::generateEnpOms);
+        register(BotCommand.PASSPORT, businessDataGeneratorService::generatePassportNumber);
+        register(BotCommand.SNILS_GOSKEY, businessDataGeneratorService::generateSnilsGosKey);
+        register(BotCommand.SNILS, businessDataGeneratorService::generateSnils);
+        register(BotCommand.FULL_NAME, personDataGeneratorService::generateFullName);
+        register(BotCommand.BIRTH_DATE, personDataGeneratorService::generateBirthDate);
+        register(BotCommand.LOGIN, personDataGeneratorService::generateLogin);
+        register(BotCommand.EMAIL, personDataGeneratorService::generateEmail);
+        register(BotCommand.PHONE, personDataGeneratorService::generatePhoneNumber);
+        register(BotCommand.PERSON_RECORD, () -> personRecordService.generate().toCard());
+        register(BotCommand.GUID, guidUuidGeneratorService::generateGuid);
+        register(BotCommand.GUID_LOWER, guidUuidGeneratorService::generateGuidLower);
+        register(BotCommand.UUID, guidUuidGeneratorService::generateUuid);
+        register(BotCommand.UUID_V7, guidUuidGeneratorService::generateUuidV7);
+
+        for (BotCommand command : BotCommand.values()) {
+            if (generators[command.ordinal()] == null) {
+                throw new IllegalStateException("No generator registered for " + command);
+            }
+        }
+    }
 
     @Override
     public String handle(BotCommand command) {
-        return switch (command) {
-            case INN -> businessDataGeneratorService.generateJuridicalInn();
-            case INN_FL -> businessDataGeneratorService.generateIndividualInn();
-            case OGRN -> businessDataGeneratorService.generateOgrn();
-            case OGRN_IP -> businessDataGeneratorService.generateOgrnIp();
-            case OKPO -> businessDataGeneratorService.generateOkpo();
-            case OKPO_IP -> businessDataGeneratorService.generateOkpoIp();
-            case ENP_OMS -> businessDataGeneratorService.generateEnpOms();
-            case PASSPORT -> businessDataGeneratorService.generatePassportNumber();
-            case SNILS_GOSKEY -> businessDataGeneratorService.generateSnilsGosKey();
-            case SNILS -> businessDataGeneratorService.generateSnils();
-            case FULL_NAME -> personDataGeneratorService.generateFullName();
-            case BIRTH_DATE -> personDataGeneratorService.generateBirthDate();
-            case LOGIN -> personDataGeneratorService.generateLogin();
-            case EMAIL -> personDataGeneratorService.generateEmail();
-            case PHONE -> personDataGeneratorService.generatePhoneNumber();
-            case GUID -> guidUuidGeneratorService.generateGuid();
-            case GUID_LOWER -> guidUuidGeneratorService.generateGuidLower();
-            case UUID -> guidUuidGeneratorService.generateUuid();
-        };
+        if (metrics == null) {
+            return generators[command.ordinal()].get();
+        }
+        long start = System.nanoTime();
+        String value = generators[command.ordinal()].get();
+        metrics.recordGenerate(command, start);
+        return value;
+    }
+
+    @Override
+    public String[] columns(BotCommand command) {
+        return command.isComposite() ? PersonRecord.COLUMNS.clone() : CommandHandler.super.columns(command);
+    }
+
+    /**
+     * Запись персоны раскладывается по колонкам без промежуточной карточки
+     */
+    @Override
+    public void handleRow(BotCommand command, String[] row) {
+        if (!command.isComposite()) {
+            row[0] = handle(command);
+            return;
+        }
+        long start = System.nanoTime();
+        personRecordService.generate().toRow(row);
+        if (metrics != null) {
+            metrics.recordGenerate(command, start);
+        }
+    }
+
+    private void register(BotCommand command, Supplier<String> generator) {
+        generators[command.ordinal()] = generator;
     }
 }
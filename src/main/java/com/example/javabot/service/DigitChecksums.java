@@ -0,0 +1,117 @@
+package com.example.javabot.service;
+
+/**
+ * Контрольные суммы реквизитов, рассчитываемые по массиву цифр без выделения памяти.
+ * Все методы читают только первые значащие элементы массива, поэтому один и тот же
+ * буфер можно переиспользовать для реквизитов разной длины.
+ */
+public final class DigitChecksums {
+
+    private static final int[] JURIDICAL_INN_WEIGHTS = {2, 4, 10, 3, 5, 9, 4, 6, 8};
+    private static final int[] INDIVIDUAL_INN_WEIGHTS_11 = {7, 2, 4, 10, 3, 5, 9, 4, 6, 8};
+    private static final int[] INDIVIDUAL_INN_WEIGHTS_12 = {3, 7, 2, 4, 10, 3, 5, 9, 4, 6, 8};
+
+    private DigitChecksums() {
+    }
+
+    /**
+     * Контрольная цифра ИНН юридического лица по первым 9 цифрам
+     */
+    public static int juridicalInn(int[] digits) {
+        return weightedMod11(digits, JURIDICAL_INN_WEIGHTS);
+    }
+
+    /**
+     * Контрольная цифра ИНН физического лица: length = 11 — по первым 10 цифрам,
+     * length = 12 — по первым 11 цифрам
+     */
+    public static int individualInn(int[] digits, int length) {
+        return weightedMod11(digits, length == 11 ? INDIVIDUAL_INN_WEIGHTS_11 : INDIVIDUAL_INN_WEIGHTS_12);
+    }
+
+    /**
+     * Контрольная цифра ОГРН (13 цифр) по числу из первых 12 цифр
+     */
+    public static int ogrn(long number) {
+        return (int) (number % 11 % 10);
+    }
+
+    /**
+     * Контрольная цифра ОГРН ИП (15 цифр) по числу из первых 14 цифр
+     */
+    public static int ogrnIp(long number) {
+        return (int) (number % 13 % 10);
+    }
+
+    /**
+     * Контрольная цифра ЕНП ОМС (алгоритм Луна) по первым length цифрам
+     */
+    public static int enpOms(int[] digits, int length) {
+        int sum = 0;
+        for (int i = length - 1; i >= 0; i--) {
+            int digit = digits[i];
+            if ((length - i) % 2 == 0) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+        }
+        return (10 - (sum % 10)) % 10;
+    }
+
+    /**
+     * Контрольная цифра ОКПО: length = 8 — юридическое лицо, length = 10 — ИП
+     */
+    public static int okpo(int[] digits, int length) {
+        int count = length - 1;
+        int sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += digits[i] * (i + 1);
+        }
+
+        int remainder = sum % 11;
+
+        // Если остаток равен 10, пересчитываем с весами, сдвинутыми на 2
+        if (remainder == 10) {
+            sum = 0;
+            for (int i = 0; i < count; i++) {
+                sum += digits[i] * (i + 3);
+            }
+            remainder = sum % 11;
+            if (remainder == 10) {
+                remainder = 0;
+            }
+        }
+
+        return remainder;
+    }
+
+    /**
+     * Контрольное число СНИЛС по первым 9 цифрам (0..99)
+     */
+    public static int snils(int[] digits) {
+        int sum = 0;
+        for (int i = 0; i < 9; i++) {
+            sum += digits[i] * (9 - i);
+        }
+
+        if (sum < 100) {
+            return sum;
+        }
+        if (sum == 100 || sum == 101) {
+            return 0;
+        }
+        int remainder = sum % 101;
+        return remainder == 100 ? 0 : remainder;
+    }
+
+    private static int weightedMod11(int[] digits, int[] weights) {
+        int sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += digits[i] * weights[i];
+        }
+        return (sum % 11) % 10;
+    }
+}
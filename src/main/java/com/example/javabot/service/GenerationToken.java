@@ -0,0 +1,73 @@
+package com.example.javabot.service;
+
+import com.example.javabot.command.BotCommand;
+import com.example.javabot.date.EpochDays;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * Параметры воспроизводимой выгрузки: по токену тот же набор значений
+ * получается на любой машине и при любом числе потоков.
+ * Формат: v1:inn:2a:5000000:1000000[:u][:2026-10-17] (seed в hex без знака).
+ * Дата - "сегодня", от которого считаются возраст и даты документов; без нее
+ * токен воспроизводит выгрузку только в тот же день.
+ */
+public record GenerationToken(BotCommand command, long seed, long from, long count, boolean unique, long today) {
+
+    /**
+     * Дата не закреплена: берется текущая
+     */
+    public static final long CURRENT_DAY = Long.MIN_VALUE;
+
+    private static final String VERSION = "v1";
+    private static final String UNIQUE = "u";
+
+    public GenerationToken(BotCommand command, long seed, long from, long count, boolean unique) {
+        this(command, seed, from, count, unique, CURRENT_DAY);
+    }
+
+    public boolean pinnedDay() {
+        return today != CURRENT_DAY;
+    }
+
+    public String encode() {
+        return VERSION + ":" + command.getCommandCode() + ":" + Long.toHexString(seed)
+                + ":" + from + ":" + count + (unique ? ":" + UNIQUE : "")
+                + (pinnedDay() ? ":" + EpochDays.formatIso(today) : "");
+    }
+
+    /**
+     * Разбор токена; IllegalArgumentException, если он некорректен или от другой версии
+     */
+    public static GenerationToken parse(String token) {
+        String[] parts = token.split(":");
+        if (parts.length < 5 || parts.length > 7 || !VERSION.equals(parts[0])) {
+            throw new IllegalArgumentException("Unsupported token: " + token);
+        }
+        BotCommand command = BotCommand.fromCommandCode(parts[1]);
+        if (command == null) {
+            throw new IllegalArgumentException("Unknown command in token: " + parts[1]);
+        }
+        int next = 5;
+        boolean unique = parts.length > next && UNIQUE.equals(parts[next]);
+        if (unique) {
+            next++;
+        }
+        try {
+            long today = parts.length > next ? LocalDate.parse(parts[next++]).toEpochDay() : CURRENT_DAY;
+            if (next != parts.length) {
+                throw new IllegalArgumentException("Unsupported token: " + token);
+            }
+            return new GenerationToken(command, Long.parseUnsignedLong(parts[2], 16),
+                    Long.parseLong(parts[3]), Long.parseLong(parts[4]), unique, today);
+        } catch (NumberFormatException | DateTimeException e) {
+            throw new IllegalArgumentException("Malformed token: " + token, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return encode();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.javabot.service;
+
+import com.example.javabot.config.GeneratorConfig;
+import com.example.javabot.date.AgeBand;
+import com.example.javabot.date.DateGenerator;
+import com.example.javabot.dictionary.DictionaryStore;
+import com.example.javabot.dictionary.NameDictionary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Сборка генераторов поверх заданного источника случайных чисел. Через фабрику
+ * создаются и бины приложения (общий источник generator.random.mode), и генераторы
+ * /api/generate (счетчиковый источник на запрос), поэтому бот и HTTP API
+ * используют одни и те же словари и настройки.
+ */
+@Slf4j
+@Component
+public class GeneratorFactory {
+
+    private final NameDictionary names;
+    private final DictionaryStore dictionaries;
+    private final List<AgeBand> ageBands;
+
+    /**
+     * Встроенные словари и настройки по умолчанию
+     */
+    public GeneratorFactory() {
+        this(NameDictionary.builtin(), DictionaryStore.builtin(), new GeneratorConfig());
+    }
+
+    @Autowired
+    public GeneratorFactory(NameDictionary names, DictionaryStore dictionaries, GeneratorConfig config) {
+        this.names = names;
+        this.dictionaries = dictionaries;
+        String ageRanges = config.getDateAgeRanges();
+        this.ageBands = ageRanges == null || ageRanges.isBlank()
+                ? DateGenerator.DEFAULT_AGE_BANDS
+                : AgeBand.parse(ageRanges);
+        // Запись о человеке всегда содержит паспорт, а он выдается с 14 лет
+        for (AgeBand band : ageBands) {
+            if (band.fromAge() < DateGenerator.PASSPORT_AGE) {
+                throw new IllegalArgumentException("Age range " + band.fromAge() + "-" + band.toAge()
+                        + " starts below passport age " + DateGenerator.PASSPORT_AGE);
+            }
+        }
+        log.info("Generating birth dates for age ranges {}", ageBands);
+    }
+
+    public BusinessDataGeneratorService business(RandomGenerator random) {
+        return new BusinessDataGeneratorService(random, dates(random));
+    }
+
+    public PersonDataGeneratorService person(RandomGenerator random) {
+        return new PersonDataGeneratorService(random, names, dictionaries, dates(random));
+    }
+
+    public GuidUuidGeneratorService guid(RandomGenerator random) {
+        return new GuidUuidGeneratorService(random);
+    }
+
+    public DateGenerator dates(RandomGenerator random) {
+        return dates(random, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Даты относительно clock; для воспроизводимой выгрузки - часы, остановленные на дне токена
+     */
+    public DateGenerator dates(RandomGenerator random, Clock clock) {
+        return new DateGenerator(random, ageBands, clock);
+    }
+
+    public CommandHandlerService commandHandler(RandomGenerator random) {
+        return commandHandler(random, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Обработчик всех команд поверх одного источника и одного генератора дат
+     */
+    public CommandHandlerService commandHandler(RandomGenerator random, Clock clock) {
+        DateGenerator dates = dates(random, clock);
+        return new CommandHandlerService(
+                new BusinessDataGeneratorService(random, dates),
+                new PersonDataGeneratorService(random, names, dictionaries, dates),
+                guid(random));
+    }
+}
@@ -1,22 +1,43 @@
 package com.example.javabot.service;
-import jakarta.annotation.PostConstruct;
-import org.springframework.stereotype.Service;
+import com.example.javabot.random.RandomSource;
 
-import java.util.*;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
 
-@Service
+/**
+ * Генерация UUID по RFC 9562 (бывш. RFC 4122): 128 случайных бит с битами версии
+ * и варианта, перевод в текст через таблицу hex-символов в один char[].
+ */
 public class GuidUuidGeneratorService {
-    private static final Map<String, List<String>> HEX_DATA = new HashMap<>();
-    private final Random random = new Random();
-
-    @PostConstruct
-    public void init() {
-        HEX_DATA.put("guidFirstChars", Arrays.asList("8", "9", "A", "B", "C", "D", "E", "F"));
-        HEX_DATA.put("guidFirstCharsLower", Arrays.asList("8", "9", "a", "b", "c", "d", "e", "f"));
-        HEX_DATA.put("allHexChars", Arrays.asList(
-                "0", "1", "2", "3", "4", "5", "6", "7",
-                "8", "9", "a", "b", "c", "d", "e", "f"
-        ));
+
+    private static final long VERSION_MASK = 0xFFFFFFFFFFFF0FFFL;
+    private static final long VERSION_4 = 0x0000000000004000L;
+    private static final long VERSION_7 = 0x0000000000007000L;
+    private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+    private static final long VARIANT_RFC = 0x8000000000000000L;
+
+    /**
+     * Старший бит первой hex-цифры GUID: формат GUID в проекте начинается с 8-F
+     */
+    private static final long GUID_FIRST_DIGIT_BIT = 0x8000000000000000L;
+
+    private final RandomGenerator random;
+
+    /**
+     * Последняя выданная пара (миллисекунда << 12 | счетчик) для UUIDv7
+     */
+    private final AtomicLong lastV7Timestamp = new AtomicLong();
+
+    public GuidUuidGeneratorService() {
+        this(RandomSource.threadLocal());
+    }
+
+    public GuidUuidGeneratorService(RandomGenerator random) {
+        this.random = random;
     }
 
     /**
@@ -24,14 +45,7 @@ public class GuidUuidGeneratorService {
      * Пример: FAC82352-032B-488D-ACF3-A7D42ABADB8B
      */
     public String generateGuid() {
-        return String.format("%s%s%s%s-%s%s%s%s-%s%s%s%s-%s%s%s%s-%s%s%s%s%s%s%s%s",
-                getRandomHex(true), getRandomHex(true), getRandomHex(true), getRandomHex(true),
-                getRandomHex(true), getRandomHex(true), getRandomHex(true), getRandomHex(true),
-                getRandomHex(false), getRandomHex(false), getRandomHex(false), getRandomHex(false),
-                getRandomHex(false), getRandomHex(false), getRandomHex(false), getRandomHex(false),
-                getRandomHex(false), getRandomHex(false), getRandomHex(false), getRandomHex(false),
-                getRandomHex(false), getRandomHex(false), getRandomHex(false), getRandomHex(false)
-        ).toUpperCase();
+        return format(random.nextLong() | GUID_FIRST_DIGIT_BIT, random.nextLong(), VERSION_4, UuidFormat.UPPER);
     }
 
     /**
@@ -39,16 +53,7 @@ public class GuidUuidGeneratorService {
      * Пример: f928c63e-6246-4e06-b0cb-3bc7b708aed9
      */
     public String generateGuidLower() {
-        return String.format("%s%s%s%s%s%s%s%s-%s%s%s%s-%s%s%s%s-%s%s%s%s-%s%s%s%s%s%s%s%s%s%s%s%s",
-                getRandomHexLower(true), getRandomHexLower(false), getRandomHexLower(false), getRandomHexLower(false),
-                getRandomHexLower(false), getRandomHexLower(false), getRandomHexLower(false), getRandomHexLower(false),
-                getRandomHexLower(false), getRandomHexLower(false), getRandomHexLower(false), getRandomHexLower(false),
-                getRandomHexLower(false), getRandomHexLower(false), getRandomHexLower(false), getRandomHexLower(false),
-                getRandomHexLower(false), getRandomHexLower(false), getRandomHexLower(false), getRandomHexLower(false),
-                getRandomHexLower(false), getRandomHexLower(false), getRandomHexLower(false), getRandomHexLower(false),
-                getRandomHexLower(false), getRandomHexLower(false), getRandomHexLower(false), getRandomHexLower(false),
-                getRandomHexLower(false), getRandomHexLower(false), getRandomHexLower(false), getRandomHexLower(false)
-        );
+        return format(random.nextLong() | GUID_FIRST_DIGIT_BIT, random.nextLong(), VERSION_4, UuidFormat.LOWER);
     }
 
     /**
@@ -56,24 +61,84 @@ public class GuidUuidGeneratorService {
      * Пример: d0e12179d0fa463eb77895a08d9f4ac5
      */
     public String generateUuid() {
-        StringBuilder uuid = new StringBuilder();
-        for (int i = 0; i < 32; i++) {
-            uuid.append(getRandomHex(false));
+        return generateUuidV4(UuidFormat.COMPACT);
+    }
+
+    /**
+     * Случайный UUID версии 4
+     */
+    public String generateUuidV4(UuidFormat format) {
+        return format(random.nextLong(), random.nextLong(), VERSION_4, format);
+    }
+
+    /**
+     * UUID версии 7: 48 бит времени в миллисекундах, затем 12-битный счетчик
+     * и 62 случайных бита. Значения одного экземпляра сервиса строго возрастают,
+     * поэтому при вставке первичных ключей новые строки попадают в конец индекса.
+     */
+    public String generateUuidV7(UuidFormat format) {
+        long timestamp = nextV7Timestamp();
+        long mostSigBits = (timestamp >>> 12) << 16 | (timestamp & 0xFFF);
+        return format(mostSigBits, random.nextLong(), VERSION_7, format);
+    }
+
+    public String generateUuidV7() {
+        return generateUuidV7(UuidFormat.LOWER);
+    }
+
+    /**
+     * Пакет UUID версии 4 или 7
+     */
+    public List<String> generateBatch(int count, boolean timeOrdered, UuidFormat format) {
+        List<String> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(timeOrdered ? generateUuidV7(format) : generateUuidV4(format));
         }
-        return uuid.toString();
+        return result;
     }
 
-    private String getRandomHex(boolean forGuidStart) {
-        List<String> source = forGuidStart ?
-                HEX_DATA.get("guidFirstChars") :
-                HEX_DATA.get("allHexChars");
-        return source.get(random.nextInt(source.size()));
+    /**
+     * Пакет UUID построчно в writer без создания строк: все значения
+     * пишутся через один буфер символов
+     */
+    public void writeBatch(long count, boolean timeOrdered, UuidFormat format, Writer writer) throws IOException {
+        char[] line = new char[format.length() + 1];
+        line[line.length - 1] = '\n';
+        for (long i = 0; i < count; i++) {
+            long mostSigBits;
+            long version;
+            if (timeOrdered) {
+                long timestamp = nextV7Timestamp();
+                mostSigBits = (timestamp >>> 12) << 16 | (timestamp & 0xFFF);
+                version = VERSION_7;
+            } else {
+                mostSigBits = random.nextLong();
+                version = VERSION_4;
+            }
+            format.write(mostSigBits & VERSION_MASK | version,
+                    random.nextLong() & VARIANT_MASK | VARIANT_RFC, line, 0);
+            writer.write(line);
+        }
+    }
+
+    private static String format(long mostSigBits, long leastSigBits, long version, UuidFormat format) {
+        char[] chars = new char[format.length()];
+        format.write(mostSigBits & VERSION_MASK | version, leastSigBits & VARIANT_MASK | VARIANT_RFC, chars, 0);
+        return new String(chars);
     }
 
-    private String getRandomHexLower(boolean forGuidStart) {
-        List<String> source = forGuidStart ?
-                HEX_DATA.get("guidFirstCharsLower") :
-                HEX_DATA.get("allHexChars");
-        return source.get(random.nextInt(source.size()));
+    /**
+     * Монотонная метка: текущая миллисекунда со счетчиком в младших 12 битах.
+     * Если счетчик переполняется, метка уходит в следующую миллисекунду раньше часов.
+     */
+    private long nextV7Timestamp() {
+        long now = System.currentTimeMillis() << 12;
+        while (true) {
+            long last = lastV7Timestamp.get();
+            long next = Math.max(now, last + 1);
+            if (lastV7Timestamp.compareAndSet(last, next)) {
+                return next;
+            }
+        }
     }
 }
@@ -0,0 +1,16 @@
+package com.example.javabot.service;
+
+import java.util.Locale;
+
+public enum KeyboardLayout {
+    /** Все кнопки на одной клавиатуре по 3 в ряд */
+    GRID,
+    /** Все кнопки на одной клавиатуре по 4 в ряд */
+    COMPACT,
+    /** Главная клавиатура с категориями, у каждой категории своя страница */
+    CATEGORIES;
+
+    public static KeyboardLayout fromProperty(String value) {
+        return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+}
@@ -1,29 +1,75 @@
 package com.example.javabot.service;
 import com.example.javabot.command.BotCommand;
+import com.example.javabot.command.CommandCategory;
+import com.example.javabot.config.TelegramBotConfig;
 import org.springframework.stereotype.Service;
 import org.telegram.telegrambots.meta.api.objects.replykeyboard.ReplyKeyboardMarkup;
 import org.telegram.telegrambots.meta.api.objects.replykeyboard.buttons.KeyboardRow;
 import java.util.ArrayList;
-import java.util.List;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
+/**
+ * Клавиатуры строятся один раз при старте и дальше только переиспользуются.
+ */
 @Service
 public class KeyboardService {
 
+    public static final String BACK_BUTTON = "« Назад";
+
     private static final int BUTTONS_PER_ROW = 3;
+    private static final int COMPACT_BUTTONS_PER_ROW = 4;
+
+    private final ReplyKeyboardMarkup mainKeyboard;
+    private final Map<String, ReplyKeyboardMarkup> pages;
+
+    public KeyboardService(TelegramBotConfig config) {
+        KeyboardLayout layout = KeyboardLayout.fromProperty(config.getKeyboardLayout());
+        Map<String, ReplyKeyboardMarkup> pageMap = new HashMap<>();
+
+        switch (layout) {
+            case GRID -> mainKeyboard = buildKeyboard(commandNames(BotCommand.values()), BUTTONS_PER_ROW);
+            case COMPACT -> mainKeyboard = buildKeyboard(commandNames(BotCommand.values()), COMPACT_BUTTONS_PER_ROW);
+            default -> {
+                List<String> categoryNames = new ArrayList<>();
+                for (CommandCategory category : CommandCategory.values()) {
+                    List<String> buttons = new ArrayList<>(commandNames(commandsOf(category)));
+                    buttons.add(BACK_BUTTON);
+                    pageMap.put(category.getDisplayName(), buildKeyboard(buttons, BUTTONS_PER_ROW));
+                    categoryNames.add(category.getDisplayName());
+                }
+                mainKeyboard = buildKeyboard(categoryNames, 2);
+                pageMap.put(BACK_BUTTON, mainKeyboard);
+            }
+        }
+        this.pages = Collections.unmodifiableMap(pageMap);
+    }
 
     public ReplyKeyboardMarkup createMainKeyboard() {
-        List<KeyboardRow> keyboardRows = new ArrayList<>();
-        List<String> buttonNames = Arrays.stream(BotCommand.values())
-                .map(BotCommand::getDisplayName)
-                .toList();
+        return mainKeyboard;
+    }
+
+    /**
+     * Страница клавиатуры для кнопки навигации (категория или «Назад»), иначе null
+     */
+    public ReplyKeyboardMarkup findPage(String buttonText) {
+        return pages.get(buttonText);
+    }
 
-        for (int i = 0; i < buttonNames.size(); i += BUTTONS_PER_ROW) {
-            KeyboardRow row = new KeyboardRow();
-            buttonNames.stream()
-                    .skip(i)
-                    .limit(BUTTONS_PER_ROW)
-                    .forEach(row::add);
+    private static ReplyKeyboardMarkup buildKeyboard(List<String> buttonNames, int buttonsPerRow) {
+        List<KeyboardRow> keyboardRows = new ArrayList<>();
+        KeyboardRow row = new KeyboardRow();
+        for (String buttonName : buttonNames) {
+            if (row.size() == buttonsPerRow) {
+                keyboardRows.add(row);
+                row = new KeyboardRow();
+            }
+            row.add(buttonName);
+        }
+        if (!row.isEmpty()) {
             keyboardRows.add(row);
         }
 
@@ -33,4 +79,16 @@ public class KeyboardService {
                 .oneTimeKeyboard(false)
                 .build();
     }
+
+    private static BotCommand[] commandsOf(CommandCategory category) {
+        return Arrays.stream(BotCommand.values())
+                .filter(command -> command.getCategory() == category)
+                .toArray(BotCommand[]::new);
+    }
+
+    private static List<String> commandNames(BotCommand[] commands) {
+        return Arrays.stream(commands)
+                .map(BotCommand::getDisplayName)
+                .toList();
+    }
 }
@@ -1,46 +1,191 @@
 package com.example.javabot.service;
 
 import com.example.javabot.config.TelegramBotConfig;
+import com.example.javabot.dispatch.OutboundDispatcher;
+import com.example.javabot.metrics.BotMetrics;
+import com.example.javabot.metrics.BotMetrics.ApiMethod;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.telegram.telegrambots.client.okhttp.OkHttpTelegramClient;
+import org.telegram.telegrambots.meta.api.methods.send.SendDocument;
 import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.objects.InputFile;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.ReplyKeyboardMarkup;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Отправка сообщений и файлов. Клиент Telegram (OkHttp, Jackson) создается
+ * при первой отправке, а не при старте контекста.
+ */
 @Slf4j
 @Service
 public class MessageService {
 
-    private final OkHttpTelegramClient telegramClient;
+    private final Supplier<OkHttpTelegramClient> clientFactory;
+    private volatile OkHttpTelegramClient telegramClient;
     private final KeyboardService keyboardService;
+    private final OutboundDispatcher outboundDispatcher;
+    private final BotMetrics metrics;
 
     public MessageService(TelegramBotConfig config, KeyboardService keyboardService) {
-        this.telegramClient = new OkHttpTelegramClient(config.getToken());
+        this(config, keyboardService, Metrics.globalRegistry, new BotMetrics(Metrics.globalRegistry));
+    }
+
+    @Autowired
+    public MessageService(TelegramBotConfig config, KeyboardService keyboardService,
+                          MeterRegistry meterRegistry, BotMetrics metrics) {
+        this(config, keyboardService, meterRegistry, metrics,
+                () -> new OkHttpTelegramClient(config.getToken(), config.telegramUrl()));
+    }
+
+    /**
+     * clientFactory вызывается один раз, при первой отправке
+     */
+    public MessageService(TelegramBotConfig config, KeyboardService keyboardService, MeterRegistry meterRegistry,
+                          BotMetrics metrics, Supplier<OkHttpTelegramClient> clientFactory) {
+        this.clientFactory = clientFactory;
         this.keyboardService = keyboardService;
+        this.metrics = metrics;
+        this.outboundDispatcher = config.isOutboundQueueEnabled()
+                ? new OutboundDispatcher(config, meterRegistry)
+                : null;
     }
 
     public void sendMessage(Long chatId, String text) {
+        SendMessage message = SendMessage.builder()
+                .chatId(chatId.toString())
+                .text(text)
+                .build();
+        send(chatId, message, "message");
+    }
+
+    public void sendKeyboard(Long chatId) {
+        sendKeyboard(chatId, keyboardService.createMainKeyboard());
+    }
+
+    public void sendKeyboard(Long chatId, ReplyKeyboardMarkup keyboard) {
+        SendMessage message = SendMessage.builder()
+                .chatId(chatId.toString())
+                .text("Выберите значение из списка:")
+                .replyMarkup(keyboard)
+                .build();
+        send(chatId, message, "keyboard");
+    }
+
+    /**
+     * Отправка файла из памяти
+     */
+    public void sendDocument(Long chatId, String fileName, byte[] content, String caption) {
+        sendDocument(chatId, () -> new InputFile(new ByteArrayInputStream(content), fileName), caption, null);
+    }
+
+    /**
+     * Отправка файла с диска; файл удаляется после загрузки или окончательной ошибки
+     */
+    public void sendDocument(Long chatId, String fileName, Path file, String caption) {
+        sendDocument(chatId, () -> new InputFile(file.toFile(), fileName), caption, () -> deleteQuietly(file));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (outboundDispatcher != null) {
+            outboundDispatcher.shutdown();
+        }
+    }
+
+    /**
+     * Документ собирается заново на каждую попытку: поток из памяти читается только один раз
+     */
+    private void sendDocument(Long chatId, Supplier<InputFile> document, String caption, Runnable cleanup) {
+        Supplier<SendDocument> request = () -> SendDocument.builder()
+                .chatId(chatId.toString())
+                .document(document.get())
+                .caption(caption)
+                .build();
+        if (outboundDispatcher != null) {
+            outboundDispatcher.submit(chatId,
+                    () -> observe(ApiMethod.SEND_DOCUMENT, () -> client().executeAsync(request.get())), cleanup);
+            return;
+        }
+        long start = System.nanoTime();
         try {
-            SendMessage message = SendMessage.builder()
-                    .chatId(chatId.toString())
-                    .text(text)
-                    .build();
-            telegramClient.execute(message);
+            client().execute(request.get());
+            metrics.recordApiCall(ApiMethod.SEND_DOCUMENT, start, null);
         } catch (TelegramApiException e) {
-            log.error("Failed to send message to chat {}: {}", chatId, e.getMessage());
+            metrics.recordApiCall(ApiMethod.SEND_DOCUMENT, start, e);
+            log.error("Failed to send document to chat {}: {}", chatId, e.getMessage());
+        } finally {
+            if (cleanup != null) {
+                cleanup.run();
+            }
         }
     }
 
-    public void sendKeyboard(Long chatId) {
+    private OkHttpTelegramClient client() {
+        OkHttpTelegramClient client = telegramClient;
+        if (client == null) {
+            synchronized (this) {
+                client = telegramClient;
+                if (client == null) {
+                    client = clientFactory.get();
+                    telegramClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete temp file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Отправка напрямую или через очередь исходящих сообщений, если она включена
+     */
+    private void send(Long chatId, SendMessage message, String kind) {
+        if (outboundDispatcher != null) {
+            outboundDispatcher.submit(chatId,
+                    () -> observe(ApiMethod.SEND_MESSAGE, () -> client().executeAsync(message)));
+            return;
+        }
+        long start = System.nanoTime();
         try {
-            SendMessage message = SendMessage.builder()
-                    .chatId(chatId.toString())
-                    .text("Выберите значение из списка:")
-                    .replyMarkup(keyboardService.createMainKeyboard())
-                    .build();
-            telegramClient.execute(message);
+            client().execute(message);
+            metrics.recordApiCall(ApiMethod.SEND_MESSAGE, start, null);
         } catch (TelegramApiException e) {
-            log.error("Failed to send keyboard to chat {}: {}", chatId, e.getMessage());
+            metrics.recordApiCall(ApiMethod.SEND_MESSAGE, start, e);
+            log.error("Failed to send {} to chat {}: {}", kind, chatId, e.getMessage());
+        }
+    }
+
+    /**
+     * Замер асинхронного вызова: от отправки запроса до ответа Telegram, с учетом ошибок
+     */
+    private CompletableFuture<?> observe(ApiMethod method, OutboundDispatcher.TelegramCall call)
+            throws TelegramApiException {
+        long start = System.nanoTime();
+        CompletableFuture<?> future;
+        try {
+            future = call.execute();
+        } catch (TelegramApiException | RuntimeException e) {
+            metrics.recordApiCall(method, start, e);
+            throw e;
         }
+        return future.whenComplete((result, error) -> metrics.recordApiCall(method, start, error));
     }
 }
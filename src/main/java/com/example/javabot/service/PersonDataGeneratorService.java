@@ -1,47 +1,50 @@
 package com.example.javabot.service;
-import org.springframework.stereotype.Service;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
+import com.example.javabot.date.DateGenerator;
+import com.example.javabot.dictionary.Dictionary;
+import com.example.javabot.dictionary.DictionaryStore;
+import com.example.javabot.dictionary.NameDictionary;
+import com.example.javabot.random.RandomSource;
+import java.util.random.RandomGenerator;
 
-@Service
 public class PersonDataGeneratorService {
 
-    private final Random random = new Random();
-    private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private final RandomGenerator random;
+    private final NameDictionary names;
+    private final DateGenerator dates;
 
-    private final Map<String, List<String>> dataMap = new HashMap<>();
+    private final Dictionary emailDomains;
+    private final Dictionary loginPrefixes;
 
     public PersonDataGeneratorService() {
-        initializeData();
+        this(RandomSource.threadLocal());
     }
 
-    private void initializeData() {
-        dataMap.put("lastNames", Arrays.asList(
-                "Иванов", "Петров", "Сидоров", "Смирнов", "Кузнецов",
-                "Попов", "Лебедев", "Козлов", "Новиков", "Морозов",
-                "Федоров", "Макаров", "Николаев", "Орлов", "Захаров"
-        ));
+    public PersonDataGeneratorService(RandomGenerator random) {
+        this(random, NameDictionary.builtin());
+    }
 
-        dataMap.put("firstNames", Arrays.asList(
-                "Александр", "Дмитрий", "Михаил", "Сергей", "Андрей",
-                "Алексей", "Артем", "Илья", "Кирилл", "Никита",
-                "Евгений", "Максим", "Владимир", "Константин", "Павел"
-        ));
+    public PersonDataGeneratorService(RandomGenerator random, NameDictionary names) {
+        this(random, names, DictionaryStore.builtin());
+    }
 
-        dataMap.put("middleNames", Arrays.asList(
-                "Иванович", "Петрович", "Сергеевич", "Александрович", "Дмитриевич",
-                "Андреевич", "Михайлович", "Артемович", "Никитич", "Кириллович",
-                "Евгеньевич", "Максимович", "Владимирович", "Константинович", "Павлович"
-        ));
+    public PersonDataGeneratorService(RandomGenerator random, NameDictionary names, DictionaryStore dictionaries) {
+        this(random, names, dictionaries, new DateGenerator(random));
+    }
 
-        dataMap.put("emailDomains", Arrays.asList(
+    /**
+     * Словари доменов и префиксов берутся из хранилища один раз: выбор значения
+     * идет по индексу, без поиска категории по имени
+     */
+    public PersonDataGeneratorService(RandomGenerator random, NameDictionary names, DictionaryStore dictionaries,
+                                      DateGenerator dates) {
+        this.random = random;
+        this.names = names;
+        this.dates = dates;
+        this.emailDomains = dictionaries.category("email-domains", Dictionary.of(
                 "gmail.com", "yahoo.com", "mail.ru", "yandex.ru", "hotmail.com",
                 "outlook.com", "protonmail.com", "icloud.com", "rambler.ru"
         ));
-
-        dataMap.put("loginPrefixes", Arrays.asList(
+        this.loginPrefixes = dictionaries.category("login-prefixes", Dictionary.of(
                 "super", "mega", "cool", "best", "top",
                 "new", "old", "young", "dark", "light",
                 "red", "blue", "green", "white", "black"
@@ -49,29 +52,18 @@ public class PersonDataGeneratorService {
     }
 
     /**
-     * Генерация ФИО в формате "Фамилия Имя Отчество"
+     * Генерация ФИО в формате "Фамилия Имя Отчество", согласованного по полу
      */
     public String generateFullName() {
-        return String.format("%s %s %s",
-                getRandomElement("lastNames"),
-                getRandomElement("firstNames"),
-                getRandomElement("middleNames")
-        );
+        return names.fullName(random);
     }
 
     /**
-     * Генерация даты рождения (от 18 до 100 лет назад)
+     * Генерация даты рождения в формате dd.MM.yyyy (по умолчанию от 18 до 100 лет назад,
+     * диапазоны задаются generator.dates.age-ranges)
      */
     public String generateBirthDate() {
-        LocalDate now = LocalDate.now();
-        LocalDate minDate = now.minusYears(100);
-        LocalDate maxDate = now.minusYears(18);
-
-        long minDay = minDate.toEpochDay();
-        long maxDay = maxDate.toEpochDay();
-        long randomDay = ThreadLocalRandom.current().nextLong(minDay, maxDay);
-
-        return LocalDate.ofEpochDay(randomDay).format(dateFormatter);
+        return dates.birthDate();
     }
 
     /**
@@ -92,26 +84,36 @@ public class PersonDataGeneratorService {
      */
     public String generateEmail() {
         return String.format("%s%d@%s",
-                getRandomElement("loginPrefixes"),
+                loginPrefixes.random(random),
                 1900 + random.nextInt(125),
-                getRandomElement("emailDomains")
+                emailDomains.random(random)
         );
     }
 
     /**
-     * Генерация логина в формате "ФамилияИ"
+     * Случайный почтовый домен
      */
-    public String generateLogin() {
-        String lastName = getRandomElement("lastNames");
-        String firstNameInitial = getRandomElement("firstNames").substring(0, 1);
-        return lastName + firstNameInitial;
+    public String generateEmailDomain() {
+        return emailDomains.random(random);
+    }
+
+    RandomGenerator random() {
+        return random;
+    }
+
+    NameDictionary names() {
+        return names;
+    }
+
+    DateGenerator dates() {
+        return dates;
     }
 
     /**
-     * Получение случайного элемента из указанной категории
+     * Генерация логина в формате "ФамилияИ"
      */
-    private String getRandomElement(String category) {
-        List<String> items = dataMap.get(category);
-        return items.get(random.nextInt(items.size()));
+    public String generateLogin() {
+        boolean female = names.nextFemale(random);
+        return names.lastName(random, female) + names.firstName(random, female).charAt(0);
     }
 }
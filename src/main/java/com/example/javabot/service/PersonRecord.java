@@ -0,0 +1,55 @@
+package com.example.javabot.service;
+
+import com.example.javabot.date.EpochDays;
+
+import java.time.LocalDate;
+
+/**
+ * Согласованные данные одного человека: логин и email получены из ФИО,
+ * серия паспорта - из региона и года выдачи, который следует из даты рождения
+ */
+public record PersonRecord(String lastName, String firstName, String middleName, boolean female,
+                           LocalDate birthDate, String passport, LocalDate passportIssueDate,
+                           String inn, String snils, String phone, String login, String email) {
+
+    /**
+     * Колонки строки в выгрузке, в порядке {@link #toRow(String[])}
+     */
+    public static final String[] COLUMNS = {
+            "last_name", "first_name", "middle_name", "gender", "birth_date", "passport",
+            "passport_issue_date", "inn", "snils", "phone", "login", "email"
+    };
+
+    /**
+     * Заполнение строки выгрузки; массив можно переиспользовать между записями
+     */
+    public void toRow(String[] row) {
+        row[0] = lastName;
+        row[1] = firstName;
+        row[2] = middleName;
+        row[3] = female ? "female" : "male";
+        row[4] = EpochDays.formatRu(birthDate.toEpochDay());
+        row[5] = passport;
+        row[6] = EpochDays.formatRu(passportIssueDate.toEpochDay());
+        row[7] = inn;
+        row[8] = snils;
+        row[9] = phone;
+        row[10] = login;
+        row[11] = email;
+    }
+
+    /**
+     * Карточка для ответа в чат
+     */
+    public String toCard() {
+        return "ФИО: " + lastName + ' ' + firstName + ' ' + middleName
+                + "\nПол: " + (female ? "женский" : "мужской")
+                + "\nДата рождения: " + EpochDays.formatRu(birthDate.toEpochDay())
+                + "\nПаспорт: " + passport + ", выдан " + EpochDays.formatRu(passportIssueDate.toEpochDay())
+                + "\nИНН: " + inn
+                + "\nСНИЛС: " + snils
+                + "\nТелефон: " + phone
+                + "\nЛогин: " + login
+                + "\nE-mail: " + email;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.javabot.service;
+
+import com.example.javabot.date.DateGenerator;
+import com.example.javabot.dictionary.NameDictionary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.random.RandomGenerator;
+
+/**
+ * Генерация человека целиком за один проход. Поля согласованы между собой:
+ * <ul>
+ *     <li>ФИО одного пола, логин и email - транслитерация этого ФИО;</li>
+ *     <li>паспорт выдан в 14, 20 или 45 лет (последний возраст замены, которого
+ *     человек достиг), а для тех, кто достиг его до 1 октября 1997 года, - при
+ *     обмене на паспорт нового образца в 1997-2004 годах;</li>
+ *     <li>серия паспорта - код региона по ОКАТО и две последние цифры года выдачи;</li>
+ *     <li>ИНН и СНИЛС с верными контрольными суммами.</li>
+ * </ul>
+ */
+@Service
+public class PersonRecordService {
+
+    /**
+     * Коды регионов по ОКАТО (первые две цифры серии паспорта)
+     */
+    private static final int[] REGION_CODES = {
+            1, 3, 4, 5, 7, 8, 10, 11, 12, 14, 15, 17, 18, 19, 20, 22, 24, 25, 27, 28, 29, 32, 33, 34,
+            36, 37, 38, 40, 41, 42, 44, 45, 46, 47, 49, 50, 52, 53, 54, 56, 57, 58, 60, 61, 63, 64,
+            65, 66, 68, 69, 70, 71, 73, 75, 76, 77, 78, 79, 80, 81, 82, 83, 84, 85, 86, 87, 88, 89,
+            90, 91, 92, 93, 94, 95, 96, 97, 98, 99
+    };
+
+    private final BusinessDataGeneratorService businessDataGeneratorService;
+    private final PersonDataGeneratorService personDataGeneratorService;
+    private final RandomGenerator random;
+    private final NameDictionary names;
+    private final DateGenerator dates;
+
+    public PersonRecordService(BusinessDataGeneratorService businessDataGeneratorService,
+                               PersonDataGeneratorService personDataGeneratorService) {
+        this.businessDataGeneratorService = businessDataGeneratorService;
+        this.personDataGeneratorService = personDataGeneratorService;
+        this.random = personDataGeneratorService.random();
+        this.names = personDataGeneratorService.names();
+        this.dates = personDataGeneratorService.dates();
+    }
+
+    public PersonRecord generate() {
+        boolean female = names.nextFemale(random);
+        String lastName = names.lastName(random, female);
+        String firstName = names.firstName(random, female);
+        String middleName = names.patronymic(random, female);
+
+        long birthDay = dates.birthDay();
+        LocalDate birthDate = LocalDate.ofEpochDay(birthDay);
+        LocalDate issueDate = LocalDate.ofEpochDay(dates.passportIssueDay(birthDay));
+
+        char[] passport = new char[11];
+        int region = REGION_CODES[random.nextInt(REGION_CODES.length)];
+        writeNumber(passport, 0, region * 100 + issueDate.getYear() % 100, 4);
+        passport[4] = ' ';
+        writeNumber(passport, 5, 100_000 + random.nextInt(900_000), 6);
+
+        String lastLatin = Transliteration.latin(lastName);
+        String firstLatin = Transliteration.latin(firstName);
+        String login = lastLatin + '.' + firstLatin.charAt(0);
+        int yearSuffix = birthDate.getYear() % 100;
+        String email = firstLatin + '.' + lastLatin + (yearSuffix < 10 ? "0" : "") + yearSuffix
+                + '@' + personDataGeneratorService.generateEmailDomain();
+
+        return new PersonRecord(lastName, firstName, middleName, female, birthDate,
+                new String(passport), issueDate,
+                businessDataGeneratorService.generateIndividualInn(),
+                businessDataGeneratorService.generateSnilsGosKey(),
+                personDataGeneratorService.generatePhoneNumber(),
+                login, email);
+    }
+
+    /**
+     * count записей в виде колонок: values[колонка][запись], колонки в порядке
+     * {@link PersonRecord#COLUMNS}
+     */
+    public String[][] generateColumns(int count) {
+        String[][] columns = new String[PersonRecord.COLUMNS.length][count];
+        String[] row = new String[PersonRecord.COLUMNS.length];
+        for (int i = 0; i < count; i++) {
+            generate().toRow(row);
+            for (int column = 0; column < row.length; column++) {
+                columns[column][i] = row[column];
+            }
+        }
+        return columns;
+    }
+
+    private static void writeNumber(char[] chars, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
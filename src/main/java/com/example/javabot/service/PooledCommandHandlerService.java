@@ -0,0 +1,160 @@
+package com.example.javabot.service;
+
+import com.example.javabot.command.BotCommand;
+import com.example.javabot.command.CommandHandler;
+import com.example.javabot.config.GeneratorConfig;
+import com.example.javabot.dispatch.BoundedRing;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Выдача значений из заранее сгенерированных пулов.
+ * <p>
+ * У каждой команды свой кольцевой буфер. Пул заполняется по требованию: когда
+ * после выдачи в нем остается не больше нижней границы, фоновый поток дополняет
+ * его до верхней. Пока пул пуст, значение генерируется синхронно. Границы
+ * задаются общими (generator.pool.low-watermark / high-watermark) и могут быть
+ * переопределены для команды: generator.pool.inn.low-watermark.
+ */
+@Slf4j
+@Service
+public class PooledCommandHandlerService implements CommandHandler {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final CommandHandlerService commandHandlerService;
+    private final Pool[] pools;
+    private final Thread refillThread;
+    private volatile boolean running = true;
+
+    public PooledCommandHandlerService(CommandHandlerService commandHandlerService, GeneratorConfig config,
+                                       Environment environment, MeterRegistry meterRegistry) {
+        this.commandHandlerService = commandHandlerService;
+        if (!config.isPoolEnabled()) {
+            this.pools = null;
+            this.refillThread = null;
+            return;
+        }
+
+        this.pools = new Pool[BotCommand.values().length];
+        for (BotCommand command : BotCommand.values()) {
+            String prefix = "generator.pool." + command.getCommandCode() + ".";
+            int high = environment.getProperty(prefix + "high-watermark", Integer.class, config.getPoolHighWatermark());
+            int low = environment.getProperty(prefix + "low-watermark", Integer.class, config.getPoolLowWatermark());
+            pools[command.ordinal()] = new Pool(command, Math.max(1, high), Math.min(low, high - 1), meterRegistry);
+        }
+
+        this.refillThread = new Thread(this::refillLoop, "value-pool-refill");
+        refillThread.setDaemon(true);
+        refillThread.start();
+    }
+
+    @Override
+    public String handle(BotCommand command) {
+        if (pools == null) {
+            return commandHandlerService.handle(command);
+        }
+        Pool pool = pools[command.ordinal()];
+        String value = pool.ring.poll();
+        if (pool.ring.size() <= pool.lowWatermark && pool.refillRequested.compareAndSet(false, true)) {
+            LockSupport.unpark(refillThread);
+        }
+        if (value != null) {
+            pool.hits.increment();
+            return value;
+        }
+        pool.misses.increment();
+        return commandHandlerService.handle(command);
+    }
+
+    @Override
+    public String[] columns(BotCommand command) {
+        return commandHandlerService.columns(command);
+    }
+
+    @Override
+    public void handleRow(BotCommand command, String[] row) {
+        commandHandlerService.handleRow(command, row);
+    }
+
+    public int poolSize(BotCommand command) {
+        return pools == null ? 0 : pools[command.ordinal()].ring.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (refillThread != null) {
+            refillThread.interrupt();
+        }
+    }
+
+    private void refillLoop() {
+        while (running) {
+            boolean refilled = false;
+            for (Pool pool : pools) {
+                if (pool.refillRequested.getAndSet(false)) {
+                    refill(pool);
+                    refilled = true;
+                }
+            }
+            if (!refilled) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            if (Thread.interrupted() && !running) {
+                return;
+            }
+        }
+    }
+
+    private void refill(Pool pool) {
+        try {
+            while (running && pool.ring.size() < pool.highWatermark) {
+                if (!pool.ring.offer(commandHandlerService.handle(pool.command))) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to refill pool for {}: {}", pool.command, e.getMessage(), e);
+        }
+    }
+
+    private static final class Pool {
+        private final BotCommand command;
+        private final BoundedRing<String> ring;
+        private final int highWatermark;
+        private final int lowWatermark;
+        private final AtomicBoolean refillRequested = new AtomicBoolean();
+        private final Counter hits;
+        private final Counter misses;
+
+        private Pool(BotCommand command, int highWatermark, int lowWatermark, MeterRegistry meterRegistry) {
+            this.command = command;
+            this.ring = new BoundedRing<>(highWatermark);
+            this.highWatermark = highWatermark;
+            this.lowWatermark = lowWatermark;
+            this.hits = requests(meterRegistry, command, "hit");
+            this.misses = requests(meterRegistry, command, "miss");
+            Gauge.builder("bot.pool.size", ring, BoundedRing::size)
+                    .tag("command", command.getCommandCode())
+                    .description("Pre-generated values ready to be served")
+                    .register(meterRegistry);
+        }
+
+        private static Counter requests(MeterRegistry meterRegistry, BotCommand command, String result) {
+            return Counter.builder("bot.pool.requests")
+                    .tag("command", command.getCommandCode())
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+}
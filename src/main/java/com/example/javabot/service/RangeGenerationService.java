@@ -0,0 +1,194 @@
+package com.example.javabot.service;
+
+import com.example.javabot.command.BotCommand;
+import com.example.javabot.command.CommandHandler;
+import com.example.javabot.config.GeneratorConfig;
+import com.example.javabot.output.OutputFormat;
+import com.example.javabot.output.RowWriter;
+import com.example.javabot.output.SqlOptions;
+import com.example.javabot.random.CounterRandomSource;
+import com.example.javabot.unique.UniqueValues;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Детерминированная генерация диапазона значений: i-е значение команды для seed
+ * вычисляется напрямую через {@link CounterRandomSource}, без генерации предыдущих.
+ * Диапазон режется на блоки, которые считаются параллельно и пишутся по порядку,
+ * поэтому результат не зависит от числа потоков. Те же блоки можно раздать
+ * разным узлам по параметру from. UUID v7 содержит время генерации
+ * и поэтому не воспроизводится.
+ */
+@Slf4j
+@Lazy
+@Service
+public class RangeGenerationService {
+
+    private static final int CHUNK_SIZE = 8192;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final GeneratorFactory generatorFactory;
+
+    public RangeGenerationService(GeneratorConfig config) {
+        this(config, new GeneratorFactory());
+    }
+
+    @Autowired
+    public RangeGenerationService(GeneratorConfig config, GeneratorFactory generatorFactory) {
+        this.generatorFactory = generatorFactory;
+        this.parallelism = config.getRangeThreads() > 0
+                ? config.getRangeThreads()
+                : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "range-worker-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Значение с номером index для seed
+     */
+    public String valueAt(BotCommand command, long seed, long index) {
+        Generator generator = new Generator(seed, GenerationToken.CURRENT_DAY, generatorFactory);
+        generator.source.position(index);
+        return generator.handler.handle(command);
+    }
+
+    public void write(GenerationToken token, OutputFormat format, OutputStream out) throws IOException {
+        write(token, format, SqlOptions.DEFAULT, out);
+    }
+
+    public void write(GenerationToken token, OutputFormat format, SqlOptions sqlOptions,
+                      OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        write(token, format, sqlOptions, writer);
+    }
+
+    public void write(GenerationToken token, OutputFormat format, Writer writer) throws IOException {
+        write(token, format, SqlOptions.DEFAULT, writer);
+    }
+
+    public void write(GenerationToken token, OutputFormat format, SqlOptions sqlOptions,
+                      Writer writer) throws IOException {
+        if (token.unique() && token.command().isComposite()) {
+            throw new IllegalArgumentException("Unique mode is not supported for " + token.command().getCommandCode());
+        }
+        Generator generator = new Generator(token.seed(), token.today(), generatorFactory);
+        RowWriter rows = format.open(writer, generator.handler.columns(token.command()), sqlOptions);
+        if (token.unique()) {
+            writeUnique(generator, token, rows);
+        } else {
+            writeParallel(generator, token, rows);
+        }
+        rows.finish();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void writeParallel(Generator generator, GenerationToken token, RowWriter rows) throws IOException {
+        long end = token.from() + token.count();
+        long next = token.from();
+        Deque<Future<String[][]>> inFlight = new ArrayDeque<>();
+        try {
+            while (next < end || !inFlight.isEmpty()) {
+                while (next < end && inFlight.size() < parallelism * 2) {
+                    long chunkFrom = next;
+                    int chunkSize = (int) Math.min(CHUNK_SIZE, end - chunkFrom);
+                    inFlight.add(executor.submit(() -> generator.chunk(token.command(), chunkFrom, chunkSize)));
+                    next += chunkSize;
+                }
+                for (String[] row : inFlight.poll().get()) {
+                    rows.writeRow(row);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating " + token, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to generate " + token, e.getCause());
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Уникальные значения не адресуются по номеру: повторы отбрасываются, поэтому
+     * номер значения в выдаче заранее неизвестен. Генерация идет в одном потоке,
+     * но с теми же номерами счетчика, и потому тоже воспроизводима.
+     */
+    private void writeUnique(Generator generator, GenerationToken token, RowWriter rows) throws IOException {
+        long[] index = {token.from()};
+        CommandHandler positioned = command -> {
+            generator.source.position(index[0]++);
+            return generator.handler.handle(command);
+        };
+        Supplier<String> values = UniqueValues.sequence(token.command(), token.count(), positioned,
+                new SplittableRandom(token.seed()));
+        for (long i = 0; i < token.count(); i++) {
+            rows.writeRow(values.get());
+        }
+    }
+
+    /**
+     * Генераторы бота поверх счетчикового источника; потокобезопасны, так как
+     * позиция счетчика хранится отдельно для каждого потока
+     */
+    private static final class Generator {
+        private final CounterRandomSource source;
+        private final CommandHandlerService handler;
+
+        private Generator(long seed, long today, GeneratorFactory factory) {
+            this.source = new CounterRandomSource(seed);
+            this.handler = factory.commandHandler(source, clock(today));
+        }
+
+        /**
+         * Часы, остановленные на начале дня токена: возраст и даты документов не зависят от дня выгрузки
+         */
+        private static Clock clock(long today) {
+            Clock system = Clock.systemDefaultZone();
+            if (today == GenerationToken.CURRENT_DAY) {
+                return system;
+            }
+            return Clock.fixed(LocalDate.ofEpochDay(today).atStartOfDay(system.getZone()).toInstant(), system.getZone());
+        }
+
+        private String[][] chunk(BotCommand command, long from, int size) {
+            int columns = handler.columns(command).length;
+            String[][] rows = new String[size][columns];
+            for (int i = 0; i < size; i++) {
+                source.position(from + i);
+                handler.handleRow(command, rows[i]);
+            }
+            return rows;
+        }
+    }
+}
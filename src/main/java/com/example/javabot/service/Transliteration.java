@@ -0,0 +1,39 @@
+package com.example.javabot.service;
+
+/**
+ * Транслитерация кириллицы латиницей по правилам для загранпаспортов
+ * (приказ МИД № 4271, ICAO Doc 9303): ж - zh, х - kh, ц - ts, щ - shch, ю - iu, я - ia.
+ * Результат в нижнем регистре; символы вне таблицы, кроме латиницы и цифр, пропускаются.
+ */
+public final class Transliteration {
+
+    private static final String[] LATIN = {
+            "a", "b", "v", "g", "d", "e", "zh", "z", "i", "i", "k", "l", "m", "n", "o", "p",
+            "r", "s", "t", "u", "f", "kh", "ts", "ch", "sh", "shch", "ie", "y", "", "e", "iu", "ia"
+    };
+
+    private Transliteration() {
+    }
+
+    public static String latin(String text) {
+        StringBuilder result = new StringBuilder(text.length() + 4);
+        append(text, result);
+        return result.toString();
+    }
+
+    /**
+     * Транслитерация с дописыванием в result, без промежуточных строк
+     */
+    public static void append(String text, StringBuilder result) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (c >= 'а' && c <= 'я') {
+                result.append(LATIN[c - 'а']);
+            } else if (c == 'ё') {
+                result.append('e');
+            } else if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                result.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.javabot.service;
+
+/**
+ * Текстовое представление UUID: регистр и наличие дефисов
+ */
+public enum UuidFormat {
+    /**
+     * FAC82352-032B-488D-ACF3-A7D42ABADB8B
+     */
+    UPPER(true, true),
+    /**
+     * f928c63e-6246-4e06-b0cb-3bc7b708aed9
+     */
+    LOWER(false, true),
+    /**
+     * d0e12179d0fa463eb77895a08d9f4ac5
+     */
+    COMPACT(false, false);
+
+    private static final char[] HEX_UPPER = "0123456789ABCDEF".toCharArray();
+    private static final char[] HEX_LOWER = "0123456789abcdef".toCharArray();
+
+    private final boolean upperCase;
+    private final boolean dashes;
+
+    UuidFormat(boolean upperCase, boolean dashes) {
+        this.upperCase = upperCase;
+        this.dashes = dashes;
+    }
+
+    public int length() {
+        return dashes ? 36 : 32;
+    }
+
+    /**
+     * Запись 128 бит в chars начиная с offset; возвращает позицию после записи
+     */
+    int write(long mostSigBits, long leastSigBits, char[] chars, int offset) {
+        char[] hex = upperCase ? HEX_UPPER : HEX_LOWER;
+        int position = offset;
+        for (int shift = 60; shift >= 0; shift -= 4) {
+            if (dashes && (shift == 28 || shift == 12)) {
+                chars[position++] = '-';
+            }
+            chars[position++] = hex[(int) (mostSigBits >>> shift) & 0xF];
+        }
+        for (int shift = 60; shift >= 0; shift -= 4) {
+            if (dashes && (shift == 60 || shift == 44)) {
+                chars[position++] = '-';
+            }
+            chars[position++] = hex[(int) (leastSigBits >>> shift) & 0xF];
+        }
+        return position;
+    }
+}
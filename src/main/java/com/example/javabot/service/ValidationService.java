@@ -0,0 +1,189 @@
+package com.example.javabot.service;
+
+import com.example.javabot.config.GeneratorConfig;
+import com.example.javabot.validation.ChecksumValidator;
+import com.example.javabot.validation.ValidationReport;
+import com.example.javabot.validation.ValueType;
+import jakarta.annotation.PreDestroy;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Проверка контрольных сумм реквизитов в больших выгрузках: по одному значению
+ * в строке. Поток читается блоками по границам строк, блоки проверяются
+ * параллельно прямо в байтах, отчеты блоков суммируются.
+ */
+@Lazy
+@Service
+public class ValidationService {
+
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    private final ExecutorService executor;
+    private final int parallelism;
+
+    public ValidationService(GeneratorConfig config) {
+        this.parallelism = config.getValidationThreads() > 0
+                ? config.getValidationThreads()
+                : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "validation-worker-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Проверка потока строк; type = null - тип определяется по длине каждого значения
+     */
+    public ValidationReport validate(InputStream in, ValueType type) throws IOException {
+        ValidationReport report = new ValidationReport();
+        Deque<Future<ValidationReport>> inFlight = new ArrayDeque<>();
+        byte[] buffer = new byte[CHUNK_SIZE];
+        int filled = 0;
+        try {
+            while (true) {
+                int read = in.readNBytes(buffer, filled, buffer.length - filled);
+                filled += read;
+                boolean eof = filled < buffer.length;
+                int end = eof ? filled : lastLineEnd(buffer, filled);
+                if (end < 0) {
+                    // Строка длиннее блока не может быть реквизитом (не больше ~20 символов):
+                    // она считается нераспознанной и пропускается, буфер не растет
+                    report.recordUnrecognized();
+                    filled = skipLine(in, buffer);
+                    continue;
+                }
+
+                byte[] chunk = buffer;
+                int chunkEnd = end;
+                inFlight.add(executor.submit(() -> validateChunk(chunk, 0, chunkEnd, type)));
+
+                // Хвост незаконченной строки переносится в новый буфер
+                byte[] next = new byte[Math.max(CHUNK_SIZE, filled - end)];
+                System.arraycopy(buffer, end, next, 0, filled - end);
+                filled -= end;
+                buffer = next;
+
+                while (inFlight.size() > parallelism * 2 || (eof && !inFlight.isEmpty())) {
+                    report.merge(inFlight.poll().get());
+                }
+                if (eof) {
+                    return report;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while validating", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Validation failed", e.getCause());
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Проверка одного значения; тип null - определяется по количеству цифр.
+     * Возвращает тип и результат или null, если тип определить не удалось.
+     */
+    public ValidationResult validateValue(String value, ValueType type) {
+        byte[] bytes = value.trim().getBytes(StandardCharsets.US_ASCII);
+        int[] digits = new int[ChecksumValidator.MAX_DIGITS];
+        int count = ChecksumValidator.collectDigits(bytes, 0, bytes.length, digits);
+        ValueType resolved = type != null ? type : count > 0 ? ValueType.byLength(count) : null;
+        if (resolved == null) {
+            return null;
+        }
+        return new ValidationResult(resolved, ChecksumValidator.isValid(resolved, digits, count));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Проверка строк блока data[from, to)
+     */
+    private static ValidationReport validateChunk(byte[] data, int from, int to, ValueType type) {
+        ValidationReport report = new ValidationReport();
+        int[] digits = new int[ChecksumValidator.MAX_DIGITS];
+        int lineStart = from;
+        for (int i = from; i <= to; i++) {
+            if (i < to && data[i] != '\n') {
+                continue;
+            }
+            int start = lineStart;
+            int end = i;
+            lineStart = i + 1;
+            while (start < end && isBlank(data[start])) {
+                start++;
+            }
+            while (end > start && isBlank(data[end - 1])) {
+                end--;
+            }
+            if (start == end) {
+                continue;
+            }
+
+            int count = ChecksumValidator.collectDigits(data, start, end, digits);
+            ValueType lineType = type != null ? type : count > 0 ? ValueType.byLength(count) : null;
+            if (count < 0 || lineType == null) {
+                report.recordUnrecognized();
+            } else {
+                report.record(lineType, ChecksumValidator.isValid(lineType, digits, count));
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Пропуск остатка строки до '\n' включительно; байты после него переносятся
+     * в начало buffer, возвращается их количество (0 - конец потока)
+     */
+    private static int skipLine(InputStream in, byte[] buffer) throws IOException {
+        while (true) {
+            int read = in.read(buffer, 0, buffer.length);
+            if (read < 0) {
+                return 0;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] == '\n') {
+                    System.arraycopy(buffer, i + 1, buffer, 0, read - i - 1);
+                    return read - i - 1;
+                }
+            }
+        }
+    }
+
+    private static int lastLineEnd(byte[] buffer, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (buffer[i] == '\n') {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '"' || b == ',' || b == ';';
+    }
+
+    /**
+     * Результат проверки одного значения
+     */
+    public record ValidationResult(ValueType type, boolean valid) {
+    }
+}
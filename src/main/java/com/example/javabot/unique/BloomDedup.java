@@ -0,0 +1,28 @@
+package com.example.javabot.unique;
+
+/**
+ * Отсев повторов одним фильтром Блума, без точного множества. Ложное
+ * срабатывание означает лишь, что новое значение сочтется повтором и будет
+ * сгенерировано заново, а повтор фильтр не пропустит никогда. Для пространств
+ * в 10^9 и больше значений это дешевле хеш-таблицы: около 15 бит на ключ
+ * (10^7 ключей - 18 МБ вместо примерно 268 МБ) и одна лишняя генерация на тысячу.
+ */
+final class BloomDedup implements LongDedup {
+
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+
+    private final BloomFilter filter;
+
+    BloomDedup(long expectedSize) {
+        this.filter = new BloomFilter(expectedSize, FALSE_POSITIVE_RATE);
+    }
+
+    @Override
+    public boolean add(long key) {
+        if (filter.mightContain(key)) {
+            return false;
+        }
+        filter.put(key);
+        return true;
+    }
+}
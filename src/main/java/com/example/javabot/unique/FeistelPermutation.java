@@ -0,0 +1,55 @@
+package com.example.javabot.unique;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Псевдослучайная перестановка диапазона [0, size) на сети Фейстеля.
+ * Сеть переставляет блок из 2k бит; значения за пределами диапазона
+ * снова пропускаются через сеть (cycle walking), пока не попадут в него.
+ * Перестановка биективна, поэтому номера 0, 1, 2, ... дают неповторяющиеся
+ * значения без какой-либо памяти под уже выданные.
+ */
+public final class FeistelPermutation {
+
+    private static final int ROUNDS = 4;
+
+    private final long size;
+    private final int halfBits;
+    private final long halfMask;
+    private final long[] roundKeys = new long[ROUNDS];
+
+    public FeistelPermutation(long size, RandomGenerator random) {
+        if (size < 1 || size > 1L << 62) {
+            throw new IllegalArgumentException("Unsupported permutation size: " + size);
+        }
+        int bits = Math.max(2, 64 - Long.numberOfLeadingZeros(size - 1));
+        this.size = size;
+        this.halfBits = (bits + 1) / 2;
+        this.halfMask = (1L << halfBits) - 1;
+        for (int i = 0; i < ROUNDS; i++) {
+            roundKeys[i] = random.nextLong();
+        }
+    }
+
+    public long apply(long index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("Index out of range: " + index);
+        }
+        long value = index;
+        do {
+            value = encrypt(value);
+        } while (value >= size);
+        return value;
+    }
+
+    private long encrypt(long value) {
+        long left = value >>> halfBits;
+        long right = value & halfMask;
+        for (long key : roundKeys) {
+            long next = left ^ (LongHashSet.mix(right ^ key) & halfMask);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.javabot.unique;
+
+/**
+ * Множество неотрицательных ключей для отсева повторов
+ */
+public interface LongDedup {
+
+    /**
+     * Добавление ключа; false, если ключ уже встречался
+     */
+    boolean add(long key);
+}
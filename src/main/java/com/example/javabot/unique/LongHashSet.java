@@ -0,0 +1,87 @@
+package com.example.javabot.unique;
+
+/**
+ * Множество неотрицательных long на открытой адресации с линейным пробированием,
+ * без упаковки ключей в объекты. Пустая ячейка - 0, поэтому хранится key + 1.
+ */
+public final class LongHashSet implements LongDedup {
+
+    private long[] table;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    public LongHashSet(long expectedSize) {
+        int capacity = tableSizeFor(Math.max(16, expectedSize * 2));
+        allocate(capacity);
+    }
+
+    @Override
+    public boolean add(long key) {
+        if (key < 0 || key == Long.MAX_VALUE) {
+            throw new IllegalArgumentException("Key out of range: " + key);
+        }
+        long stored = key + 1;
+        int index = (int) mix(key) & mask;
+        while (true) {
+            long current = table[index];
+            if (current == 0) {
+                table[index] = stored;
+                if (++size > resizeThreshold) {
+                    rehash();
+                }
+                return true;
+            }
+            if (current == stored) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Объем таблицы в байтах после добавления expectedSize ключей
+     */
+    public static long bytesFor(long expectedSize) {
+        // Таблица растет удвоением, поэтому и сверх начальной емкости ее размер - степень двойки
+        return (Long.highestOneBit(Math.max(16, expectedSize * 2) - 1) << 1) * Long.BYTES;
+    }
+
+    private void rehash() {
+        long[] old = table;
+        allocate(old.length << 1);
+        for (long stored : old) {
+            if (stored != 0) {
+                int index = (int) mix(stored - 1) & mask;
+                while (table[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                table[index] = stored;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.table = new long[capacity];
+        this.mask = capacity - 1;
+        this.resizeThreshold = capacity >> 1;
+    }
+
+    private static int tableSizeFor(long expected) {
+        if (expected >= 1 << 30) {
+            return 1 << 30;
+        }
+        return Integer.highestOneBit((int) expected - 1) << 1;
+    }
+
+    static long mix(long key) {
+        // Финализатор SplitMix64: соседние номера расходятся по всей таблице
+        key = (key ^ (key >>> 30)) * 0xbf58476d1ce4e5b9L;
+        key = (key ^ (key >>> 27)) * 0x94d049bb133111ebL;
+        return key ^ (key >>> 31);
+    }
+}
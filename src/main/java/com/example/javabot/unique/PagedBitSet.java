@@ -0,0 +1,52 @@
+package com.example.javabot.unique;
+
+/**
+ * Битовое множество над диапазоном [0, size) со страницами, которые выделяются
+ * при первом обращении. Полное пространство в 10^9 ключей занимает до 125 МБ,
+ * небольшая выборка - только затронутые страницы по 8 КБ.
+ */
+public final class PagedBitSet implements LongDedup {
+
+    private static final int PAGE_BITS_SHIFT = 16;
+    private static final int PAGE_WORDS = 1 << (PAGE_BITS_SHIFT - 6);
+    private static final long PAGE_BIT_MASK = (1L << PAGE_BITS_SHIFT) - 1;
+
+    private final long size;
+    private final long[][] pages;
+
+    public PagedBitSet(long size) {
+        if (size < 1 || (size - 1) >> PAGE_BITS_SHIFT >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Unsupported bit set size: " + size);
+        }
+        this.size = size;
+        this.pages = new long[(int) ((size - 1) >> PAGE_BITS_SHIFT) + 1][];
+    }
+
+    @Override
+    public boolean add(long key) {
+        if (key < 0 || key >= size) {
+            throw new IllegalArgumentException("Key out of range: " + key);
+        }
+        int pageIndex = (int) (key >>> PAGE_BITS_SHIFT);
+        long[] page = pages[pageIndex];
+        if (page == null) {
+            page = new long[PAGE_WORDS];
+            pages[pageIndex] = page;
+        }
+        int bit = (int) (key & PAGE_BIT_MASK);
+        long mask = 1L << bit;
+        int word = bit >>> 6;
+        if ((page[word] & mask) != 0) {
+            return false;
+        }
+        page[word] |= mask;
+        return true;
+    }
+
+    /**
+     * Объем памяти в байтах, который займет множество при заполнении всего диапазона
+     */
+    public static long maxBytes(long size) {
+        return (((size - 1) >> PAGE_BITS_SHIFT) + 1) * PAGE_WORDS * Long.BYTES;
+    }
+}
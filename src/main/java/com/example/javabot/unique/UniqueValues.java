@@ -0,0 +1,179 @@
+package com.example.javabot.unique;
+
+import com.example.javabot.command.BotCommand;
+import com.example.javabot.command.CommandHandler;
+
+import java.time.Year;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * Генерация пакета без повторов.
+ * <p>
+ * Паспорт выдается по псевдослучайной перестановке всего пространства серий
+ * и номеров, память не нужна. Для реквизитов повторы отсеиваются по цифрам
+ * без контрольных: СНИЛС и ОКПО - битовым множеством над пространством
+ * (или хеш-множеством, если пакет мал относительно пространства), ИНН, ОГРН
+ * и ЕНП - только фильтром Блума: ложное срабатывание стоит одной лишней генерации.
+ * Остальные команды - по строкам. Если повторы идут подряд слишком долго,
+ * бросается {@link UniqueValuesExhaustedException}.
+ */
+public final class UniqueValues {
+
+    /**
+     * Доля пространства значений, начиная с которой стоит предупредить пользователя:
+     * повторы отсеиваются все чаще, и генерация замедляется
+     */
+    public static final double NEAR_CAPACITY_RATIO = 0.5;
+
+    /**
+     * Сколько повторов подряд допускается, прежде чем считать пространство исчерпанным
+     */
+    private static final int MAX_CONSECUTIVE_DUPLICATES = 10_000;
+
+    private static final long PASSPORT_SERIES = 9_000;
+    private static final long PASSPORT_NUMBERS = 900_000;
+    private static final int OGRN_FIRST_YEAR = 2002;
+
+    private UniqueValues() {
+    }
+
+    /**
+     * Количество различных значений команды; Long.MAX_VALUE, если оно не ограничено заранее
+     */
+    public static long spaceSize(BotCommand command) {
+        if (command == BotCommand.PASSPORT) {
+            return PASSPORT_SERIES * PASSPORT_NUMBERS;
+        }
+        int digits = baseDigits(command);
+        if (command == BotCommand.OGRN || command == BotCommand.OGRN_IP) {
+            // Первые три цифры - признак и две цифры года регистрации (с 2002 года по текущий)
+            return pow10(digits - 3) * (Year.now().getValue() - OGRN_FIRST_YEAR + 1);
+        }
+        return digits > 0 ? pow10(digits) : Long.MAX_VALUE;
+    }
+
+    /**
+     * Доля пространства значений, которую займет пакет из count значений
+     */
+    public static double utilization(BotCommand command, long count) {
+        long space = spaceSize(command);
+        return space == Long.MAX_VALUE ? 0 : (double) count / space;
+    }
+
+    /**
+     * Источник count неповторяющихся значений команды
+     */
+    public static Supplier<String> sequence(BotCommand command, long count,
+                                            CommandHandler handler, RandomGenerator random) {
+        long space = spaceSize(command);
+        if (count > space) {
+            throw new IllegalArgumentException(String.format(
+                    "Only %d unique values exist for %s, requested %d", space, command.getCommandCode(), count));
+        }
+        if (command == BotCommand.PASSPORT) {
+            return passports(new FeistelPermutation(space, random));
+        }
+
+        int digits = baseDigits(command);
+        if (digits == 0) {
+            return byValue(command, handler);
+        }
+        LongDedup seen = switch (command) {
+            case SNILS, SNILS_GOSKEY, OKPO, OKPO_IP -> LongHashSet.bytesFor(count) < PagedBitSet.maxBytes(space)
+                    ? new LongHashSet(count)
+                    : new PagedBitSet(space);
+            default -> new BloomDedup(count);
+        };
+        return byKey(command, handler, seen, digits);
+    }
+
+    /**
+     * Количество случайных цифр реквизита (без контрольных); 0, если команда не числовая
+     */
+    private static int baseDigits(BotCommand command) {
+        return switch (command) {
+            case INN, SNILS, SNILS_GOSKEY, OKPO_IP -> 9;
+            case INN_FL -> 10;
+            case OGRN -> 12;
+            case OGRN_IP -> 14;
+            case ENP_OMS -> 15;
+            case OKPO -> 7;
+            default -> 0;
+        };
+    }
+
+    private static Supplier<String> passports(FeistelPermutation permutation) {
+        long[] index = {0};
+        return () -> {
+            long value = permutation.apply(index[0]++);
+            char[] chars = new char[11];
+            writeNumber(chars, 0, 1_000 + value / PASSPORT_NUMBERS, 4);
+            chars[4] = ' ';
+            writeNumber(chars, 5, 100_000 + value % PASSPORT_NUMBERS, 6);
+            return new String(chars);
+        };
+    }
+
+    private static Supplier<String> byKey(BotCommand command, CommandHandler handler, LongDedup seen, int digits) {
+        return () -> {
+            for (int attempt = 0; attempt < MAX_CONSECUTIVE_DUPLICATES; attempt++) {
+                String value = handler.handle(command);
+                if (seen.add(leadingDigits(value, digits))) {
+                    return value;
+                }
+            }
+            throw exhausted(command);
+        };
+    }
+
+    private static Supplier<String> byValue(BotCommand command, CommandHandler handler) {
+        Set<String> seen = new HashSet<>();
+        return () -> {
+            for (int attempt = 0; attempt < MAX_CONSECUTIVE_DUPLICATES; attempt++) {
+                String value = handler.handle(command);
+                if (seen.add(value)) {
+                    return value;
+                }
+            }
+            throw exhausted(command);
+        };
+    }
+
+    /**
+     * Первые digits цифр значения как число; разделители ("-", " ") пропускаются
+     */
+    static long leadingDigits(String value, int digits) {
+        long key = 0;
+        int found = 0;
+        for (int i = 0; i < value.length() && found < digits; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                key = key * 10 + (c - '0');
+                found++;
+            }
+        }
+        return key;
+    }
+
+    private static UniqueValuesExhaustedException exhausted(BotCommand command) {
+        return new UniqueValuesExhaustedException("Unique values of " + command.getCommandCode() + " are exhausted");
+    }
+
+    private static void writeNumber(char[] chars, int offset, long value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static long pow10(int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.javabot.unique;
+
+/**
+ * Пространство значений исчерпано раньше, чем набралось нужное количество уникальных
+ */
+public class UniqueValuesExhaustedException extends IllegalStateException {
+
+    public UniqueValuesExhaustedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.javabot.validation;
+
+import com.example.javabot.service.DigitChecksums;
+
+/**
+ * Проверка контрольных сумм прямо по ASCII-байтам, без создания строк.
+ * Цифры значения собираются в переданный буфер; пробелы и дефисы внутри
+ * значения (СНИЛС "123-456-789 01") пропускаются.
+ */
+public final class ChecksumValidator {
+
+    /**
+     * Размер буфера цифр: самый длинный реквизит - ЕНП ОМС
+     */
+    public static final int MAX_DIGITS = 16;
+
+    private ChecksumValidator() {
+    }
+
+    /**
+     * Сбор цифр из data[from, to); -1, если встретился недопустимый символ
+     * или цифр больше {@link #MAX_DIGITS}
+     */
+    public static int collectDigits(byte[] data, int from, int to, int[] digits) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            int b = data[i];
+            if (b >= '0' && b <= '9') {
+                if (count == MAX_DIGITS) {
+                    return -1;
+                }
+                digits[count++] = b - '0';
+            } else if (b != '-' && b != ' ') {
+                return -1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Проверка контрольных цифр; количество цифр должно совпадать с длиной типа
+     */
+    public static boolean isValid(ValueType type, int[] digits, int count) {
+        if (count != type.getLength()) {
+            return false;
+        }
+        return switch (type) {
+            case INN -> digits[9] == DigitChecksums.juridicalInn(digits);
+            case INN_FL -> digits[10] == DigitChecksums.individualInn(digits, 11)
+                    && digits[11] == DigitChecksums.individualInn(digits, 12);
+            case OGRN -> digits[12] == DigitChecksums.ogrn(toLong(digits, 12));
+            case OGRN_IP -> digits[14] == DigitChecksums.ogrnIp(toLong(digits, 14));
+            case OKPO -> digits[7] == DigitChecksums.okpo(digits, 8);
+            case OKPO_IP -> digits[9] == DigitChecksums.okpo(digits, 10);
+            case SNILS -> digits[9] * 10 + digits[10] == DigitChecksums.snils(digits);
+            case ENP_OMS -> digits[15] == DigitChecksums.enpOms(digits, 15);
+        };
+    }
+
+    private static long toLong(int[] digits, int length) {
+        long number = 0;
+        for (int i = 0; i < length; i++) {
+            number = number * 10 + digits[i];
+        }
+        return number;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.javabot.validation;
+
+/**
+ * Счетчики проверки по типам реквизитов. Не потокобезопасен: каждый блок
+ * считает свой отчет, после чего отчеты объединяются.
+ */
+public final class ValidationReport {
+
+    private final long[] passed = new long[ValueType.values().length];
+    private final long[] failed = new long[ValueType.values().length];
+    private long unrecognized;
+
+    public void record(ValueType type, boolean valid) {
+        if (valid) {
+            passed[type.ordinal()]++;
+        } else {
+            failed[type.ordinal()]++;
+        }
+    }
+
+    /**
+     * Строка, тип которой не удалось определить или в которой есть посторонние символы
+     */
+    public void recordUnrecognized() {
+        unrecognized++;
+    }
+
+    public void merge(ValidationReport other) {
+        for (int i = 0; i < passed.length; i++) {
+            passed[i] += other.passed[i];
+            failed[i] += other.failed[i];
+        }
+        unrecognized += other.unrecognized;
+    }
+
+    public long passed(ValueType type) {
+        return passed[type.ordinal()];
+    }
+
+    public long failed(ValueType type) {
+        return failed[type.ordinal()];
+    }
+
+    public long unrecognized() {
+        return unrecognized;
+    }
+
+    public long total() {
+        long total = unrecognized;
+        for (int i = 0; i < passed.length; i++) {
+            total += passed[i] + failed[i];
+        }
+        return total;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.javabot.validation;
+
+import lombok.Getter;
+
+import java.util.Locale;
+
+/**
+ * Проверяемые реквизиты. Длина - количество цифр без разделителей.
+ */
+@Getter
+public enum ValueType {
+    INN("ИНН ЮЛ", "inn", 10),
+    INN_FL("ИНН ФЛ", "inn_fl", 12),
+    OGRN("ОГРН", "ogrn", 13),
+    OGRN_IP("ОГРН ИП", "ogrn_ip", 15),
+    OKPO("ОКПО", "okpo", 8),
+    OKPO_IP("ОКПО ИП", "okpo_ip", 10),
+    SNILS("СНИЛС", "snils", 11),
+    ENP_OMS("ЕНП ОМС", "enp_oms", 16);
+
+    private final String displayName;
+    private final String code;
+    private final int length;
+
+    ValueType(String displayName, String code, int length) {
+        this.displayName = displayName;
+        this.code = code;
+        this.length = length;
+    }
+
+    /**
+     * Определение типа по количеству цифр. 10 цифр считаются ИНН ЮЛ:
+     * ОКПО ИП той же длины проверяется только при явном указании типа.
+     */
+    public static ValueType byLength(int length) {
+        return switch (length) {
+            case 8 -> OKPO;
+            case 10 -> INN;
+            case 11 -> SNILS;
+            case 12 -> INN_FL;
+            case 13 -> OGRN;
+            case 15 -> OGRN_IP;
+            case 16 -> ENP_OMS;
+            default -> null;
+        };
+    }
+
+    /**
+     * Тип по коду; null для "auto" и пустого значения
+     */
+    public static ValueType fromCode(String code) {
+        if (code == null || code.isBlank() || "auto".equalsIgnoreCase(code)) {
+            return null;
+        }
+        String normalized = code.toLowerCase(Locale.ROOT);
+        for (ValueType type : values()) {
+            if (type.code.equals(normalized)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown value type: " + code);
+    }
+}
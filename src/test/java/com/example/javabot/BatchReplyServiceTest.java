@@ -0,0 +1,139 @@
+package com.example.javabot;
+
+import com.example.javabot.command.BotCommand;
+import com.example.javabot.command.CommandRequest;
+import com.example.javabot.config.TelegramBotConfig;
+import com.example.javabot.output.OutputFormat;
+import com.example.javabot.service.BatchReplyService;
+import com.example.javabot.service.BulkGenerationService;
+import com.example.javabot.service.CommandHandlerService;
+import com.example.javabot.service.MessageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BatchReplyServiceTest {
+
+    private static final Long CHAT_ID = 42L;
+
+    @Mock
+    private CommandHandlerService commandHandlerService;
+
+    @Mock
+    private MessageService messageService;
+
+    @Mock
+    private TelegramBotConfig config;
+
+    @TempDir
+    Path tempDir;
+
+    private BatchReplyService service;
+
+    @BeforeEach
+    void setUp() {
+        when(config.getMaxBatchSize()).thenReturn(1000);
+        when(config.getBatchTextMaxCount()).thenReturn(10);
+        when(config.getBatchMemoryMaxCount()).thenReturn(100);
+        when(config.getBatchThreads()).thenReturn(1);
+        when(config.getBatchQueueCapacity()).thenReturn(4);
+        when(config.getBatchTempDir()).thenReturn(tempDir.toString());
+        when(commandHandlerService.handle(BotCommand.INN)).thenReturn("7707083893");
+        service = new BatchReplyService(new BulkGenerationService(commandHandlerService), messageService, config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void reply_smallTextBatch_shouldSendMessage() {
+        service.reply(CHAT_ID, new CommandRequest(BotCommand.INN, 3, OutputFormat.TEXT));
+
+        verify(messageService).sendMessage(CHAT_ID, "7707083893\n7707083893\n7707083893\n");
+    }
+
+    @Test
+    void reply_mediumBatch_shouldSendDocumentFromMemory() {
+        service.reply(CHAT_ID, new CommandRequest(BotCommand.INN, 50, OutputFormat.CSV));
+
+        ArgumentCaptor<byte[]> content = ArgumentCaptor.forClass(byte[].class);
+        verify(messageService, timeout(5000)).sendDocument(eq(CHAT_ID), eq("inn-50.csv"), content.capture(), anyString());
+        List<String> lines = new String(content.getValue(), StandardCharsets.UTF_8).lines().toList();
+        assertEquals(51, lines.size());
+        assertEquals("inn", lines.get(0));
+    }
+
+    @Test
+    void reply_largeBatch_shouldStreamToTempFile() throws InterruptedException {
+        AtomicReference<Path> uploaded = new AtomicReference<>();
+        AtomicInteger lines = new AtomicInteger();
+        CountDownLatch read = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            Path file = invocation.getArgument(2);
+            lines.set(Files.readAllLines(file).size());
+            uploaded.set(file);
+            read.countDown();
+            return null;
+        }).when(messageService).sendDocument(eq(CHAT_ID), eq("inn-500.txt"), any(Path.class), anyString());
+
+        service.reply(CHAT_ID, new CommandRequest(BotCommand.INN, 500, OutputFormat.TEXT));
+
+        // Вызов регистрируется до выполнения ответа, поэтому ждем, пока файл будет прочитан
+        assertTrue(read.await(5, TimeUnit.SECONDS));
+        assertEquals(500, lines.get());
+        assertEquals(tempDir, uploaded.get().getParent());
+    }
+
+    @Test
+    void reply_fileBatch_shouldGenerateOutsideCallerThread() {
+        AtomicReference<String> generatedOn = new AtomicReference<>();
+        when(commandHandlerService.handle(BotCommand.INN)).thenAnswer(invocation -> {
+            generatedOn.compareAndSet(null, Thread.currentThread().getName());
+            return "7707083893";
+        });
+
+        service.reply(CHAT_ID, new CommandRequest(BotCommand.INN, 50, OutputFormat.CSV));
+
+        verify(messageService, timeout(5000)).sendDocument(eq(CHAT_ID), eq("inn-50.csv"), any(byte[].class), anyString());
+        assertTrue(generatedOn.get().startsWith("batch-worker-"), generatedOn.get());
+    }
+
+    @Test
+    void reply_overLimit_shouldRejectWithoutGenerating() {
+        service.reply(CHAT_ID, new CommandRequest(BotCommand.INN, 1001, OutputFormat.TEXT));
+
+        verify(messageService).sendMessage(eq(CHAT_ID), anyString());
+        verify(commandHandlerService, never()).handle(any());
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.javabot;
+
+import com.example.javabot.command.BotCommand;
+import com.example.javabot.command.CommandRouter;
+import com.example.javabot.config.GeneratorConfig;
+import com.example.javabot.config.TelegramBotConfig;
+import com.example.javabot.dispatch.ChatOrderedExecutor;
+import com.example.javabot.dispatch.ChatRateLimiter;
+import com.example.javabot.dispatch.UpdateDeduplicator;
+import com.example.javabot.metrics.BotMetrics;
+import com.example.javabot.service.BatchReplyService;
+import com.example.javabot.service.BulkGenerationService;
+import com.example.javabot.service.BusinessDataGeneratorService;
+import com.example.javabot.service.CommandHandlerService;
+import com.example.javabot.service.GuidUuidGeneratorService;
+import com.example.javabot.service.KeyboardService;
+import com.example.javabot.service.MessageService;
+import com.example.javabot.service.PersonDataGeneratorService;
+import com.example.javabot.service.PooledCommandHandlerService;
+import com.example.javabot.service.ValidationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.env.MockEnvironment;
+import org.telegram.telegrambots.longpolling.TelegramBotsLongPollingApplication;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Сквозной нагрузочный прогон без сети: бот опрашивает локальную заглушку
+ * Bot API, тысячи чатов нажимают кнопки, каждый следующий раз - после ответа
+ * на предыдущий. Замеряется время от появления обновления в getUpdates до
+ * получения ответа заглушкой. Размер прогона: -Dloadtest.chats, -Dloadtest.presses.
+ */
+@Slf4j
+class BotLoadHarnessTest {
+
+    private static final String TOKEN = "load-test";
+    private static final long FIRST_CHAT_ID = 100_000;
+    private static final int CHATS = Integer.getInteger("loadtest.chats", 2_000);
+    private static final int PRESSES_PER_CHAT = Integer.getInteger("loadtest.presses", 3);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLongArray sentAt = new AtomicLongArray(CHATS);
+    private final AtomicIntegerArray pressed = new AtomicIntegerArray(CHATS);
+    private final long[] latencies = new long[CHATS * PRESSES_PER_CHAT];
+    private final AtomicInteger replies = new AtomicInteger();
+    private final AtomicLong strayReplies = new AtomicLong();
+    private final CountDownLatch done = new CountDownLatch(CHATS * PRESSES_PER_CHAT);
+    private final List<String> buttons = new ArrayList<>();
+
+    private LocalBotApi api;
+    private TestDataTelegramBot bot;
+    private ChatOrderedExecutor executor;
+    private PooledCommandHandlerService pooled;
+    private ValidationService validationService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Arrays.stream(BotCommand.values()).map(BotCommand::getDisplayName).forEach(buttons::add);
+        // Пакетный запрос уходит файлом: проверяется и sendDocument
+        buttons.add("/inn 200 csv");
+
+        api = new LocalBotApi(TOKEN, this::onReply);
+
+        TelegramBotConfig config = new TelegramBotConfig();
+        config.setToken(TOKEN);
+        config.setApiUrl(api.url());
+        config.setKeyboardLayout("grid");
+        config.setUpdateWorkers(4);
+        config.setUpdateQueueCapacity(4096);
+        config.setMaxBatchSize(1000);
+        config.setBatchTextMaxCount(100);
+        config.setBatchMemoryMaxCount(10_000);
+        config.setQuotaEnabled(true);
+        config.setQuotaRate(2.0);
+        config.setQuotaBurst(20);
+
+        GeneratorConfig generatorConfig = new GeneratorConfig();
+        generatorConfig.setPoolEnabled(true);
+        generatorConfig.setPoolHighWatermark(256);
+        generatorConfig.setPoolLowWatermark(64);
+        generatorConfig.setValidationThreads(1);
+
+        BotMetrics metrics = new BotMetrics(meterRegistry);
+        CommandHandlerService commandHandlerService = new CommandHandlerService(new BusinessDataGeneratorService(),
+                new PersonDataGeneratorService(), new GuidUuidGeneratorService(), metrics);
+        pooled = new PooledCommandHandlerService(commandHandlerService, generatorConfig,
+                new MockEnvironment(), meterRegistry);
+        KeyboardService keyboardService = new KeyboardService(config);
+        MessageService messageService = new MessageService(config, keyboardService, meterRegistry, metrics);
+        executor = new ChatOrderedExecutor(config, meterRegistry);
+        validationService = new ValidationService(generatorConfig);
+        UpdateDeduplicator updateDeduplicator = new UpdateDeduplicator(config);
+        UpdateConsumer updateConsumer = new UpdateConsumer(new CommandRouter(), pooled,
+                new BatchReplyService(new BulkGenerationService(commandHandlerService), messageService, config),
+                messageService, keyboardService, executor, validationService, metrics,
+                new ChatRateLimiter(config, meterRegistry), updateDeduplicator);
+
+        // Пустой провайдер: бот создает собственное приложение long polling
+        bot = new TestDataTelegramBot(updateConsumer, config, updateDeduplicator,
+                new DefaultListableBeanFactory().getBeanProvider(TelegramBotsLongPollingApplication.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bot.stop();
+        api.close();
+        executor.shutdown();
+        pooled.shutdown();
+        validationService.shutdown();
+    }
+
+    @Test
+    void buttonPresses_shouldAllBeAnsweredEndToEnd() throws InterruptedException {
+        bot.start();
+        long start = System.nanoTime();
+        for (int chat = 0; chat < CHATS; chat++) {
+            press(chat);
+        }
+        assertTrue(done.await(2, TimeUnit.MINUTES),
+                "Only " + replies.get() + " of " + latencies.length + " replies arrived");
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        log.info("{} chats x {} presses: {} replies/s, latency p50={}ms p99={}ms p999={}ms max={}ms",
+                CHATS, PRESSES_PER_CHAT,
+                Math.round(latencies.length / (elapsed / 1e9)),
+                millis(percentile(0.5)), millis(percentile(0.99)), millis(percentile(0.999)),
+                millis(latencies[latencies.length - 1]));
+
+        assertEquals(0, strayReplies.get());
+        assertEquals(0, meterRegistry.counter("bot.commands.unknown").count());
+        assertEquals(0, meterRegistry.counter("bot.requests.throttled").count());
+        assertEquals(0, meterRegistry.counter("bot.updates.duplicates").count());
+    }
+
+    /**
+     * Ответ заглушки; у чата не больше одного необработанного нажатия,
+     * поэтому ответ однозначно относится к последнему из них
+     */
+    private void onReply(long chatId, String method, long receivedAt) {
+        int chat = (int) (chatId - FIRST_CHAT_ID);
+        long sent = chat >= 0 && chat < CHATS ? sentAt.getAndSet(chat, 0) : 0;
+        if (sent == 0) {
+            strayReplies.incrementAndGet();
+            return;
+        }
+        latencies[replies.getAndIncrement()] = receivedAt - sent;
+        if (pressed.get(chat) < PRESSES_PER_CHAT) {
+            press(chat);
+        }
+        done.countDown();
+    }
+
+    private void press(int chat) {
+        String button = buttons.get((chat + pressed.getAndIncrement(chat)) % buttons.size());
+        sentAt.set(chat, System.nanoTime());
+        api.pushText(FIRST_CHAT_ID + chat, button);
+    }
+
+    private long percentile(double quantile) {
+        int index = (int) Math.ceil(quantile * latencies.length) - 1;
+        return latencies[Math.max(0, Math.min(latencies.length - 1, index))];
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.javabot;
+
+import com.example.javabot.command.BotCommand;
+import com.example.javabot.metrics.BotMetrics;
+import com.example.javabot.metrics.BotMetrics.ApiMethod;
+import com.example.javabot.service.BusinessDataGeneratorService;
+import com.example.javabot.service.CommandHandlerService;
+import com.example.javabot.service.GuidUuidGeneratorService;
+import com.example.javabot.service.PersonDataGeneratorService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.telegram.telegrambots.meta.api.objects.ApiResponse;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BotMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BotMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new BotMetrics(meterRegistry);
+    }
+
+    @Test
+    void handle_shouldRecordLatencyPerCommand() {
+        BusinessDataGeneratorService business = mock(BusinessDataGeneratorService.class);
+        when(business.generateSnils()).thenReturn("112-233-445 95");
+        CommandHandlerService service = new CommandHandlerService(business,
+                mock(PersonDataGeneratorService.class), mock(GuidUuidGeneratorService.class), metrics);
+
+        service.handle(BotCommand.SNILS);
+        service.handle(BotCommand.SNILS);
+        service.handle(BotCommand.INN);
+
+        assertEquals(2, generateCount(BotCommand.SNILS));
+        assertEquals(1, generateCount(BotCommand.INN));
+        assertEquals(0, generateCount(BotCommand.OGRN), "таймеры зарегистрированы для всех команд заранее");
+    }
+
+    @Test
+    void recordApiCall_shouldCountErrorsByCode() {
+        long start = System.nanoTime();
+        metrics.recordApiCall(ApiMethod.SEND_MESSAGE, start, null);
+        metrics.recordApiCall(ApiMethod.SEND_MESSAGE, start, requestException(429));
+        metrics.recordApiCall(ApiMethod.SEND_DOCUMENT, start, new CompletionException(requestException(429)));
+        metrics.recordApiCall(ApiMethod.SEND_DOCUMENT, start, new TelegramApiException("timeout"));
+
+        assertEquals(2, meterRegistry.timer("bot.telegram.api.latency", "method", "sendMessage").count());
+        assertEquals(2, meterRegistry.timer("bot.telegram.api.latency", "method", "sendDocument").count());
+        assertEquals(2.0, meterRegistry.counter("bot.telegram.api.errors", "code", "429").count());
+        assertEquals(1.0, meterRegistry.counter("bot.telegram.api.errors", "code", "network").count());
+        assertNull(meterRegistry.find("bot.telegram.api.errors").tag("code", "400").counter());
+    }
+
+    @Test
+    void recordUnknownCommand_shouldIncrementCounter() {
+        metrics.recordUnknownCommand();
+        metrics.recordUpdate(System.nanoTime());
+
+        assertEquals(1.0, meterRegistry.counter("bot.commands.unknown").count());
+        assertEquals(1, meterRegistry.timer("bot.update.latency").count());
+    }
+
+    private long generateCount(BotCommand command) {
+        return meterRegistry.timer("bot.generate.latency", "command", command.getCommandCode()).count();
+    }
+
+    private static TelegramApiRequestException requestException(int code) {
+        return new TelegramApiRequestException("error", ApiResponse.<Boolean>builder()
+                .ok(false)
+                .errorCode(code)
+                .errorDescription("error " + code)
+                .build());
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.javabot;
+
+import com.example.javabot.command.BotCommand;
+import com.example.javabot.output.OutputFormat;
+import com.example.javabot.output.SqlOptions;
+import com.example.javabot.service.BulkGenerationService;
+import com.example.javabot.service.CommandHandlerService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkGenerationServiceTest {
+
+    @Mock
+    private CommandHandlerService commandHandlerService;
+
+    @InjectMocks
+    private BulkGenerationService service;
+
+    @Test
+    void write_textFormat_shouldWriteOneValuePerLine() throws IOException {
+        when(commandHandlerService.handle(BotCommand.INN)).thenReturn("7707083893", "5001007322");
+
+        StringWriter out = new StringWriter();
+        service.write(BotCommand.INN, 2, OutputFormat.TEXT, out);
+
+        assertEquals("7707083893\n5001007322\n", out.toString());
+        verify(commandHandlerService, times(2)).handle(BotCommand.INN);
+    }
+
+    @Test
+    void write_csvFormat_shouldWriteHeaderAndQuoteFields() throws IOException {
+        when(commandHandlerService.handle(BotCommand.FULL_NAME)).thenReturn("Иванов Илья Петрович", "a,\"b\"");
+
+        StringWriter out = new StringWriter();
+        service.write(BotCommand.FULL_NAME, 2, OutputFormat.CSV, out);
+
+        assertEquals("full_name\r\nИванов Илья Петрович\r\n\"a,\"\"b\"\"\"\r\n", out.toString());
+    }
+
+    @Test
+    void write_ndjsonFormat_shouldEscapeValues() throws IOException {
+        when(commandHandlerService.handle(BotCommand.LOGIN)).thenReturn("ИвановИ", "a\"b\\");
+
+        StringWriter out = new StringWriter();
+        service.write(BotCommand.LOGIN, 2, OutputFormat.NDJSON, out);
+
+        assertEquals("{\"login\":\"ИвановИ\"}\n{\"login\":\"a\\\"b\\\\\"}\n", out.toString());
+    }
+
+    @Test
+    void outputFormat_fromCode_shouldAcceptCodeAndExtension() {
+        assertEquals(OutputFormat.TEXT, OutputFormat.fromCode("txt"));
+        assertEquals(OutputFormat.CSV, OutputFormat.fromCode("CSV"));
+        assertEquals(OutputFormat.NDJSON, OutputFormat.fromCode("ndjson"));
+    }
+
+    @Test
+    void write_sqlFormat_shouldBatchInsertsAndEscapeLiterals() throws IOException {
+        Iterator<String> names = List.of("Иванов", "O'Brien", "Петров").iterator();
+        when(commandHandlerService.columns(BotCommand.FULL_NAME)).thenReturn(new String[]{"full_name"});
+        doAnswer(invocation -> {
+            String[] row = invocation.getArgument(1);
+            row[0] = names.next();
+            return null;
+        }).when(commandHandlerService).handleRow(eq(BotCommand.FULL_NAME), any());
+
+        StringWriter out = new StringWriter();
+        service.writeTable(List.of(BotCommand.FULL_NAME), 3, OutputFormat.SQL,
+                new SqlOptions("public.people", 2), out);
+
+        assertEquals("""
+                INSERT INTO "public"."people" ("full_name") VALUES
+                ('Иванов'),
+                ('O''Brien');
+                INSERT INTO "public"."people" ("full_name") VALUES
+                ('Петров');
+                """, out.toString());
+    }
+
+    @Test
+    void writeTable_copyFormat_shouldJoinColumnsOfAllCommands() throws IOException {
+        when(commandHandlerService.columns(BotCommand.INN)).thenReturn(new String[]{"inn"});
+        when(commandHandlerService.columns(BotCommand.PERSON_RECORD)).thenReturn(new String[]{"last_name", "email"});
+        doAnswer(invocation -> {
+            String[] row = invocation.getArgument(1);
+            row[0] = "7707083893";
+            return null;
+        }).when(commandHandlerService).handleRow(eq(BotCommand.INN), any());
+        doAnswer(invocation -> {
+            String[] row = invocation.getArgument(1);
+            row[0] = "Иванов\\Петров";
+            row[1] = "a\tb";
+            return null;
+        }).when(commandHandlerService).handleRow(eq(BotCommand.PERSON_RECORD), any());
+
+        StringWriter out = new StringWriter();
+        service.writeTable(List.of(BotCommand.INN, BotCommand.PERSON_RECORD), 1, OutputFormat.PG_COPY,
+                new SqlOptions("clients", 1000), out);
+
+        assertEquals("COPY \"clients\" (\"inn\", \"last_name\", \"email\") FROM STDIN;\n"
+                + "7707083893\tИванов\\\\Петров\ta\\tb\n"
+                + "\\.\n", out.toString());
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.javabot;
 
+import com.example.javabot.date.DateGenerator;
 import com.example.javabot.service.BusinessDataGeneratorService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -7,8 +8,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Random;
+import java.util.SplittableRandom;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -47,24 +52,40 @@ class BusinessDataGeneratorServiceTest {
 
     @Test
     void generateOgrn_shouldReturnValidOgrn() {
-        when(random.nextInt(10)).thenReturn(1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+        when(random.nextInt(10)).thenReturn(0, 0, 0, 0, 0, 0, 0, 0, 1);
 
-        String ogrn = service.generateOgrn();
+        String ogrn = service.generateOgrn(2015);
 
         assertEquals(13, ogrn.length());
         assertTrue(ogrn.matches("\\d{13}"));
-        assertEquals("1000000000005", ogrn);
+        // Признак 1, год регистрации 15, девять случайных цифр и контрольная
+        assertEquals("1150000000017", ogrn);
     }
 
     @Test
     void generateOgrnIp_shouldReturnValidOgrnIp() {
-        when(random.nextInt(10)).thenReturn(1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+        when(random.nextInt(10)).thenReturn(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1);
 
-        String ogrnIp = service.generateOgrnIp();
+        String ogrnIp = service.generateOgrnIp(2015);
 
         assertEquals(15, ogrnIp.length());
         assertTrue(ogrnIp.matches("\\d{15}"));
-        assertEquals("100000000000009", ogrnIp);
+        // Признак 3, год регистрации 15, одиннадцать случайных цифр и контрольная
+        assertEquals("315000000000010", ogrnIp);
+    }
+
+    @Test
+    void generateOgrn_shouldTakeYearFromRegistrationDate() {
+        // С 1 июля 2002 года по 1 января 2003 года: год регистрации 02 или 03
+        Clock clock = Clock.fixed(Instant.parse("2003-01-01T12:00:00Z"), ZoneOffset.UTC);
+        SplittableRandom source = new SplittableRandom(5);
+        BusinessDataGeneratorService dated = new BusinessDataGeneratorService(source,
+                new DateGenerator(source, DateGenerator.DEFAULT_AGE_BANDS, clock));
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(dated.generateOgrn().matches("10[23]\\d{10}"));
+            assertTrue(dated.generateOgrnIp().matches("30[23]\\d{12}"));
+        }
     }
 
     @Test
@@ -0,0 +1,160 @@
+package com.example.javabot;
+
+import com.example.javabot.config.TelegramBotConfig;
+import com.example.javabot.dispatch.ChatOrderedExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChatOrderedExecutorTest {
+
+    private ChatOrderedExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void execute_shouldKeepOrderWithinChat() throws InterruptedException {
+        executor = createExecutor(4, 1000);
+        int chats = 20;
+        int messagesPerChat = 50;
+        Map<Long, List<Integer>> received = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(chats * messagesPerChat);
+
+        for (int i = 0; i < messagesPerChat; i++) {
+            for (long chatId = 0; chatId < chats; chatId++) {
+                long chat = chatId;
+                int sequence = i;
+                executor.execute(chat, () -> {
+                    received.computeIfAbsent(chat, id -> Collections.synchronizedList(new ArrayList<>())).add(sequence);
+                    done.countDown();
+                });
+            }
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (List<Integer> sequence : received.values()) {
+            for (int i = 0; i < messagesPerChat; i++) {
+                assertEquals(i, sequence.get(i));
+            }
+        }
+    }
+
+    @Test
+    void execute_shouldProcessDifferentChatsConcurrently() throws InterruptedException {
+        executor = createExecutor(4, 100);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Чаты 0 и 1 попадают в разные полосы
+        for (long chatId = 0; chatId < 2; chatId++) {
+            executor.execute(chatId, () -> {
+                threads.add(Thread.currentThread().getName());
+                started.countDown();
+                awaitQuietly(release);
+            });
+        }
+
+        assertTrue(started.await(5, TimeUnit.SECONDS), "Оба чата должны обрабатываться одновременно");
+        release.countDown();
+        assertEquals(2, threads.size());
+    }
+
+    @Test
+    void execute_shouldNotLetLargeRequestsDelayOtherChats() throws InterruptedException {
+        executor = createExecutor(1, 100);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(7);
+
+        // Пока воркер занят, очередь набирается: тяжелые пакеты чата 1, затем одиночный запрос чата 2
+        executor.execute(0, () -> awaitQuietly(release));
+        for (int i = 0; i < 6; i++) {
+            executor.execute(1, 100_000, () -> {
+                order.add("heavy");
+                done.countDown();
+            });
+        }
+        executor.execute(2, 1, () -> {
+            order.add("light");
+            done.countDown();
+        });
+        release.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(order.indexOf("light") <= 1, "Одиночный запрос не должен ждать все пакеты: " + order);
+    }
+
+    @Test
+    void execute_shouldAlternateChatsWithEqualCosts() throws InterruptedException {
+        executor = createExecutor(1, 100);
+        List<Long> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(8);
+
+        executor.execute(0, () -> awaitQuietly(release));
+        for (long chatId = 1; chatId <= 2; chatId++) {
+            long chat = chatId;
+            for (int i = 0; i < 4; i++) {
+                executor.execute(chat, 1_000, () -> {
+                    order.add(chat);
+                    done.countDown();
+                });
+            }
+        }
+        release.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < order.size(); i++) {
+            assertTrue(!order.get(i).equals(order.get(i - 1)), "Чаты должны чередоваться: " + order);
+        }
+    }
+
+    @Test
+    void tryExecute_shouldRejectWhenLaneIsFull() throws InterruptedException {
+        executor = createExecutor(1, 2);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(0, () -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertTrue(executor.tryExecute(1, () -> { }));
+        assertTrue(executor.tryExecute(2, () -> { }));
+        assertTrue(!executor.tryExecute(3, () -> { }));
+        assertEquals(2, executor.queueDepth());
+        release.countDown();
+    }
+
+    private static ChatOrderedExecutor createExecutor(int workers, int capacity) {
+        TelegramBotConfig config = new TelegramBotConfig();
+        config.setUpdateWorkers(workers);
+        config.setUpdateQueueCapacity(capacity);
+        return new ChatOrderedExecutor(config, new SimpleMeterRegistry());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.javabot;
+
+import com.example.javabot.config.TelegramBotConfig;
+import com.example.javabot.dispatch.ChatRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChatRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tryAcquire_shouldAllowBurstThenThrottle() {
+        ChatRateLimiter limiter = createLimiter(true, 2.0, 5);
+        long now = 1_000 * SECOND;
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(42, now));
+        }
+        assertFalse(limiter.tryAcquire(42, now));
+        // Другие чаты квоту не делят
+        assertTrue(limiter.tryAcquire(43, now));
+
+        // За полсекунды при 2 запросах в секунду возвращается один токен
+        assertTrue(limiter.tryAcquire(42, now + SECOND / 2));
+        assertFalse(limiter.tryAcquire(42, now + SECOND / 2));
+    }
+
+    @Test
+    void tryAcquire_shouldEvictIdleChats() {
+        ChatRateLimiter limiter = createLimiter(true, 10.0, 1);
+        long now = 1_000 * SECOND;
+
+        // Каждый чат пишет один раз, время идет: старые записи простаивают и выбрасываются
+        for (long chatId = 0; chatId < 100_000; chatId++) {
+            assertTrue(limiter.tryAcquire(chatId, now + chatId * SECOND / 1_000));
+        }
+        assertTrue(limiter.trackedChats() < 10_000, "tracked " + limiter.trackedChats());
+    }
+
+    @Test
+    void tryAcquire_shouldKeepActiveChatsThrottledAcrossRebuilds() {
+        ChatRateLimiter limiter = createLimiter(true, 1.0, 1);
+        long now = 1_000 * SECOND;
+        assertTrue(limiter.tryAcquire(-7, now));
+
+        for (long chatId = 1; chatId <= 10_000; chatId++) {
+            limiter.tryAcquire(chatId, now);
+        }
+        assertFalse(limiter.tryAcquire(-7, now));
+    }
+
+    @Test
+    void tryAcquire_shouldAllowEverythingWhenDisabled() {
+        ChatRateLimiter limiter = createLimiter(false, 1.0, 1);
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(limiter.tryAcquire(42, 0));
+        }
+    }
+
+    private static ChatRateLimiter createLimiter(boolean enabled, double rate, int burst) {
+        TelegramBotConfig config = new TelegramBotConfig();
+        config.setQuotaEnabled(enabled);
+        config.setQuotaRate(rate);
+        config.setQuotaBurst(burst);
+        return new ChatRateLimiter(config, new SimpleMeterRegistry());
+    }
+}
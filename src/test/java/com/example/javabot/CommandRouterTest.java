@@ -0,0 +1,72 @@
+package com.example.javabot;
+
+import com.example.javabot.command.BotCommand;
+import com.example.javabot.command.CommandRequest;
+import com.example.javabot.command.CommandRouter;
+import com.example.javabot.output.OutputFormat;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommandRouterTest {
+
+    private final CommandRouter router = new CommandRouter();
+
+    @Test
+    void route_shouldResolveEveryButton() {
+        for (BotCommand command : BotCommand.values()) {
+            CommandRequest request = router.route(command.getDisplayName());
+            assertEquals(command, request.command());
+            assertTrue(request.isSingleValue());
+        }
+    }
+
+    @Test
+    void route_shouldParseCount() {
+        CommandRequest request = router.route("ИНН 500");
+        assertEquals(BotCommand.INN, request.command());
+        assertEquals(500, request.count());
+        assertEquals(OutputFormat.TEXT, request.format());
+    }
+
+    @Test
+    void route_shouldParseSlashCodeWithCountAndFormat() {
+        CommandRequest request = router.route("/inn  500 csv");
+        assertEquals(BotCommand.INN, request.command());
+        assertEquals(500, request.count());
+        assertEquals(OutputFormat.CSV, request.format());
+
+        CommandRequest reversed = router.route("inn csv 500");
+        assertEquals(500, reversed.count());
+        assertEquals(OutputFormat.CSV, reversed.format());
+    }
+
+    @Test
+    void route_shouldParseUniqueFlag() {
+        CommandRequest request = router.route("снилс 20 уник");
+        assertEquals(BotCommand.SNILS, request.command());
+        assertEquals(20, request.count());
+        assertTrue(request.unique());
+
+        assertTrue(router.route("/passport unique csv 1000").unique());
+        assertFalse(router.route("/passport 1000").unique());
+    }
+
+    @Test
+    void route_shouldResolveAliases() {
+        assertEquals(BotCommand.EMAIL, router.route("почта").command());
+        assertEquals(BotCommand.INN_FL, router.route("инн фл 3").command());
+        assertEquals(BotCommand.SNILS_GOSKEY, router.route("Снилс Госключ").command());
+    }
+
+    @Test
+    void route_shouldReturnNullForUnknownText() {
+        assertNull(router.route("привет"));
+        assertNull(router.route("500"));
+        assertNull(router.route("/inn 1 2 3"));
+        assertNull(router.route(""));
+    }
+}
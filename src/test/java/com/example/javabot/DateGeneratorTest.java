@@ -0,0 +1,201 @@
+package com.example.javabot;
+
+import com.example.javabot.config.GeneratorConfig;
+import com.example.javabot.date.AgeBand;
+import com.example.javabot.date.DateGenerator;
+import com.example.javabot.date.EpochDays;
+import com.example.javabot.dictionary.DictionaryStore;
+import com.example.javabot.dictionary.NameDictionary;
+import com.example.javabot.service.BusinessDataGeneratorService;
+import com.example.javabot.service.GeneratorFactory;
+import com.example.javabot.validation.ChecksumValidator;
+import com.example.javabot.validation.ValueType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DateGeneratorTest {
+
+    private static final DateTimeFormatter RU = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    @Test
+    void epochDays_shouldMatchLocalDate() {
+        long from = LocalDate.of(1, 1, 1).toEpochDay();
+        long to = LocalDate.of(9998, 12, 31).toEpochDay();
+        for (long day = from; day <= to; day += 13) {
+            LocalDate date = LocalDate.ofEpochDay(day);
+            assertEquals(date.format(RU), EpochDays.formatRu(day));
+            assertEquals(date.toString(), EpochDays.formatIso(day));
+            assertEquals(day, EpochDays.of(date.getYear(), date.getMonthValue(), date.getDayOfMonth()));
+            assertEquals(date.getYear(), EpochDays.year(day));
+        }
+    }
+
+    @Test
+    void epochDays_shouldShiftYearsLikeLocalDate() {
+        LocalDate today = LocalDate.of(2026, 3, 1);
+        for (long day = LocalDate.of(1920, 1, 1).toEpochDay(); day <= today.toEpochDay(); day++) {
+            LocalDate date = LocalDate.ofEpochDay(day);
+            assertEquals(date.plusYears(45).toEpochDay(), EpochDays.plusYears(day, 45), date.toString());
+            assertEquals(Period.between(date, today).getYears(), EpochDays.yearsBetween(day, today.toEpochDay()),
+                    date.toString());
+        }
+        assertEquals(LocalDate.of(2017, 2, 28).toEpochDay(),
+                EpochDays.plusYears(LocalDate.of(2016, 2, 29).toEpochDay(), 1));
+    }
+
+    @Test
+    void writeRu_shouldWriteAtOffset() {
+        char[] chars = "[..........]".toCharArray();
+        EpochDays.writeRu(chars, 1, LocalDate.of(1987, 4, 9).toEpochDay());
+        assertEquals("[09.04.1987]", new String(chars));
+    }
+
+    @Test
+    void birthDay_shouldStayWithinAgeRangesAndFollowWeights() {
+        SettableClock clock = new SettableClock(Instant.parse("2026-05-15T10:00:00Z"));
+        DateGenerator dates = new DateGenerator(new SplittableRandom(1),
+                AgeBand.parse("18-30:90, 60-70:10"), clock);
+        LocalDate today = LocalDate.of(2026, 5, 15);
+
+        int young = 0;
+        for (int i = 0; i < 100_000; i++) {
+            int age = Period.between(LocalDate.ofEpochDay(dates.birthDay()), today).getYears();
+            assertTrue(age >= 18 && age < 30 || age >= 60 && age < 70, "возраст " + age);
+            if (age < 30) {
+                young++;
+            }
+        }
+        assertEquals(0.9, young / 100_000.0, 0.01);
+    }
+
+    @Test
+    void birthDay_shouldMoveBoundsAtMidnight() {
+        SettableClock clock = new SettableClock(Instant.parse("2026-05-15T23:59:59Z"));
+        DateGenerator dates = new DateGenerator(new SplittableRandom(2), AgeBand.parse("18-19"), clock);
+        long eighteenToday = LocalDate.of(2008, 5, 15).toEpochDay();
+        for (int i = 0; i < 1_000; i++) {
+            long day = dates.birthDay();
+            assertTrue(day <= eighteenToday && day > LocalDate.of(2007, 5, 15).toEpochDay());
+        }
+        assertEquals(LocalDate.of(2026, 5, 15).toEpochDay(), dates.today());
+
+        clock.set(Instant.parse("2026-05-16T00:00:00Z"));
+        assertEquals(LocalDate.of(2026, 5, 16).toEpochDay(), dates.today());
+        boolean reachedNewBound = false;
+        for (int i = 0; i < 10_000; i++) {
+            long day = dates.birthDay();
+            assertTrue(day <= eighteenToday + 1 && day > LocalDate.of(2007, 5, 16).toEpochDay());
+            reachedNewBound |= day == eighteenToday + 1;
+        }
+        assertTrue(reachedNewBound, "новый день попадает в диапазон после полуночи");
+    }
+
+    @Test
+    void passportIssueDay_shouldFollowReplacementAges() {
+        DateGenerator dates = new DateGenerator(new SplittableRandom(3));
+        LocalDate today = LocalDate.ofEpochDay(dates.today());
+        for (int i = 0; i < 10_000; i++) {
+            long birthDay = dates.birthDay();
+            LocalDate birth = LocalDate.ofEpochDay(birthDay);
+            LocalDate issued = LocalDate.ofEpochDay(dates.passportIssueDay(birthDay));
+            int age = Period.between(birth, today).getYears();
+            int issueAge = age >= 45 ? 45 : age >= 20 ? 20 : 14;
+
+            assertTrue(!issued.isBefore(birth.plusYears(issueAge))
+                    || !issued.isAfter(LocalDate.of(2004, 6, 30)), birth + " -> " + issued);
+            assertTrue(!issued.isBefore(LocalDate.of(1997, 10, 1)), birth + " -> " + issued);
+            assertTrue(!issued.isAfter(today), birth + " -> " + issued);
+        }
+    }
+
+    @Test
+    void registrationDay_shouldMatchOgrnYear() {
+        SplittableRandom random = new SplittableRandom(4);
+        DateGenerator dates = new DateGenerator(random);
+        BusinessDataGeneratorService business = new BusinessDataGeneratorService(random);
+        for (int i = 0; i < 1_000; i++) {
+            long day = dates.registrationDay();
+            assertTrue(day >= LocalDate.of(2002, 7, 1).toEpochDay() && day <= dates.today());
+
+            int year = EpochDays.year(day);
+            String suffix = String.format("%02d", year % 100);
+            String ogrn = business.generateOgrn(year);
+            String ogrnIp = business.generateOgrnIp(year);
+            assertEquals("1" + suffix, ogrn.substring(0, 3));
+            assertEquals("3" + suffix, ogrnIp.substring(0, 3));
+            assertTrue(valid(ValueType.OGRN, ogrn), ogrn);
+            assertTrue(valid(ValueType.OGRN_IP, ogrnIp), ogrnIp);
+        }
+    }
+
+    @Test
+    void parse_shouldDefaultWeightToRangeLength() {
+        assertEquals(List.of(new AgeBand(18, 30, 12), new AgeBand(30, 100, 5)), AgeBand.parse("18-30, 30-100:5"));
+        assertThrows(IllegalArgumentException.class, () -> AgeBand.parse("30-18"));
+        assertThrows(IllegalArgumentException.class, () -> AgeBand.parse("18"));
+        assertThrows(IllegalArgumentException.class, () -> AgeBand.parse("18-30:0"));
+        assertThrows(IllegalArgumentException.class, () -> AgeBand.parse(" "));
+    }
+
+    @Test
+    void passportIssueDay_shouldRejectAgesWithoutPassport() {
+        GeneratorConfig config = new GeneratorConfig();
+        config.setDateAgeRanges("0-14, 14-100");
+        assertThrows(IllegalArgumentException.class,
+                () -> new GeneratorFactory(NameDictionary.builtin(), DictionaryStore.builtin(), config));
+
+        config.setDateAgeRanges("14-100");
+        DateGenerator dates = new GeneratorFactory(NameDictionary.builtin(), DictionaryStore.builtin(), config)
+                .dates(new SplittableRandom(4));
+        long birthDay = EpochDays.plusYears(dates.today(), -10);
+        assertThrows(IllegalArgumentException.class, () -> dates.passportIssueDay(birthDay));
+    }
+
+    private static boolean valid(ValueType type, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+        int[] digits = new int[ChecksumValidator.MAX_DIGITS];
+        int count = ChecksumValidator.collectDigits(bytes, 0, bytes.length, digits);
+        return ChecksumValidator.isValid(type, digits, count);
+    }
+
+    private static final class SettableClock extends Clock {
+        private Instant instant;
+
+        private SettableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void set(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
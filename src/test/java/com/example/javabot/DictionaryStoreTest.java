@@ -0,0 +1,130 @@
+package com.example.javabot;
+
+import com.example.javabot.dictionary.Dictionary;
+import com.example.javabot.dictionary.DictionaryStore;
+import com.example.javabot.dictionary.NameDictionary;
+import com.example.javabot.dictionary.PackedDictionary;
+import com.example.javabot.service.PersonDataGeneratorService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DictionaryStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void packedDictionary_shouldRoundTripValues() throws IOException {
+        Path file = directory.resolve("cities.dict");
+        List<String> values = List.of("Москва", "Санкт-Петербург", "", "Йошкар-Ола");
+        PackedDictionary.write(file, values);
+
+        PackedDictionary dictionary = PackedDictionary.open(file);
+
+        assertEquals(values.size(), dictionary.size());
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(values.get(i), dictionary.get(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> dictionary.get(values.size()));
+    }
+
+    @Test
+    void packedDictionary_shouldRejectForeignFiles() throws IOException {
+        Path file = directory.resolve("broken.dict");
+        Files.writeString(file, "gmail.com\nmail.ru\n");
+
+        assertThrows(IOException.class, () -> PackedDictionary.open(file));
+    }
+
+    @Test
+    void packedDictionary_shouldRejectCorruptedOffsets() throws IOException {
+        Path file = directory.resolve("corrupted.dict");
+        PackedDictionary.write(file, List.of("ab", "cd", "ef"));
+        byte[] valid = Files.readAllBytes(file);
+
+        // Смещения 0, 5, 4, 6: последнее совпадает с длиной данных, но таблица убывает
+        Files.write(file, withInt(valid, 12, 5));
+        assertThrows(IOException.class, () -> PackedDictionary.open(file));
+
+        // Смещение за пределами блока данных
+        Files.write(file, withInt(valid, 12, 100));
+        assertThrows(IOException.class, () -> PackedDictionary.open(file));
+
+        // Количество значений, при котором размер таблицы смещений переполняет int
+        Files.write(file, withInt(valid, 4, Integer.MAX_VALUE));
+        assertThrows(IOException.class, () -> PackedDictionary.open(file));
+    }
+
+    @Test
+    void category_shouldFallBackUntilFileAppearsAndSwapOnReload() throws IOException {
+        DictionaryStore store = new DictionaryStore(directory, null);
+        Dictionary domains = store.category("email-domains", Dictionary.of("example.com"));
+        assertEquals("example.com", domains.get(0));
+
+        replace("email-domains", List.of("mail.ru", "yandex.ru"));
+        store.reload();
+        assertEquals(2, domains.size());
+        assertEquals("yandex.ru", domains.get(1));
+
+        replace("email-domains", List.of("rambler.ru"));
+        store.reload();
+        assertEquals(1, domains.size());
+        assertEquals("rambler.ru", domains.random(new SplittableRandom(1)));
+    }
+
+    @Test
+    void category_shouldKeepPreviousVersionWhenNewFileIsBroken() throws IOException {
+        replace("login-prefixes", List.of("super"));
+        DictionaryStore store = new DictionaryStore(directory, null);
+        Dictionary prefixes = store.category("login-prefixes", Dictionary.of("fallback"));
+        assertEquals("super", prefixes.get(0));
+
+        Path broken = directory.resolve("tmp");
+        Files.writeString(broken, "not a dictionary");
+        Files.move(broken, directory.resolve("login-prefixes" + DictionaryStore.FILE_EXTENSION),
+                StandardCopyOption.REPLACE_EXISTING);
+        store.reload();
+
+        assertEquals("super", prefixes.get(0));
+    }
+
+    @Test
+    void personGenerator_shouldUsePackedDictionaries() throws IOException {
+        replace("email-domains", List.of("example.org"));
+        DictionaryStore store = new DictionaryStore(directory, null);
+        PersonDataGeneratorService service = new PersonDataGeneratorService(
+                new SplittableRandom(3), NameDictionary.builtin(), store);
+
+        for (int i = 0; i < 20; i++) {
+            assertTrue(service.generateEmail().endsWith("@example.org"));
+        }
+    }
+
+    private static byte[] withInt(byte[] bytes, int position, int value) {
+        byte[] copy = bytes.clone();
+        ByteBuffer.wrap(copy).putInt(position, value);
+        return copy;
+    }
+
+    /**
+     * Новая версия пишется рядом и подменяет старую переименованием
+     */
+    private void replace(String category, List<String> values) throws IOException {
+        Path temp = directory.resolve(category + ".tmp");
+        PackedDictionary.write(temp, values);
+        Files.move(temp, directory.resolve(category + DictionaryStore.FILE_EXTENSION),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
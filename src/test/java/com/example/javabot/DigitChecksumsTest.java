@@ -0,0 +1,80 @@
+package com.example.javabot;
+
+import com.example.javabot.service.BusinessDataGeneratorService;
+import com.example.javabot.service.DigitChecksums;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DigitChecksumsTest {
+
+    private final BusinessDataGeneratorService service = new BusinessDataGeneratorService();
+
+    @Test
+    void juridicalInn_shouldMatchKnownValue() {
+        int[] digits = toDigits("7707083893");
+        assertEquals(digits[9], DigitChecksums.juridicalInn(digits));
+    }
+
+    @Test
+    void individualInn_shouldMatchKnownValue() {
+        int[] digits = toDigits("500100732259");
+        assertEquals(digits[10], DigitChecksums.individualInn(digits, 11));
+        assertEquals(digits[11], DigitChecksums.individualInn(digits, 12));
+    }
+
+    @Test
+    void ogrn_shouldMatchKnownValue() {
+        assertEquals(5, DigitChecksums.ogrn(102770013219L));
+    }
+
+    @Test
+    void snils_shouldMatchKnownValue() {
+        assertEquals(95, DigitChecksums.snils(toDigits("112233445")));
+    }
+
+    @Test
+    void snils_shouldReturnZeroForRemainderOfHundred() {
+        // 201 % 101 = 100 -> контрольное число 00
+        assertEquals(0, DigitChecksums.snils(toDigits("995200001")));
+    }
+
+    @RepeatedTest(20)
+    void generatedValues_shouldPassOwnChecksums() {
+        int[] inn = toDigits(service.generateJuridicalInn());
+        assertEquals(inn[9], DigitChecksums.juridicalInn(inn));
+
+        int[] innFl = toDigits(service.generateIndividualInn());
+        assertEquals(innFl[10], DigitChecksums.individualInn(innFl, 11));
+        assertEquals(innFl[11], DigitChecksums.individualInn(innFl, 12));
+
+        String ogrn = service.generateOgrn();
+        assertEquals(ogrn.charAt(12) - '0', DigitChecksums.ogrn(Long.parseLong(ogrn.substring(0, 12))));
+
+        String ogrnIp = service.generateOgrnIp();
+        assertEquals(ogrnIp.charAt(14) - '0', DigitChecksums.ogrnIp(Long.parseLong(ogrnIp.substring(0, 14))));
+
+        int[] enp = toDigits(service.generateEnpOms());
+        assertEquals(enp[15], DigitChecksums.enpOms(enp, 15));
+
+        int[] okpo = toDigits(service.generateOkpo());
+        assertEquals(okpo[7], DigitChecksums.okpo(okpo, 8));
+
+        String snils = service.generateSnilsGosKey();
+        assertTrue(snils.matches("\\d{3}-\\d{3}-\\d{3} \\d{2}"));
+        int[] snilsDigits = toDigits(snils.replaceAll("\\D", ""));
+        assertEquals(snilsDigits[9] * 10 + snilsDigits[10], DigitChecksums.snils(snilsDigits));
+
+        assertTrue(service.generatePassportNumber().matches("[1-9]\\d{3} [1-9]\\d{5}"));
+    }
+
+    private static int[] toDigits(String value) {
+        int[] digits = new int[value.length()];
+        for (int i = 0; i < digits.length; i++) {
+            digits[i] = value.charAt(i) - '0';
+        }
+        return digits;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.javabot;
+
+import com.example.javabot.config.GeneratorConfig;
+import com.example.javabot.controller.GenerationController;
+import com.example.javabot.service.BulkGenerationService;
+import com.example.javabot.service.GeneratorFactory;
+import com.example.javabot.service.RangeGenerationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class GenerationControllerTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        GeneratorConfig config = new GeneratorConfig();
+        config.setApiMaxCount(1_000);
+        BulkGenerationService bulk = new BulkGenerationService(
+                new GeneratorFactory().commandHandler(new SplittableRandom(1)));
+        GenerationController controller = new GenerationController(mock(RangeGenerationService.class), bulk, config);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void generate_shouldIssueTokenForSeededCommand() throws Exception {
+        mockMvc.perform(get("/api/generate/inn").param("seed", "42").param("count", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Reproducibility-Token", "v1:inn:2a:0:10:" + LocalDate.now()));
+    }
+
+    @Test
+    void generate_shouldRejectSeededUuidV7() throws Exception {
+        mockMvc.perform(get("/api/generate/uuid_v7").param("seed", "42"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/generate/uuid_v7").param("token", "v1:uuid_v7:2a:0:10"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void generate_shouldNotIssueTokenForUuidV7() throws Exception {
+        mockMvc.perform(get("/api/generate/uuid_v7").param("count", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Reproducibility-Token"));
+    }
+
+    @Test
+    void generateTable_shouldRejectDuplicateColumns() throws Exception {
+        mockMvc.perform(get("/api/generate").param("columns", "inn,ogrn,inn"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/generate").param("columns", "person,inn"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/generate").param("columns", "inn,ogrn,full_name"))
+                .andExpect(status().isOk());
+    }
+}
@@ -1,11 +1,16 @@
 package com.example.javabot;
 import com.example.javabot.service.GuidUuidGeneratorService;
+import com.example.javabot.service.UuidFormat;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,7 +26,6 @@ class GuidUuidGeneratorServiceIntegrationTest {
     @BeforeEach
     void setUp() {
         service = new GuidUuidGeneratorService();
-        service.init();
     }
 
     @RepeatedTest(100)
@@ -49,4 +53,50 @@ class GuidUuidGeneratorServiceIntegrationTest {
         assertTrue(uuids.size() > iterations * 0.95,
                 "Должно быть сгенерировано более 95% уникальных UUID");
     }
+
+    @RepeatedTest(20)
+    void testGenerateUuidV4_shouldSetVersionAndVariant() {
+        for (UuidFormat format : UuidFormat.values()) {
+            String value = service.generateUuidV4(format);
+            assertEquals(format.length(), value.length());
+            UUID uuid = parse(value);
+            assertEquals(4, uuid.version());
+            assertEquals(2, uuid.variant());
+        }
+        assertEquals(4, parse(service.generateGuid()).version());
+        assertEquals(4, parse(service.generateUuid()).version());
+    }
+
+    @Test
+    void testGenerateUuidV7_shouldBeTimeOrdered() {
+        long before = System.currentTimeMillis();
+        List<String> batch = service.generateBatch(10_000, true, UuidFormat.LOWER);
+        long after = System.currentTimeMillis();
+
+        for (int i = 1; i < batch.size(); i++) {
+            assertTrue(batch.get(i - 1).compareTo(batch.get(i)) < 0, "UUIDv7 должны возрастать");
+        }
+        UUID first = UUID.fromString(batch.get(0));
+        assertEquals(7, first.version());
+        assertEquals(2, first.variant());
+        long timestamp = first.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before && timestamp <= after + 1);
+    }
+
+    @Test
+    void testWriteBatch_shouldWriteOneUuidPerLine() throws IOException {
+        StringWriter out = new StringWriter();
+        service.writeBatch(100, false, UuidFormat.COMPACT, out);
+
+        List<String> lines = out.toString().lines().toList();
+        assertEquals(100, lines.size());
+        assertTrue(lines.stream().allMatch(line -> line.matches("[0-9a-f]{12}4[0-9a-f]{3}[89ab][0-9a-f]{15}")));
+    }
+
+    private static UUID parse(String value) {
+        if (value.length() == 32) {
+            value = value.replaceFirst("(.{8})(.{4})(.{4})(.{4})(.{12})", "$1-$2-$3-$4-$5");
+        }
+        return UUID.fromString(value);
+    }
 }
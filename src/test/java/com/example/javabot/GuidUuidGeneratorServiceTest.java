@@ -1,6 +1,5 @@
 package com.example.javabot;
 import com.example.javabot.service.GuidUuidGeneratorService;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -11,7 +10,6 @@ import java.util.Random;
 import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,15 +33,10 @@ class GuidUuidGeneratorServiceTest {
             "^[0-9a-f]{32}$"
     );
 
-    @BeforeEach
-    void setUp() {
-        service.init();
-    }
-
     @Test
     void testGenerateGuid_shouldReturnValidGuid() {
         // Arrange
-        when(random.nextInt(anyInt())).thenReturn(0);
+        when(random.nextLong()).thenReturn(0L);
 
         // Act
         String guid = service.generateGuid();
@@ -60,8 +53,8 @@ class GuidUuidGeneratorServiceTest {
     @Test
     void testGenerateGuid_shouldStartWithCorrectCharacter() {
         // Arrange
-        when(random.nextInt(8)).thenReturn(2); // Вернёт 'A' для первого символа
-        when(random.nextInt(16)).thenReturn(0); // Вернёт '0' для остальных
+        // Старший бит первой цифры всегда установлен: 0x2 -> 'A'
+        when(random.nextLong()).thenReturn(0x2000000000000000L, 0L);
 
         // Act
         String guid = service.generateGuid();
@@ -74,7 +67,7 @@ class GuidUuidGeneratorServiceTest {
     @Test
     void testGenerateGuidLower_shouldReturnValidGuidInLowerCase() {
         // Arrange
-        when(random.nextInt(anyInt())).thenReturn(0);
+        when(random.nextLong()).thenReturn(0L);
 
         // Act
         String guid = service.generateGuidLower();
@@ -91,7 +84,7 @@ class GuidUuidGeneratorServiceTest {
     @Test
     void testGenerateGuidLower_shouldHaveCorrectFormat() {
         // Arrange
-        when(random.nextInt(anyInt())).thenReturn(3);
+        when(random.nextLong()).thenReturn(3L);
 
         // Act
         String guid = service.generateGuidLower();
@@ -109,7 +102,7 @@ class GuidUuidGeneratorServiceTest {
     @Test
     void testGenerateUuid_shouldReturnValidUuid() {
         // Arrange
-        when(random.nextInt(anyInt())).thenReturn(5);
+        when(random.nextLong()).thenReturn(5L);
 
         // Act
         String uuid = service.generateUuid();
@@ -124,29 +117,19 @@ class GuidUuidGeneratorServiceTest {
     @Test
     void testGenerateUuid_shouldUseAllHexChars() {
         // Arrange
-        when(random.nextInt(16))
-                .thenReturn(0).thenReturn(1).thenReturn(2).thenReturn(3)
-                .thenReturn(4).thenReturn(5).thenReturn(6).thenReturn(7)
-                .thenReturn(8).thenReturn(9).thenReturn(10).thenReturn(11)
-                .thenReturn(12).thenReturn(13).thenReturn(14).thenReturn(15)
-                .thenReturn(0).thenReturn(1).thenReturn(2).thenReturn(3)
-                .thenReturn(4).thenReturn(5).thenReturn(6).thenReturn(7)
-                .thenReturn(8).thenReturn(9).thenReturn(10).thenReturn(11)
-                .thenReturn(12).thenReturn(13).thenReturn(14).thenReturn(15);
+        when(random.nextLong()).thenReturn(0x0123456789abcdefL);
 
         // Act
         String uuid = service.generateUuid();
 
-        // Assert
-        assertEquals("0123456789abcdef0123456789abcdef", uuid);
+        // Assert: 13-я цифра - версия 4, 17-я - вариант RFC (8..b)
+        assertEquals("0123456789ab4def8123456789abcdef", uuid);
     }
 
     @Test
     void testMultipleGenerations_shouldProduceDifferentResults() {
         // Arrange
-        when(random.nextInt(anyInt()))
-                .thenReturn(0, 1, 2, 3, 4, 5, 6, 7, 0, 1, 2, 3, 4, 5, 6, 7)
-                .thenReturn(7, 6, 5, 4, 3, 2, 1, 0, 7, 6, 5, 4, 3, 2, 1, 0);
+        when(random.nextLong()).thenReturn(0x01234567L, 0x89abcdefL, 0x76543210L, 0xfedcba98L);
 
         // Act
         String guid1 = service.generateGuid();
@@ -159,8 +142,7 @@ class GuidUuidGeneratorServiceTest {
 
     @Test
     void testInit_shouldPopulateHexData() {
-        // Тест проверяет, что метод init() корректно инициализирует данные
-        // Поскольку метод уже вызван в @BeforeEach, просто проверим результат
+        // Таблица hex-символов статическая: сервис готов к работе сразу после создания
 
         // Act
         String guid = service.generateGuid();
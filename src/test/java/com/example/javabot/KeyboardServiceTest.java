@@ -0,0 +1,70 @@
+package com.example.javabot;
+
+import com.example.javabot.command.BotCommand;
+import com.example.javabot.command.CommandCategory;
+import com.example.javabot.config.TelegramBotConfig;
+import com.example.javabot.service.KeyboardService;
+import org.junit.jupiter.api.Test;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.ReplyKeyboardMarkup;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.buttons.KeyboardButton;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.buttons.KeyboardRow;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeyboardServiceTest {
+
+    @Test
+    void gridLayout_shouldContainAllCommandsThreePerRow() {
+        KeyboardService service = createService("grid");
+
+        ReplyKeyboardMarkup keyboard = service.createMainKeyboard();
+
+        List<String> buttons = buttonTexts(keyboard);
+        assertEquals(BotCommand.values().length, buttons.size());
+        assertEquals(BotCommand.INN.getDisplayName(), buttons.get(0));
+        assertTrue(keyboard.getKeyboard().stream().allMatch(row -> row.size() <= 3));
+    }
+
+    @Test
+    void createMainKeyboard_shouldReturnPrecomputedInstance() {
+        KeyboardService service = createService("compact");
+
+        assertSame(service.createMainKeyboard(), service.createMainKeyboard());
+        assertTrue(service.createMainKeyboard().getKeyboard().stream().allMatch(row -> row.size() <= 4));
+        assertNull(service.findPage(CommandCategory.PERSON.getDisplayName()));
+    }
+
+    @Test
+    void categoriesLayout_shouldProvidePagePerCategory() {
+        KeyboardService service = createService("categories");
+
+        List<String> mainButtons = buttonTexts(service.createMainKeyboard());
+        assertEquals(CommandCategory.values().length, mainButtons.size());
+
+        ReplyKeyboardMarkup personPage = service.findPage(CommandCategory.PERSON.getDisplayName());
+        assertNotNull(personPage);
+        List<String> personButtons = buttonTexts(personPage);
+        assertTrue(personButtons.contains(BotCommand.FULL_NAME.getDisplayName()));
+        assertEquals(KeyboardService.BACK_BUTTON, personButtons.get(personButtons.size() - 1));
+        assertSame(service.createMainKeyboard(), service.findPage(KeyboardService.BACK_BUTTON));
+    }
+
+    private static KeyboardService createService(String layout) {
+        TelegramBotConfig config = new TelegramBotConfig();
+        config.setKeyboardLayout(layout);
+        return new KeyboardService(config);
+    }
+
+    private static List<String> buttonTexts(ReplyKeyboardMarkup keyboard) {
+        return keyboard.getKeyboard().stream()
+                .flatMap(KeyboardRow::stream)
+                .map(KeyboardButton::getText)
+                .toList();
+    }
+}
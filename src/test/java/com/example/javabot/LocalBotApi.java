@@ -0,0 +1,196 @@
+package com.example.javabot;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Локальная заглушка Telegram Bot API для тестов без сети: getUpdates отдает
+ * поставленные в очередь сообщения (с ожиданием, как long polling), а
+ * sendMessage и sendDocument передают ответ бота слушателю. Используется
+ * нагрузочным тестом и бенчмарком старта.
+ */
+public final class LocalBotApi implements AutoCloseable {
+
+    private static final int MAX_UPDATES_PER_POLL = 100;
+
+    static {
+        // Без TCP_NODELAY заголовки и тело ответа ждут подтверждения ~40 мс
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+    private static final Pattern MULTIPART_CHAT_ID =
+            Pattern.compile("name=\"chat_id\"\r\n(?:[^\r\n]+\r\n)*\r\n([^\r\n]*)");
+
+    /**
+     * Ответ бота: чат, метод Bot API и момент получения (System.nanoTime)
+     */
+    public interface ReplyListener {
+        void onReply(long chatId, String method, long receivedAt);
+    }
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String pathPrefix;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Deque<ObjectNode> pending = new ArrayDeque<>();
+    private final ReplyListener listener;
+    private int nextUpdateId = 1;
+    private int nextMessageId = 1;
+    private boolean closed;
+
+    public LocalBotApi(String token, ReplyListener listener) throws IOException {
+        this.pathPrefix = "/bot" + token + "/";
+        this.listener = listener;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        this.executor = Executors.newFixedThreadPool(8);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Базовый адрес для telegram.bot.api-url
+     */
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Сообщение пользователя (нажатие кнопки) в очередь getUpdates
+     */
+    public void pushText(long chatId, String text) {
+        synchronized (pending) {
+            ObjectNode update = mapper.createObjectNode().put("update_id", nextUpdateId++);
+            update.set("message", message(chatId).put("text", text));
+            pending.add(update);
+            pending.notifyAll();
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (pending) {
+            closed = true;
+            pending.notifyAll();
+        }
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            if (!path.startsWith(pathPrefix)) {
+                respond(exchange, 404, error(404, "Not Found"));
+                return;
+            }
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            // Имена методов Bot API не зависят от регистра; клиент шлет их строчными
+            switch (path.substring(pathPrefix.length()).toLowerCase(Locale.ROOT)) {
+                case "getupdates" -> respond(exchange, 200, ok(getUpdates(mapper.readTree(body))));
+                case "deletewebhook" -> respond(exchange, 200, ok(mapper.getNodeFactory().booleanNode(true)));
+                case "sendmessage" -> reply(exchange, "sendMessage", mapper.readTree(body).path("chat_id").asLong());
+                case "senddocument" -> reply(exchange, "sendDocument", multipartChatId(body));
+                default -> respond(exchange, 404, error(404, "Not Found: method not found"));
+            }
+        }
+    }
+
+    private ArrayNode getUpdates(JsonNode request) {
+        int offset = request.path("offset").asInt(0);
+        long timeoutNanos = TimeUnit.SECONDS.toNanos(request.path("timeout").asInt(0));
+        int limit = Math.min(MAX_UPDATES_PER_POLL, request.path("limit").asInt(MAX_UPDATES_PER_POLL));
+        ArrayNode updates = mapper.createArrayNode();
+        synchronized (pending) {
+            // Все обновления до offset считаются подтвержденными
+            while (!pending.isEmpty() && pending.peek().get("update_id").asInt() < offset) {
+                pending.poll();
+            }
+            long deadline = System.nanoTime() + timeoutNanos;
+            while (pending.isEmpty() && !closed) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return updates;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(pending, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return updates;
+                }
+            }
+            for (ObjectNode update : pending) {
+                if (updates.size() == limit) {
+                    break;
+                }
+                updates.add(update);
+            }
+        }
+        return updates;
+    }
+
+    private void reply(HttpExchange exchange, String method, long chatId) throws IOException {
+        listener.onReply(chatId, method, System.nanoTime());
+        ObjectNode message;
+        synchronized (pending) {
+            message = message(chatId);
+        }
+        respond(exchange, 200, ok(message));
+    }
+
+    /**
+     * Сообщение в формате Bot API; вызывается под блокировкой pending
+     */
+    private ObjectNode message(long chatId) {
+        ObjectNode message = mapper.createObjectNode()
+                .put("message_id", nextMessageId++)
+                .put("date", System.currentTimeMillis() / 1000);
+        message.putObject("chat").put("id", chatId).put("type", "private");
+        message.putObject("from").put("id", chatId).put("is_bot", false).put("first_name", "Load");
+        return message;
+    }
+
+    private static long multipartChatId(byte[] body) {
+        Matcher matcher = MULTIPART_CHAT_ID.matcher(new String(body, StandardCharsets.ISO_8859_1));
+        return matcher.find() ? Long.parseLong(matcher.group(1).trim()) : 0L;
+    }
+
+    private ObjectNode ok(JsonNode result) {
+        ObjectNode response = mapper.createObjectNode().put("ok", true);
+        response.set("result", result);
+        return response;
+    }
+
+    private ObjectNode error(int code, String description) {
+        return mapper.createObjectNode()
+                .put("ok", false)
+                .put("error_code", code)
+                .put("description", description);
+    }
+
+    private void respond(HttpExchange exchange, int status, JsonNode response) throws IOException {
+        byte[] bytes = mapper.writeValueAsBytes(response);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.javabot;
 import com.example.javabot.config.TelegramBotConfig;
+import com.example.javabot.metrics.BotMetrics;
 import com.example.javabot.service.KeyboardService;
 import com.example.javabot.service.MessageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,10 +12,15 @@ import org.mockito.Mock;
 import org.mockito.MockedConstruction;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.telegram.telegrambots.client.okhttp.OkHttpTelegramClient;
+import org.telegram.telegrambots.meta.api.methods.send.SendDocument;
 import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
 import org.telegram.telegrambots.meta.api.objects.replykeyboard.ReplyKeyboardMarkup;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -34,15 +41,24 @@ class MessageServiceTest {
 
     @BeforeEach
     void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        messageService = new MessageService(config, keyboardService, meterRegistry,
+                new BotMetrics(meterRegistry), () -> telegramClient);
+    }
+
+    @Test
+    void constructor_shouldCreateClientOnFirstSend() throws TelegramApiException {
         when(config.getToken()).thenReturn("test-token");
 
         // Используем MockedConstruction для мокирования конструктора OkHttpTelegramClient
-        try (MockedConstruction<OkHttpTelegramClient> mockedClient =
-                     mockConstruction(OkHttpTelegramClient.class, (mock, context) -> {
-                         // Заменяем созданный объект нашим моком
-                         telegramClient = mock;
-                     })) {
-            messageService = new MessageService(config, keyboardService);
+        try (MockedConstruction<OkHttpTelegramClient> mockedClient = mockConstruction(OkHttpTelegramClient.class)) {
+            MessageService lazyService = new MessageService(config, keyboardService);
+            assertTrue(mockedClient.constructed().isEmpty());
+
+            lazyService.sendMessage(1L, "first");
+            lazyService.sendMessage(1L, "second");
+            assertEquals(1, mockedClient.constructed().size());
+            verify(mockedClient.constructed().get(0), times(2)).execute(any(SendMessage.class));
         }
     }
 
@@ -114,4 +130,21 @@ class MessageServiceTest {
         verify(telegramClient).execute(any(SendMessage.class));
         verify(keyboardService).createMainKeyboard();
     }
+
+    @Test
+    void sendDocument_shouldDeleteTempFileAfterUpload() throws TelegramApiException, IOException {
+        // Given
+        Long chatId = 12345L;
+        Path file = Files.createTempFile("batch-", ".txt");
+        Files.writeString(file, "7707083893\n");
+
+        // When
+        messageService.sendDocument(chatId, "inn-1.txt", file, "ИНН: 1 шт.");
+
+        // Then
+        ArgumentCaptor<SendDocument> documentCaptor = ArgumentCaptor.forClass(SendDocument.class);
+        verify(telegramClient).execute(documentCaptor.capture());
+        assertEquals("inn-1.txt", documentCaptor.getValue().getDocument().getMediaName());
+        assertFalse(Files.exists(file));
+    }
 }
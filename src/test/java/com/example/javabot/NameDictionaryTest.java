@@ -0,0 +1,87 @@
+package com.example.javabot;
+
+import com.example.javabot.dictionary.AliasTable;
+import com.example.javabot.dictionary.NameDictionary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NameDictionaryTest {
+
+    @Test
+    void aliasTable_shouldFollowWeights() {
+        AliasTable table = new AliasTable(new double[]{1, 2, 0, 7});
+        SplittableRandom random = new SplittableRandom(42);
+        int[] counts = new int[4];
+        int samples = 1_000_000;
+        for (int i = 0; i < samples; i++) {
+            counts[table.sample(random)]++;
+        }
+
+        assertEquals(0, counts[2], "элемент с нулевым весом не выбирается");
+        assertEquals(0.1, counts[0] / (double) samples, 0.005);
+        assertEquals(0.2, counts[1] / (double) samples, 0.005);
+        assertEquals(0.7, counts[3] / (double) samples, 0.005);
+    }
+
+    @Test
+    void aliasTable_shouldRejectInvalidWeights() {
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[]{0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[]{1, -1}));
+    }
+
+    @Test
+    void load_shouldProduceGenderConsistentNames(@TempDir Path directory) throws IOException {
+        Files.writeString(directory.resolve(NameDictionary.SURNAMES_FILE), """
+                # фамилия;вес[;женская форма]
+                Иванов;100
+                Достоевский;10
+                Шевченко;5
+                Толстой;1;Толстая
+                """);
+        Files.writeString(directory.resolve(NameDictionary.MALE_NAMES_FILE), """
+                Иван;50;Иванович;Ивановна
+                Илья;20;Ильич;Ильинична
+                """);
+        Files.writeString(directory.resolve(NameDictionary.FEMALE_NAMES_FILE), """
+                Мария;30
+                Анна;20
+                """);
+        NameDictionary names = NameDictionary.load(directory);
+        SplittableRandom random = new SplittableRandom(7);
+
+        int women = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String[] parts = names.fullName(random).split(" ");
+            boolean female = parts[1].equals("Мария") || parts[1].equals("Анна");
+            if (female) {
+                women++;
+                assertTrue(parts[0].matches("Иванова|Достоевская|Шевченко|Толстая"), parts[0]);
+                assertTrue(parts[2].endsWith("на"), parts[2]);
+            } else {
+                assertTrue(parts[0].matches("Иванов|Достоевский|Шевченко|Толстой"), parts[0]);
+                assertTrue(parts[2].matches("Иванович|Ильич"), parts[2]);
+            }
+        }
+        assertEquals(5_000, women, 300);
+    }
+
+    @Test
+    void builtin_shouldKeepMaleOnlyNames() {
+        NameDictionary names = NameDictionary.builtin();
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < 100; i++) {
+            String[] parts = names.fullName(random).split(" ");
+            assertTrue(parts[2].endsWith("ич"), parts[2]);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.javabot;
+
+import com.example.javabot.config.TelegramBotConfig;
+import com.example.javabot.dispatch.OutboundDispatcher;
+import com.example.javabot.dispatch.TokenBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.telegram.telegrambots.meta.api.objects.ApiResponse;
+import org.telegram.telegrambots.meta.api.objects.ResponseParameters;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OutboundDispatcherTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboundDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        TelegramBotConfig config = new TelegramBotConfig();
+        config.setOutboundQueueCapacity(100);
+        config.setOutboundGlobalRate(1000);
+        config.setOutboundPerChatRate(100);
+        config.setOutboundMaxRetries(2);
+        dispatcher = new OutboundDispatcher(config, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void submit_shouldDeliverMessagesOfChatInOrder() throws InterruptedException {
+        List<Integer> delivered = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(10);
+        for (int i = 0; i < 10; i++) {
+            int sequence = i;
+            dispatcher.submit(1L, () -> {
+                delivered.add(sequence);
+                done.countDown();
+                return CompletableFuture.completedFuture(true);
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), delivered);
+    }
+
+    @Test
+    void submit_shouldRetryAfterTooManyRequests() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch delivered = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        dispatcher.submit(1L, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                return CompletableFuture.failedFuture(tooManyRequests(1));
+            }
+            delivered.countDown();
+            return CompletableFuture.completedFuture(true);
+        });
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(900), "retry_after должен соблюдаться");
+        assertEquals(1.0, meterRegistry.counter("bot.outbound.retries").count());
+    }
+
+    @Test
+    void submit_shouldKeepChatOrderWhileRetryingHead() throws InterruptedException {
+        List<Integer> delivered = new CopyOnWriteArrayList<>();
+        List<Long> sentAt = new CopyOnWriteArrayList<>();
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(3);
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            int sequence = i;
+            dispatcher.submit(1L, () -> {
+                if (sequence == 0 && attempts.incrementAndGet() == 1) {
+                    return CompletableFuture.failedFuture(tooManyRequests(1));
+                }
+                delivered.add(sequence);
+                sentAt.add(System.nanoTime() - start);
+                done.countDown();
+                return CompletableFuture.completedFuture(true);
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(0, 1, 2), delivered);
+        assertTrue(sentAt.get(1) >= TimeUnit.MILLISECONDS.toNanos(900), "очередь чата ждет retry_after головы");
+    }
+
+    @Test
+    void submit_shouldSurviveCallThatThrows() throws InterruptedException {
+        CountDownLatch delivered = new CountDownLatch(1);
+        dispatcher.submit(1L, () -> {
+            throw new IllegalArgumentException("broken request");
+        });
+        dispatcher.submit(2L, () -> {
+            delivered.countDown();
+            return CompletableFuture.completedFuture(true);
+        });
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        waitForEmptyQueue();
+        assertEquals(0, dispatcher.queueDepth());
+        assertEquals(1.0, meterRegistry.counter("bot.outbound.dropped", "reason", "rejected").count());
+    }
+
+    @Test
+    void submit_shouldDropRejectedMessages() throws InterruptedException {
+        CountDownLatch attempted = new CountDownLatch(1);
+        dispatcher.submit(1L, () -> {
+            attempted.countDown();
+            return CompletableFuture.failedFuture(new TelegramApiRequestException("Bad Request",
+                    errorResponse(400, null)));
+        });
+
+        assertTrue(attempted.await(5, TimeUnit.SECONDS));
+        waitForEmptyQueue();
+        assertEquals(1.0, meterRegistry.counter("bot.outbound.dropped", "reason", "rejected").count());
+    }
+
+    @Test
+    void tokenBucket_shouldAllowBurstThenLimitRate() {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        TokenBucket bucket = new TokenBucket(2, 2, 0);
+
+        assertTrue(bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(0));
+        assertFalse(bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(second / 2));
+        assertEquals(second / 2 + second / 2, bucket.reserve(second / 2));
+    }
+
+    @Test
+    void tokenBucket_blockUntil_shouldDelayNextToken() {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        TokenBucket bucket = new TokenBucket(1, 1, 0);
+
+        bucket.blockUntil(5 * second);
+
+        assertFalse(bucket.tryAcquire(4 * second));
+        assertEquals(5 * second, bucket.reserve(4 * second));
+    }
+
+    private void waitForEmptyQueue() throws InterruptedException {
+        for (int i = 0; i < 50 && dispatcher.queueDepth() > 0; i++) {
+            Thread.sleep(20);
+        }
+    }
+
+    private static TelegramApiRequestException tooManyRequests(int retryAfter) {
+        return new TelegramApiRequestException("Too Many Requests",
+                errorResponse(429, new ResponseParameters(null, retryAfter)));
+    }
+
+    private static ApiResponse<Boolean> errorResponse(int code, ResponseParameters parameters) {
+        return ApiResponse.<Boolean>builder()
+                .ok(false)
+                .errorCode(code)
+                .errorDescription("error " + code)
+                .parameters(parameters)
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.javabot;
+
+import com.example.javabot.command.BotCommand;
+import com.example.javabot.output.OutputFormat;
+import com.example.javabot.service.BulkGenerationService;
+import com.example.javabot.service.BusinessDataGeneratorService;
+import com.example.javabot.service.CommandHandlerService;
+import com.example.javabot.service.GuidUuidGeneratorService;
+import com.example.javabot.service.PersonDataGeneratorService;
+import com.example.javabot.service.PersonRecord;
+import com.example.javabot.service.PersonRecordService;
+import com.example.javabot.service.Transliteration;
+import com.example.javabot.validation.ChecksumValidator;
+import com.example.javabot.validation.ValueType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PersonRecordServiceTest {
+
+    private final SplittableRandom random = new SplittableRandom(11);
+    private final PersonRecordService service = new PersonRecordService(
+            new BusinessDataGeneratorService(random), new PersonDataGeneratorService(random));
+
+    @Test
+    void generate_shouldKeepPassportConsistentWithBirthDate() {
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < 10_000; i++) {
+            PersonRecord person = service.generate();
+            int age = Period.between(person.birthDate(), today).getYears();
+            assertTrue(age >= 17 && age <= 100, "возраст " + age);
+
+            LocalDate issued = person.passportIssueDate();
+            assertFalse(issued.isBefore(person.birthDate().plusYears(14)), person.toString());
+            assertFalse(issued.isBefore(LocalDate.of(1997, 10, 1)), person.toString());
+            assertFalse(issued.isAfter(today), person.toString());
+            assertEquals(issued.getYear() % 100, Integer.parseInt(person.passport().substring(2, 4)),
+                    "серия содержит год выдачи: " + person);
+        }
+    }
+
+    @Test
+    void generate_shouldDeriveLoginAndEmailFromName() {
+        PersonRecord person = service.generate();
+        String last = Transliteration.latin(person.lastName());
+        String first = Transliteration.latin(person.firstName());
+
+        assertEquals(last + "." + first.charAt(0), person.login());
+        assertTrue(person.email().startsWith(first + "." + last), person.email());
+        assertTrue(person.email().matches("[a-z.]+\\d{2}@[a-z.]+"), person.email());
+        assertTrue(valid(ValueType.INN_FL, person.inn()));
+        assertTrue(valid(ValueType.SNILS, person.snils()));
+    }
+
+    @Test
+    void transliteration_shouldFollowPassportRules() {
+        assertEquals("shchukin", Transliteration.latin("Щукин"));
+        assertEquals("iuliia", Transliteration.latin("Юлия"));
+        assertEquals("khabibullin", Transliteration.latin("Хабибуллин"));
+        assertEquals("podieezdov", Transliteration.latin("Подъездов"));
+        assertEquals("artem", Transliteration.latin("Артём"));
+    }
+
+    @Test
+    void generateColumns_shouldReturnAlignedColumns() {
+        String[][] columns = service.generateColumns(50);
+
+        assertEquals(PersonRecord.COLUMNS.length, columns.length);
+        for (int i = 0; i < 50; i++) {
+            assertEquals(Transliteration.latin(columns[0][i]) + "." + Transliteration.latin(columns[1][i]).charAt(0),
+                    columns[10][i]);
+        }
+    }
+
+    @Test
+    void bulkWrite_shouldWritePersonsAsRows() throws IOException {
+        BulkGenerationService bulk = new BulkGenerationService(new CommandHandlerService(
+                new BusinessDataGeneratorService(random), new PersonDataGeneratorService(random),
+                new GuidUuidGeneratorService(random)));
+        StringWriter out = new StringWriter();
+
+        bulk.write(BotCommand.PERSON_RECORD, 3, OutputFormat.CSV, out);
+
+        String[] lines = out.toString().split("\r\n");
+        assertEquals(4, lines.length);
+        assertEquals(String.join(",", PersonRecord.COLUMNS), lines[0]);
+        assertEquals(PersonRecord.COLUMNS.length, lines[1].split(",").length);
+        assertThrows(IllegalArgumentException.class,
+                () -> bulk.write(BotCommand.PERSON_RECORD, 3, OutputFormat.CSV, true, new StringWriter()));
+    }
+
+    private static boolean valid(ValueType type, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+        int[] digits = new int[ChecksumValidator.MAX_DIGITS];
+        int count = ChecksumValidator.collectDigits(bytes, 0, bytes.length, digits);
+        return ChecksumValidator.isValid(type, digits, count);
+    }
+}
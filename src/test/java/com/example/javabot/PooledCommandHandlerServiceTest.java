@@ -0,0 +1,154 @@
+package com.example.javabot;
+
+import com.example.javabot.command.BotCommand;
+import com.example.javabot.config.GeneratorConfig;
+import com.example.javabot.dispatch.BoundedRing;
+import com.example.javabot.service.CommandHandlerService;
+import com.example.javabot.service.PooledCommandHandlerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PooledCommandHandlerServiceTest {
+
+    private final AtomicInteger generated = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private PooledCommandHandlerService service;
+
+    @BeforeEach
+    void setUp() {
+        CommandHandlerService commandHandlerService = mock(CommandHandlerService.class);
+        when(commandHandlerService.handle(any())).thenAnswer(invocation -> "value-" + generated.incrementAndGet());
+
+        GeneratorConfig config = new GeneratorConfig();
+        config.setPoolEnabled(true);
+        config.setPoolHighWatermark(64);
+        config.setPoolLowWatermark(16);
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("generator.pool.snils.high-watermark", "8")
+                .withProperty("generator.pool.snils.low-watermark", "2");
+
+        meterRegistry = new SimpleMeterRegistry();
+        service = new PooledCommandHandlerService(commandHandlerService, config, environment, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void handle_shouldFallBackOnMissAndRefillInBackground() throws InterruptedException {
+        assertTrue(service.handle(BotCommand.INN).startsWith("value-"));
+        assertEquals(1.0, requests(BotCommand.INN, "miss"));
+
+        waitForPoolSize(BotCommand.INN, 64);
+        service.handle(BotCommand.INN);
+        assertEquals(1.0, requests(BotCommand.INN, "hit"));
+        assertEquals(0, service.poolSize(BotCommand.OGRN), "пулы без запросов не заполняются");
+    }
+
+    @Test
+    void handle_shouldUsePerCommandWatermarks() throws InterruptedException {
+        service.handle(BotCommand.SNILS);
+        waitForPoolSize(BotCommand.SNILS, 8);
+        Thread.sleep(50);
+        assertEquals(8, service.poolSize(BotCommand.SNILS));
+    }
+
+    @Test
+    void handle_disabledPool_shouldGenerateDirectly() {
+        CommandHandlerService commandHandlerService = mock(CommandHandlerService.class);
+        when(commandHandlerService.handle(BotCommand.INN)).thenReturn("7707083893");
+        PooledCommandHandlerService direct = new PooledCommandHandlerService(commandHandlerService,
+                new GeneratorConfig(), new MockEnvironment(), new SimpleMeterRegistry());
+
+        assertEquals("7707083893", direct.handle(BotCommand.INN));
+        assertEquals(0, direct.poolSize(BotCommand.INN));
+    }
+
+    @Test
+    void boundedRing_shouldBeFifoAndBounded() {
+        BoundedRing<Integer> ring = new BoundedRing<>(3);
+        assertEquals(4, ring.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertFalse(ring.offer(4));
+        assertEquals(0, ring.poll());
+        assertTrue(ring.offer(4));
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(i, ring.poll());
+        }
+        assertNull(ring.poll());
+    }
+
+    @Test
+    void boundedRing_shouldNotLoseOrDuplicateUnderContention() throws InterruptedException {
+        BoundedRing<Integer> ring = new BoundedRing<>(128);
+        int perProducer = 5_000;
+        int producers = 2;
+        Set<Integer> consumed = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(producers * perProducer);
+        ExecutorService executor = Executors.newFixedThreadPool(producers * 2);
+
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            executor.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.offer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            executor.execute(() -> {
+                while (done.getCount() > 0) {
+                    Integer value = ring.poll();
+                    if (value != null) {
+                        if (!consumed.add(value)) {
+                            duplicates.incrementAndGet();
+                        }
+                        done.countDown();
+                    } else {
+                        Thread.yield();
+                    }
+                }
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdownNow();
+        assertEquals(0, duplicates.get());
+        assertEquals(producers * perProducer, consumed.size());
+    }
+
+    private double requests(BotCommand command, String result) {
+        return meterRegistry.counter("bot.pool.requests", "command", command.getCommandCode(), "result", result).count();
+    }
+
+    private void waitForPoolSize(BotCommand command, int size) throws InterruptedException {
+        for (int i = 0; i < 100 && service.poolSize(command) < size; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(size, service.poolSize(command));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.javabot;
+
+import com.example.javabot.random.RandomMode;
+import com.example.javabot.random.RandomSource;
+import com.example.javabot.service.BusinessDataGeneratorService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RandomSourceTest {
+
+    @Test
+    void fromProperty_shouldAcceptKebabCase() {
+        assertEquals(RandomMode.THREAD_LOCAL, RandomMode.fromProperty("thread-local"));
+        assertEquals(RandomMode.SPLITTABLE, RandomMode.fromProperty("splittable"));
+        assertEquals(RandomMode.SECURE, RandomMode.fromProperty("SECURE"));
+    }
+
+    @Test
+    void create_threadLocal_shouldReturnSharedInstance() {
+        assertSame(RandomSource.threadLocal(), RandomSource.create(RandomMode.THREAD_LOCAL, 1));
+    }
+
+    @Test
+    void seededMode_shouldBeReproducible() {
+        assertEquals(generateInns(RandomSource.create(RandomMode.SEEDED, 42)),
+                generateInns(RandomSource.create(RandomMode.SEEDED, 42)));
+        assertNotEquals(generateInns(RandomSource.create(RandomMode.SEEDED, 42)),
+                generateInns(RandomSource.create(RandomMode.SEEDED, 43)));
+    }
+
+    @Test
+    void allModes_shouldRespectBounds() {
+        for (RandomMode mode : RandomMode.values()) {
+            RandomSource source = RandomSource.create(mode, 7);
+            for (int i = 0; i < 1000; i++) {
+                int value = source.nextInt(10);
+                long ranged = source.nextLong(-5, 5);
+                assertTrue(value >= 0 && value < 10, mode + ": " + value);
+                assertTrue(ranged >= -5 && ranged < 5, mode + ": " + ranged);
+            }
+        }
+    }
+
+    private static List<String> generateInns(RandomSource source) {
+        BusinessDataGeneratorService service = new BusinessDataGeneratorService(source);
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            values.add(service.generateJuridicalInn());
+        }
+        return values;
+    }
+}
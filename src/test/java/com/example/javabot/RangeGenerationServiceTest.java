@@ -0,0 +1,151 @@
+package com.example.javabot;
+
+import com.example.javabot.command.BotCommand;
+import com.example.javabot.config.GeneratorConfig;
+import com.example.javabot.output.OutputFormat;
+import com.example.javabot.random.CounterRandomSource;
+import com.example.javabot.service.GenerationToken;
+import com.example.javabot.service.PersonRecord;
+import com.example.javabot.service.RangeGenerationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RangeGenerationServiceTest {
+
+    private final List<RangeGenerationService> services = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(RangeGenerationService::shutdown);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BotCommand.class, names = "UUID_V7", mode = EnumSource.Mode.EXCLUDE)
+    void write_shouldNotDependOnThreadCount(BotCommand command) throws IOException {
+        GenerationToken token = new GenerationToken(command, 42, 0, 20_000, false);
+
+        assertEquals(generate(service(1), token), generate(service(4), token));
+    }
+
+    @Test
+    void write_subRangeShouldMatchSliceOfFullRange() throws IOException {
+        RangeGenerationService service = service(3);
+        List<String> full = generate(service, new GenerationToken(BotCommand.SNILS, 42, 0, 30_000, false));
+        List<String> slice = generate(service, new GenerationToken(BotCommand.SNILS, 42, 25_000, 5_000, false));
+
+        assertEquals(full.subList(25_000, 30_000), slice);
+        assertEquals(full.get(12_345), service.valueAt(BotCommand.SNILS, 42, 12_345));
+    }
+
+    @Test
+    void write_differentSeedsShouldDiffer() throws IOException {
+        RangeGenerationService service = service(2);
+        assertNotEquals(generate(service, new GenerationToken(BotCommand.INN, 1, 0, 100, false)),
+                generate(service, new GenerationToken(BotCommand.INN, 2, 0, 100, false)));
+    }
+
+    @Test
+    void write_uniqueShouldBeReproducible() throws IOException {
+        GenerationToken token = new GenerationToken(BotCommand.OKPO, 7, 0, 10_000, true);
+        List<String> first = generate(service(2), token);
+
+        assertEquals(first, generate(service(1), token));
+        assertEquals(10_000, new HashSet<>(first).size());
+    }
+
+    @Test
+    void token_shouldRoundTrip() {
+        GenerationToken token = new GenerationToken(BotCommand.INN_FL, -5, 5_000_000, 1_000_000, true);
+
+        assertEquals("v1:inn_fl:fffffffffffffffb:5000000:1000000:u", token.encode());
+        assertEquals(token, GenerationToken.parse(token.encode()));
+        assertThrows(IllegalArgumentException.class, () -> GenerationToken.parse("v0:inn:1:0:1"));
+        assertThrows(IllegalArgumentException.class, () -> GenerationToken.parse("v1:nope:1:0:1"));
+    }
+
+    @Test
+    void token_shouldRoundTripPinnedDay() {
+        long day = LocalDate.of(2026, 3, 1).toEpochDay();
+        GenerationToken token = new GenerationToken(BotCommand.PERSON_RECORD, 42, 0, 10, false, day);
+        GenerationToken unique = new GenerationToken(BotCommand.INN, 42, 0, 10, true, day);
+
+        assertEquals("v1:person:2a:0:10:2026-03-01", token.encode());
+        assertEquals(token, GenerationToken.parse(token.encode()));
+        assertEquals("v1:inn:2a:0:10:u:2026-03-01", unique.encode());
+        assertEquals(unique, GenerationToken.parse(unique.encode()));
+        assertThrows(IllegalArgumentException.class, () -> GenerationToken.parse("v1:inn:2a:0:10:2026-02-30"));
+        assertThrows(IllegalArgumentException.class, () -> GenerationToken.parse("v1:inn:2a:0:10:2026-03-01:u"));
+    }
+
+    @Test
+    void write_shouldCountAgesFromPinnedDay() throws IOException {
+        LocalDate today = LocalDate.of(2000, 1, 1);
+        GenerationToken token = new GenerationToken(BotCommand.BIRTH_DATE, 42, 0, 1_000, false, today.toEpochDay());
+
+        for (String value : generate(service(2), token)) {
+            int age = Period.between(LocalDate.parse(value, DateTimeFormatter.ofPattern("dd.MM.yyyy")), today).getYears();
+            assertTrue(age >= 18 && age < 100, value);
+        }
+    }
+
+    @Test
+    void write_personWithPinnedDayShouldNotDependOnCurrentDate() throws IOException {
+        LocalDate pinned = LocalDate.of(2000, 1, 1);
+        GenerationToken token = new GenerationToken(BotCommand.PERSON_RECORD, 42, 0, 500, false, pinned.toEpochDay());
+        List<String> rows = generate(service(3), token);
+
+        assertEquals(rows, generate(service(1), GenerationToken.parse(token.encode())));
+        // Даты выдачи паспортов не позже закрепленного дня, а не сегодняшнего
+        int issueColumn = List.of(PersonRecord.COLUMNS).indexOf("passport_issue_date");
+        for (String row : rows) {
+            LocalDate issued = LocalDate.parse(row.split("\t")[issueColumn], DateTimeFormatter.ofPattern("dd.MM.yyyy"));
+            assertTrue(!issued.isAfter(pinned), row);
+        }
+    }
+
+    @Test
+    void counterRandomSource_shouldDependOnlyOnSeedAndIndex() {
+        CounterRandomSource first = new CounterRandomSource(42);
+        CounterRandomSource second = new CounterRandomSource(42);
+        first.position(1_000);
+        second.position(999);
+        second.nextLong();
+        second.position(1_000);
+
+        for (int i = 0; i < 100; i++) {
+            int value = first.nextInt(10);
+            assertEquals(value, second.nextInt(10));
+            assertTrue(value >= 0 && value < 10);
+        }
+    }
+
+    private RangeGenerationService service(int threads) {
+        GeneratorConfig config = new GeneratorConfig();
+        config.setRangeThreads(threads);
+        RangeGenerationService service = new RangeGenerationService(config);
+        services.add(service);
+        return service;
+    }
+
+    private static List<String> generate(RangeGenerationService service, GenerationToken token) throws IOException {
+        StringWriter out = new StringWriter();
+        service.write(token, OutputFormat.TEXT, out);
+        return out.toString().lines().toList();
+    }
+}
@@ -1,13 +1,40 @@
 package com.example.javabot;
 
+import com.example.javabot.service.CommandHandlerService;
+import com.example.javabot.service.PersonRecordService;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 @SpringBootTest
 class TestDataJavaBotApplicationTests {
 
+    @Autowired
+    private ConfigurableApplicationContext context;
+
     @Test
     void contextLoads() {
     }
 
+    @Test
+    void contextLoads_shouldShareSinglePersonRecordService() {
+        assertEquals(1, context.getBeanNamesForType(PersonRecordService.class).length);
+        assertSame(context.getBean(PersonRecordService.class),
+                ReflectionTestUtils.getField(context.getBean(CommandHandlerService.class), "personRecordService"));
+    }
+
+    @Test
+    void contextLoads_shouldNotCreateBeansOutsideBotHotPath() {
+        for (String beanName : new String[] {"generationController", "validationController",
+                "rangeGenerationService", "validationService"}) {
+            assertFalse(context.getBeanFactory().containsSingleton(beanName), beanName + " created at startup");
+        }
+    }
+
 }
@@ -0,0 +1,119 @@
+package com.example.javabot;
+
+import com.example.javabot.command.BotCommand;
+import com.example.javabot.service.BusinessDataGeneratorService;
+import com.example.javabot.service.CommandHandlerService;
+import com.example.javabot.service.GuidUuidGeneratorService;
+import com.example.javabot.service.PersonDataGeneratorService;
+import com.example.javabot.unique.BloomFilter;
+import com.example.javabot.unique.FeistelPermutation;
+import com.example.javabot.unique.LongHashSet;
+import com.example.javabot.unique.PagedBitSet;
+import com.example.javabot.unique.UniqueValues;
+import com.example.javabot.unique.UniqueValuesExhaustedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UniqueValuesTest {
+
+    private CommandHandlerService commandHandlerService;
+
+    @BeforeEach
+    void setUp() {
+        commandHandlerService = new CommandHandlerService(new BusinessDataGeneratorService(),
+                new PersonDataGeneratorService(), new GuidUuidGeneratorService());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BotCommand.class, names = {"INN", "OGRN", "SNILS", "OKPO", "PASSPORT", "GUID"})
+    void sequence_shouldNotRepeatValues(BotCommand command) {
+        int count = 20_000;
+        Supplier<String> values = UniqueValues.sequence(command, count, commandHandlerService, new SplittableRandom(7));
+
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            assertTrue(seen.add(values.get()));
+        }
+    }
+
+    @Test
+    void sequence_passports_shouldKeepFormat() {
+        Supplier<String> values = UniqueValues.sequence(BotCommand.PASSPORT, 1000, commandHandlerService, new SplittableRandom(1));
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(values.get().matches("[1-9]\\d{3} [1-9]\\d{5}"));
+        }
+    }
+
+    @Test
+    void sequence_shouldRejectCountAboveSpace() {
+        assertEquals(10_000_000L, UniqueValues.spaceSize(BotCommand.OKPO));
+        assertThrows(IllegalArgumentException.class, () ->
+                UniqueValues.sequence(BotCommand.OKPO, 10_000_001L, commandHandlerService, new SplittableRandom()));
+    }
+
+    @Test
+    void sequence_shouldFailWhenValuesAreExhausted() {
+        Supplier<String> values = UniqueValues.sequence(BotCommand.INN, 2, command -> "7707083893", new SplittableRandom());
+        values.get();
+        assertThrows(UniqueValuesExhaustedException.class, values::get);
+    }
+
+    @Test
+    void utilization_shouldReportShareOfSpace() {
+        assertEquals(0.5, UniqueValues.utilization(BotCommand.OKPO, 5_000_000));
+        assertEquals(0, UniqueValues.utilization(BotCommand.FULL_NAME, 5_000_000));
+    }
+
+    @Test
+    void feistelPermutation_shouldBeBijective() {
+        int size = 10_007;
+        FeistelPermutation permutation = new FeistelPermutation(size, new SplittableRandom(3));
+        boolean[] hit = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            long value = permutation.apply(i);
+            assertFalse(hit[(int) value]);
+            hit[(int) value] = true;
+        }
+    }
+
+    @Test
+    void longHashSet_shouldReportPowerOfTwoTableSize() {
+        assertEquals(16 * Long.BYTES, LongHashSet.bytesFor(1));
+        // 2 * 3000 округляется вверх до 8192 ячеек
+        assertEquals(8_192 * Long.BYTES, LongHashSet.bytesFor(3_000));
+        assertEquals((1L << 31) * Long.BYTES, LongHashSet.bytesFor(1L << 30));
+    }
+
+    @Test
+    void dedupStructures_shouldDetectRepeats() {
+        PagedBitSet bitSet = new PagedBitSet(1_000_000_000L);
+        LongHashSet hashSet = new LongHashSet(4);
+        BloomFilter bloomFilter = new BloomFilter(10_000, 0.01);
+        for (long key = 0; key < 10_000; key++) {
+            long spread = key * 99_991L;
+            assertTrue(bitSet.add(spread));
+            assertTrue(hashSet.add(spread));
+            bloomFilter.put(spread);
+        }
+        for (long key = 0; key < 10_000; key++) {
+            long spread = key * 99_991L;
+            assertFalse(bitSet.add(spread));
+            assertFalse(hashSet.add(spread));
+            assertTrue(bloomFilter.mightContain(spread));
+        }
+        assertEquals(10_000, hashSet.size());
+        assertTrue(bitSet.add(999_999_999L));
+    }
+}
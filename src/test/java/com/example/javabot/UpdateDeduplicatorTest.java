@@ -0,0 +1,184 @@
+package com.example.javabot;
+
+import com.example.javabot.config.TelegramBotConfig;
+import com.example.javabot.dispatch.UpdateDeduplicator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpdateDeduplicatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void markNew_shouldRejectRedeliveredUpdates() {
+        UpdateDeduplicator deduplicator = createDeduplicator(128, null);
+
+        assertTrue(deduplicator.markNew(1_000));
+        assertTrue(deduplicator.markNew(1_002));
+        // Обновления внутри окна могут приходить не по порядку
+        assertTrue(deduplicator.markNew(1_001));
+        assertFalse(deduplicator.markNew(1_000));
+        assertFalse(deduplicator.markNew(1_002));
+        assertEquals(1_002, deduplicator.lastUpdateId());
+    }
+
+    @Test
+    void markNew_shouldTreatUpdatesOlderThanWindowAsSeen() {
+        UpdateDeduplicator deduplicator = createDeduplicator(128, null);
+
+        assertTrue(deduplicator.markNew(10));
+        assertTrue(deduplicator.markNew(500));
+        assertFalse(deduplicator.markNew(300));
+        // Окно сдвинулось: ячейка 500 - 128 переиспользуется и не помнит старый id
+        assertTrue(deduplicator.markNew(450));
+        assertTrue(deduplicator.markNew(628));
+        assertFalse(deduplicator.markNew(500));
+    }
+
+    @Test
+    void forget_shouldAllowRetryOfRejectedUpdate() {
+        UpdateDeduplicator deduplicator = createDeduplicator(128, null);
+
+        assertTrue(deduplicator.markNew(7));
+        deduplicator.forget(7);
+        assertTrue(deduplicator.markNew(7));
+        assertFalse(deduplicator.markNew(7));
+    }
+
+    @Test
+    void shutdown_shouldPersistOffsetForNextStart() throws IOException {
+        Path offsetFile = tempDir.resolve("update-offset");
+        UpdateDeduplicator first = createDeduplicator(128, offsetFile);
+        first.markNew(41);
+        first.markNew(42);
+        first.markProcessed(41);
+        first.markProcessed(42);
+        first.shutdown();
+        assertEquals("42", Files.readString(offsetFile));
+
+        UpdateDeduplicator restarted = createDeduplicator(128, offsetFile);
+        assertEquals(42, restarted.lastUpdateId());
+        assertFalse(restarted.markNew(42));
+        assertFalse(restarted.markNew(30));
+        assertTrue(restarted.markNew(43));
+        restarted.shutdown();
+    }
+
+    @Test
+    void shutdown_shouldPersistOnlyProcessedPrefix() throws IOException {
+        Path offsetFile = tempDir.resolve("update-offset");
+        UpdateDeduplicator first = createDeduplicator(128, offsetFile);
+        first.markNew(10);
+        first.markNew(11);
+        first.markNew(12);
+        // 12 обработано раньше 11: после перезапуска 11 и 12 придут снова
+        first.markProcessed(10);
+        first.markProcessed(12);
+        assertEquals(10, first.processedUpdateId());
+        first.shutdown();
+        assertEquals("10", Files.readString(offsetFile));
+
+        UpdateDeduplicator restarted = createDeduplicator(128, offsetFile);
+        assertFalse(restarted.markNew(10));
+        assertTrue(restarted.markNew(11));
+        assertTrue(restarted.markNew(12));
+        restarted.markProcessed(11);
+        restarted.markProcessed(12);
+        assertEquals(12, restarted.processedUpdateId());
+        restarted.shutdown();
+    }
+
+    @Test
+    void processedUpdateId_shouldTrackGapsAndWindow() {
+        UpdateDeduplicator deduplicator = createDeduplicator(128, null);
+
+        deduplicator.markNew(100);
+        deduplicator.markNew(102);
+        deduplicator.markProcessed(100);
+        deduplicator.markProcessed(102);
+        assertEquals(102, deduplicator.processedUpdateId());
+
+        // 101 пришло с опозданием и держит offset до обработки
+        assertTrue(deduplicator.markNew(101));
+        assertEquals(100, deduplicator.processedUpdateId());
+        deduplicator.markProcessed(101);
+        assertEquals(102, deduplicator.processedUpdateId());
+
+        // Необработанное обновление, выпавшее из окна, offset больше не держит
+        deduplicator.markNew(103);
+        deduplicator.markNew(103 + 128);
+        assertEquals(103 + 127, deduplicator.processedUpdateId());
+    }
+
+    @Test
+    void markNew_shouldResetWindowWhenIdsRestart() {
+        UpdateDeduplicator deduplicator = createDeduplicator(128, null);
+        int before = 800_000_000;
+        int restarted = before - UpdateDeduplicator.RESET_DISTANCE - 1;
+
+        assertTrue(deduplicator.markNew(before));
+        assertTrue(deduplicator.markNew(restarted));
+        assertEquals(restarted, deduplicator.lastUpdateId());
+        assertEquals(restarted - 1, deduplicator.processedUpdateId());
+        assertFalse(deduplicator.markNew(restarted));
+        assertTrue(deduplicator.markNew(restarted + 1));
+    }
+
+    @Test
+    void constructor_shouldIgnoreOffsetSavedBeforeIdsRestart() throws IOException {
+        Path offsetFile = tempDir.resolve("update-offset");
+        Files.writeString(offsetFile, "42");
+        Files.setLastModifiedTime(offsetFile, FileTime.from(Instant.now().minus(Duration.ofDays(8))));
+
+        UpdateDeduplicator deduplicator = createDeduplicator(128, offsetFile);
+        assertEquals(0, deduplicator.lastUpdateId());
+        assertTrue(deduplicator.markNew(5));
+        deduplicator.shutdown();
+    }
+
+    @Test
+    void webhookMode_shouldNotPersistOffset() {
+        Path offsetFile = tempDir.resolve("update-offset");
+        TelegramBotConfig config = new TelegramBotConfig();
+        config.setMode("webhook");
+        config.setUpdateDedupWindow(128);
+        config.setUpdateOffsetFile(offsetFile.toString());
+        UpdateDeduplicator deduplicator = new UpdateDeduplicator(config);
+
+        deduplicator.markNew(1);
+        deduplicator.markProcessed(1);
+        deduplicator.shutdown();
+
+        assertFalse(Files.exists(offsetFile));
+    }
+
+    @Test
+    void constructor_shouldIgnoreCorruptOffsetFile() throws IOException {
+        Path offsetFile = tempDir.resolve("update-offset");
+        Files.writeString(offsetFile, "not a number");
+
+        UpdateDeduplicator deduplicator = createDeduplicator(128, offsetFile);
+        assertEquals(0, deduplicator.lastUpdateId());
+        assertTrue(deduplicator.markNew(1));
+        deduplicator.shutdown();
+    }
+
+    private static UpdateDeduplicator createDeduplicator(int window, Path offsetFile) {
+        TelegramBotConfig config = new TelegramBotConfig();
+        config.setUpdateDedupWindow(window);
+        config.setUpdateOffsetFile(offsetFile == null ? null : offsetFile.toString());
+        return new UpdateDeduplicator(config);
+    }
+}
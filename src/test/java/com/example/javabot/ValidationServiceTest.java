@@ -0,0 +1,146 @@
+package com.example.javabot;
+
+import com.example.javabot.config.GeneratorConfig;
+import com.example.javabot.service.BusinessDataGeneratorService;
+import com.example.javabot.service.ValidationService;
+import com.example.javabot.validation.ValidationReport;
+import com.example.javabot.validation.ValueType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ValidationServiceTest {
+
+    private final BusinessDataGeneratorService generator = new BusinessDataGeneratorService();
+    private ValidationService service;
+
+    @BeforeEach
+    void setUp() {
+        GeneratorConfig config = new GeneratorConfig();
+        config.setValidationThreads(3);
+        service = new ValidationService(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void validateValue_shouldAcceptKnownValues() {
+        assertResult(ValueType.INN, true, "7707083893");
+        assertResult(ValueType.INN_FL, true, "500100732259");
+        assertResult(ValueType.OGRN, true, "1027700132195");
+        assertResult(ValueType.SNILS, true, "112-233-445 95");
+        assertResult(ValueType.INN, false, "7707083894");
+        assertNull(service.validateValue("12345", null));
+        assertNull(service.validateValue("ИНН", null));
+    }
+
+    @Test
+    void validate_shouldCountPerTypeAcrossChunks() throws IOException {
+        StringBuilder input = new StringBuilder();
+        int rows = 150_000;
+        for (int i = 0; i < rows; i++) {
+            input.append(generator.generateJuridicalInn()).append("\r\n");
+            input.append(generator.generateSnilsGosKey()).append('\n');
+            input.append(generator.generateOgrnIp()).append('\n');
+        }
+        input.append("7707083894\n\n   \nнеизвестно\n123\n").append(generator.generateEnpOms());
+
+        ValidationReport report = service.validate(stream(input.toString()), null);
+
+        assertEquals(rows + 1, report.passed(ValueType.INN) + report.failed(ValueType.INN));
+        assertEquals(rows, report.passed(ValueType.INN));
+        assertEquals(1, report.failed(ValueType.INN));
+        assertEquals(rows, report.passed(ValueType.SNILS));
+        assertEquals(rows, report.passed(ValueType.OGRN_IP));
+        assertEquals(1, report.passed(ValueType.ENP_OMS));
+        assertEquals(2, report.unrecognized());
+        assertEquals(3L * rows + 4, report.total());
+    }
+
+    @Test
+    void validate_shouldSkipOverlongLineWithoutBuffering() throws IOException {
+        // 64 МБ без перевода строки: при росте буфера под строку ушло бы 128 МБ
+        long overlong = 64L << 20;
+        InputStream input = new SequenceInputStream(
+                stream("7707083893\n"),
+                new SequenceInputStream(new RepeatedByteStream((byte) '7', overlong), stream("\n1027700132195")));
+
+        ValidationReport report = service.validate(input, null);
+
+        assertEquals(1, report.passed(ValueType.INN));
+        assertEquals(1, report.passed(ValueType.OGRN));
+        assertEquals(1, report.unrecognized());
+    }
+
+    @Test
+    void validate_withExplicitType_shouldTreatOtherLengthsAsFailed() throws IOException {
+        String input = generator.generateOkpoIp() + "\n" + generator.generateOkpo() + "\n";
+
+        ValidationReport report = service.validate(stream(input), ValueType.OKPO_IP);
+
+        assertEquals(1, report.passed(ValueType.OKPO_IP));
+        assertEquals(1, report.failed(ValueType.OKPO_IP));
+    }
+
+    private void assertResult(ValueType type, boolean valid, String value) {
+        ValidationService.ValidationResult result = service.validateValue(value, null);
+        assertEquals(type, result.type());
+        if (valid) {
+            assertTrue(result.valid());
+        } else {
+            assertFalse(result.valid());
+        }
+    }
+
+    private static ByteArrayInputStream stream(String value) {
+        return new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Поток из count одинаковых байтов без хранения их в памяти
+     */
+    private static final class RepeatedByteStream extends InputStream {
+        private final byte value;
+        private long remaining;
+
+        private RepeatedByteStream(byte value, long count) {
+            this.value = value;
+            this.remaining = count;
+        }
+
+        @Override
+        public int read() {
+            if (remaining == 0) {
+                return -1;
+            }
+            remaining--;
+            return value;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (remaining == 0) {
+                return -1;
+            }
+            int count = (int) Math.min(length, remaining);
+            Arrays.fill(bytes, offset, offset + count, value);
+            remaining -= count;
+            return count;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.javabot;
+
+import com.example.javabot.config.TelegramBotConfig;
+import com.example.javabot.controller.WebhookController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class WebhookControllerTest {
+
+    private static final String UPDATE_JSON = """
+            {"update_id": 1001, "message": {"message_id": 7, "date": 1700000000,
+             "chat": {"id": 42, "type": "private"}, "text": "/inn"}}
+            """;
+
+    private UpdateConsumer updateConsumer;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        updateConsumer = mock(UpdateConsumer.class);
+        TelegramBotConfig config = new TelegramBotConfig();
+        config.setWebhookSecretToken("s3cret");
+        mockMvc = MockMvcBuilders.standaloneSetup(new WebhookController(updateConsumer, config))
+                .addPlaceholderValue("telegram.bot.webhook.path", "/telegram/webhook")
+                .build();
+    }
+
+    @Test
+    void receive_shouldQueueUpdateAndAcknowledge() throws Exception {
+        when(updateConsumer.tryConsume(any())).thenReturn(true);
+
+        mockMvc.perform(webhook("s3cret")).andExpect(status().isOk());
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(updateConsumer).tryConsume(update.capture());
+        assertEquals(1001, update.getValue().getUpdateId());
+        assertEquals(42L, update.getValue().getMessage().getChatId());
+        assertEquals("/inn", update.getValue().getMessage().getText());
+    }
+
+    @Test
+    void receive_shouldRejectWrongSecretToken() throws Exception {
+        mockMvc.perform(webhook("wrong")).andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/telegram/webhook").contentType(MediaType.APPLICATION_JSON).content(UPDATE_JSON))
+                .andExpect(status().isUnauthorized());
+
+        verify(updateConsumer, never()).tryConsume(any());
+    }
+
+    @Test
+    void receive_fullQueue_shouldAskTelegramToRetry() throws Exception {
+        when(updateConsumer.tryConsume(any())).thenReturn(false);
+
+        mockMvc.perform(webhook("s3cret")).andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void constructor_shouldRequireSecretToken() {
+        assertThrows(IllegalStateException.class,
+                () -> new WebhookController(updateConsumer, new TelegramBotConfig()));
+    }
+
+    private static RequestBuilder webhook(String token) {
+        return post("/telegram/webhook")
+                .header("X-Telegram-Bot-Api-Secret-Token", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(UPDATE_JSON);
+    }
+}